@@ -0,0 +1,130 @@
+package thespeace.springmvc.codegen;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>코드 생성용 빈 모델</h2>
+ * 애노테이션이 붙은 클래스의 필드를 읽어서, 생성 코드가 호출할 getter/setter 이름과 타입을 정리한다.
+ * lombok 이 만드는 getter/setter 는 아직 소스에 없으므로, 필드 이름으로 이름 규칙(getXxx, isXxx, setXxx)을 따른다.
+ */
+final class BeanModel {
+
+    /**
+     * 지원하는 필드 타입
+     */
+    enum PropertyType {
+        STRING("String", false),
+        INT("Int", true), LONG("Long", true), BOOLEAN("Boolean", true), DOUBLE("Double", true),
+        INTEGER_OBJECT("Int", false), LONG_OBJECT("Long", false), BOOLEAN_OBJECT("Boolean", false), DOUBLE_OBJECT("Double", false);
+
+        final String suffix;
+        final boolean primitive;
+
+        PropertyType(String suffix, boolean primitive) {
+            this.suffix = suffix;
+            this.primitive = primitive;
+        }
+
+        static PropertyType of(TypeMirror type) {
+            return switch (type.toString()) {
+                case "java.lang.String" -> STRING;
+                case "int" -> INT;
+                case "long" -> LONG;
+                case "boolean" -> BOOLEAN;
+                case "double" -> DOUBLE;
+                case "java.lang.Integer" -> INTEGER_OBJECT;
+                case "java.lang.Long" -> LONG_OBJECT;
+                case "java.lang.Boolean" -> BOOLEAN_OBJECT;
+                case "java.lang.Double" -> DOUBLE_OBJECT;
+                default -> null;
+            };
+        }
+    }
+
+    record Property(String name, PropertyType type, String javaType) {
+
+        String getter() {
+            String prefix = type == PropertyType.BOOLEAN ? "is" : "get";
+            return prefix + capitalize(name);
+        }
+
+        String setter() {
+            return "set" + capitalize(name);
+        }
+    }
+
+    final String packageName;
+    final String simpleName;
+    final String qualifiedName;
+    final List<Property> properties;
+
+    private BeanModel(String packageName, String simpleName, String qualifiedName, List<Property> properties) {
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.qualifiedName = qualifiedName;
+        this.properties = properties;
+    }
+
+    /**
+     * @return 지원할 수 없는 클래스면 null, 이유는 {@code problems}에 추가한다.
+     */
+    static BeanModel of(TypeElement type, List<String> problems) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            problems.add("not a concrete class");
+            return null;
+        }
+        if (type.getNestingKind().isNested()) {
+            problems.add("nested classes are not supported");
+            return null;
+        }
+        if (type.getSuperclass().getKind() == TypeKind.DECLARED
+                && !type.getSuperclass().toString().equals("java.lang.Object")) {
+            problems.add("superclass properties are not supported");
+            return null;
+        }
+
+        List<Property> properties = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD
+                    || member.getModifiers().contains(Modifier.STATIC)
+                    || member.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            VariableElement field = (VariableElement) member;
+            PropertyType propertyType = PropertyType.of(field.asType());
+            if (propertyType == null) {
+                problems.add("unsupported field type " + field.asType() + " " + field.getSimpleName());
+                continue;
+            }
+            properties.add(new Property(field.getSimpleName().toString(), propertyType, field.asType().toString()));
+        }
+        if (!problems.isEmpty()) {
+            return null;
+        }
+
+        Element enclosing = type.getEnclosingElement();
+        String packageName = enclosing instanceof PackageElement pkg ? pkg.getQualifiedName().toString() : "";
+        return new BeanModel(packageName, type.getSimpleName().toString(),
+                type.getQualifiedName().toString(), List.copyOf(properties));
+    }
+
+    static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * 자바 문자열 리터럴 안에 JSON 필드 이름을 넣을 때 사용한다. (필드 이름은 자바 식별자이므로 이스케이프할 문자가 없다)
+     */
+    static String jsonName(String name) {
+        return "\\\"" + name + "\\\":";
+    }
+}
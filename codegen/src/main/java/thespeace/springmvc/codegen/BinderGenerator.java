@@ -0,0 +1,106 @@
+package thespeace.springmvc.codegen;
+
+/**
+ * <h2>{@link GenerateBinder} 생성기</h2>
+ * 요청 파라미터 이름마다 setter 를 직접 호출하는 코드를 만든다.
+ * <ul>
+ *     <li>String : 값이 여러 개면 {@code ,}로 합친다. (WebDataBinder 와 같다)</li>
+ *     <li>기본 타입 : {@code BinderSupport.isInt} 등으로 형식을 먼저 확인하고 박싱 없이 변환한다.
+ *         형식이 틀리면 예외를 던지지 않고 {@code typeMismatch} 오류를 기록한다.</li>
+ *     <li>래퍼 타입 : 빈 문자열이면 null 을 넣는다.</li>
+ * </ul>
+ */
+class BinderGenerator implements SourceGenerator {
+
+    private static final String RUNTIME_PACKAGE = "thespeace.springmvc.binder";
+
+    @Override
+    public String annotationType() {
+        return GenerateBinder.class.getName();
+    }
+
+    @Override
+    public String classNameSuffix() {
+        return "Binder";
+    }
+
+    @Override
+    public String serviceInterface() {
+        return RUNTIME_PACKAGE + ".ParameterBinder";
+    }
+
+    @Override
+    public String generate(BeanModel bean, String className) {
+        StringBuilder src = new StringBuilder();
+        if (!bean.packageName.isEmpty()) {
+            src.append("package ").append(bean.packageName).append(";\n\n");
+        }
+        src.append("import ").append(RUNTIME_PACKAGE).append(".BinderSupport;\n")
+                .append("import ").append(RUNTIME_PACKAGE).append(".BindingErrors;\n")
+                .append("import ").append(RUNTIME_PACKAGE).append(".ParameterBinder;\n")
+                .append("import ").append(RUNTIME_PACKAGE).append(".ParameterSource;\n\n")
+                .append("import javax.annotation.processing.Generated;\n\n");
+
+        src.append("@Generated(\"").append(CodegenProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(className)
+                .append(" implements ParameterBinder<").append(bean.simpleName).append("> {\n\n");
+
+        src.append("    @Override\n")
+                .append("    public Class<").append(bean.simpleName).append("> type() {\n")
+                .append("        return ").append(bean.simpleName).append(".class;\n")
+                .append("    }\n\n");
+
+        src.append("    @Override\n")
+                .append("    public ").append(bean.simpleName).append(" create() {\n")
+                .append("        return new ").append(bean.simpleName).append("();\n")
+                .append("    }\n\n");
+
+        src.append("    @Override\n")
+                .append("    public void bind(").append(bean.simpleName)
+                .append(" target, ParameterSource source, BindingErrors errors) {\n");
+        for (int i = 0; i < bean.properties.size(); i++) {
+            if (i > 0) {
+                src.append('\n');
+            }
+            generateProperty(bean.properties.get(i), src);
+        }
+        src.append("    }\n");
+
+        src.append("}\n");
+        return src.toString();
+    }
+
+    private void generateProperty(BeanModel.Property property, StringBuilder src) {
+        String name = property.name();
+        String local = name + "Value";
+        String setter = "target." + property.setter();
+        BeanModel.PropertyType type = property.type();
+
+        if (type == BeanModel.PropertyType.STRING) {
+            src.append("        String ").append(local).append(" = source.joinedValue(\"").append(name).append("\");\n")
+                    .append("        if (").append(local).append(" != null) {\n")
+                    .append("            ").append(setter).append('(').append(local).append(");\n")
+                    .append("        }\n");
+            return;
+        }
+
+        String check = "BinderSupport.is" + type.suffix + "(" + local + ")";
+        src.append("        String ").append(local).append(" = source.value(\"").append(name).append("\");\n")
+                .append("        if (").append(local).append(" != null) {\n");
+        if (type.primitive) {
+            src.append("            if (").append(check).append(") {\n");
+        } else {
+            String empty = type == BeanModel.PropertyType.BOOLEAN_OBJECT ? ".isBlank()" : ".isEmpty()";
+            src.append("            if (").append(local).append(empty).append(") {\n")
+                    .append("                ").append(setter).append("(null);\n")
+                    .append("            } else if (").append(check).append(") {\n");
+        }
+        src.append("                ").append(setter).append("(BinderSupport.parse").append(type.suffix)
+                .append('(').append(local).append("));\n")
+                .append("            } else {\n")
+                .append("                errors.typeMismatch(\"").append(name).append("\", ")
+                .append(local).append(", \"").append(property.javaType()).append("\");\n")
+                .append("            }\n")
+                .append("        }\n");
+    }
+}
@@ -0,0 +1,117 @@
+package thespeace.springmvc.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h2>코드 생성 애노테이션 프로세서</h2>
+ * 애노테이션별 생성기를 실행하고, 생성한 클래스를 {@code META-INF/services/<서비스 인터페이스>}에 등록한다.
+ * 런타임에는 {@link java.util.ServiceLoader}로 생성 클래스를 찾으므로 클래스 이름으로 찾는 리플렉션이 필요 없다.
+ */
+public class CodegenProcessor extends AbstractProcessor {
+
+    private final Map<String, SourceGenerator> generators = new LinkedHashMap<>();
+    private final Map<String, Set<String>> services = new LinkedHashMap<>();
+
+    private Filer filer;
+    private Messager messager;
+
+    public CodegenProcessor() {
+        register(new JsonCodecGenerator());
+        register(new BinderGenerator());
+    }
+
+    private void register(SourceGenerator generator) {
+        generators.put(generator.annotationType(), generator);
+    }
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return generators.keySet();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            SourceGenerator generator = generators.get(annotation.getQualifiedName().toString());
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                generate(generator, (TypeElement) element);
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeServiceFiles();
+        }
+        return true;
+    }
+
+    private void generate(SourceGenerator generator, TypeElement type) {
+        List<String> problems = new ArrayList<>();
+        BeanModel bean = BeanModel.of(type, problems);
+        if (bean == null) {
+            messager.printMessage(Diagnostic.Kind.WARNING,
+                    "@" + generator.annotationSimpleName() + " skipped: " + String.join(", ", problems), type);
+            return;
+        }
+
+        String className = bean.simpleName + generator.classNameSuffix();
+        String qualifiedName = bean.packageName.isEmpty() ? className : bean.packageName + "." + className;
+        try {
+            JavaFileObject file = filer.createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(generator.generate(bean, className));
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + qualifiedName + ": " + e, type);
+            return;
+        }
+        services.computeIfAbsent(generator.serviceInterface(), key -> new LinkedHashSet<>()).add(qualifiedName);
+    }
+
+    private void writeServiceFiles() {
+        for (Map.Entry<String, Set<String>> entry : services.entrySet()) {
+            String resource = "META-INF/services/" + entry.getKey();
+            try {
+                FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+                try (Writer writer = file.openWriter()) {
+                    for (String implementation : entry.getValue()) {
+                        writer.write(implementation);
+                        writer.write('\n');
+                    }
+                }
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + resource + ": " + e);
+            }
+        }
+    }
+}
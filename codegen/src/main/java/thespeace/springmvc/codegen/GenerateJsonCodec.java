@@ -0,0 +1,20 @@
+package thespeace.springmvc.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <h2>JSON 코덱 생성 대상</h2>
+ * 컴파일 시점에 {@code <클래스명>JsonCodec}(리플렉션을 사용하지 않는 JSON reader/writer)를 생성한다.
+ * <ul>
+ *     <li>{@code @Data}(lombok)처럼 기본 생성자와 getter/setter 가 있는 클래스에 사용한다.</li>
+ *     <li>지원 필드 타입 : String, int, long, boolean, double 과 그 래퍼 타입</li>
+ *     <li>지원하지 않는 필드가 있으면 경고만 남기고 생성하지 않는다. (Jackson 으로 처리된다)</li>
+ * </ul>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateJsonCodec {
+}
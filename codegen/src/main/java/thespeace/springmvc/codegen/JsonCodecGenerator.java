@@ -0,0 +1,117 @@
+package thespeace.springmvc.codegen;
+
+/**
+ * <h2>{@link GenerateJsonCodec} 생성기</h2>
+ * <ul>
+ *     <li>read : Jackson {@code JsonParser} 토큰을 직접 읽고 필드 이름으로 setter 를 호출한다.
+ *         모르는 필드는 건너뛴다. (스프링 부트 기본 설정과 같다)</li>
+ *     <li>write : {@code {"필드":} 같은 고정 부분을 미리 바이트로 만들어두고, 값만 {@code JsonByteWriter}로 쓴다.</li>
+ * </ul>
+ */
+class JsonCodecGenerator implements SourceGenerator {
+
+    private static final String RUNTIME_PACKAGE = "thespeace.springmvc.codec";
+
+    @Override
+    public String annotationType() {
+        return GenerateJsonCodec.class.getName();
+    }
+
+    @Override
+    public String classNameSuffix() {
+        return "JsonCodec";
+    }
+
+    @Override
+    public String serviceInterface() {
+        return RUNTIME_PACKAGE + ".JsonCodec";
+    }
+
+    @Override
+    public String generate(BeanModel bean, String className) {
+        StringBuilder src = new StringBuilder();
+        if (!bean.packageName.isEmpty()) {
+            src.append("package ").append(bean.packageName).append(";\n\n");
+        }
+        src.append("import com.fasterxml.jackson.core.JsonParser;\n")
+                .append("import com.fasterxml.jackson.core.JsonToken;\n")
+                .append("import ").append(RUNTIME_PACKAGE).append(".JsonByteWriter;\n")
+                .append("import ").append(RUNTIME_PACKAGE).append(".JsonCodec;\n")
+                .append("import ").append(RUNTIME_PACKAGE).append(".JsonCodecSupport;\n\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import java.io.IOException;\n\n");
+
+        src.append("@Generated(\"").append(CodegenProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(className)
+                .append(" implements JsonCodec<").append(bean.simpleName).append("> {\n\n");
+
+        for (int i = 0; i < bean.properties.size(); i++) {
+            BeanModel.Property property = bean.properties.get(i);
+            String prefix = (i == 0 ? "{" : ",") + BeanModel.jsonName(property.name());
+            src.append("    private static final byte[] ").append(constant(property))
+                    .append(" = JsonCodecSupport.ascii(\"").append(prefix).append("\");\n");
+        }
+        if (!bean.properties.isEmpty()) {
+            src.append('\n');
+        }
+
+        src.append("    @Override\n")
+                .append("    public Class<").append(bean.simpleName).append("> type() {\n")
+                .append("        return ").append(bean.simpleName).append(".class;\n")
+                .append("    }\n\n");
+
+        generateRead(bean, src);
+        generateWrite(bean, src);
+
+        src.append("}\n");
+        return src.toString();
+    }
+
+    private void generateRead(BeanModel bean, StringBuilder src) {
+        src.append("    @Override\n")
+                .append("    public ").append(bean.simpleName).append(" read(JsonParser parser) throws IOException {\n")
+                .append("        if (!JsonCodecSupport.startObject(parser)) {\n")
+                .append("            return null;\n")
+                .append("        }\n")
+                .append("        ").append(bean.simpleName).append(" value = new ").append(bean.simpleName).append("();\n")
+                .append("        while (parser.nextToken() == JsonToken.FIELD_NAME) {\n")
+                .append("            String name = parser.currentName();\n")
+                .append("            parser.nextToken();\n")
+                .append("            switch (name) {\n");
+        for (BeanModel.Property property : bean.properties) {
+            src.append("                case \"").append(property.name()).append("\" -> value.")
+                    .append(property.setter()).append("(JsonCodecSupport.read")
+                    .append(readSuffix(property)).append("(parser));\n");
+        }
+        src.append("                default -> parser.skipChildren();\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        return value;\n")
+                .append("    }\n\n");
+    }
+
+    private void generateWrite(BeanModel bean, StringBuilder src) {
+        src.append("    @Override\n")
+                .append("    public void write(").append(bean.simpleName)
+                .append(" value, JsonByteWriter writer) throws IOException {\n");
+        if (bean.properties.isEmpty()) {
+            src.append("        writer.writeByte('{');\n");
+        }
+        for (BeanModel.Property property : bean.properties) {
+            src.append("        writer.writeRaw(").append(constant(property)).append(");\n")
+                    .append("        writer.write").append(readSuffix(property))
+                    .append("(value.").append(property.getter()).append("());\n");
+        }
+        src.append("        writer.writeByte('}');\n")
+                .append("    }\n");
+    }
+
+    private static String readSuffix(BeanModel.Property property) {
+        BeanModel.PropertyType type = property.type();
+        return type.primitive || type == BeanModel.PropertyType.STRING ? type.suffix : type.suffix + "Object";
+    }
+
+    private static String constant(BeanModel.Property property) {
+        return property.name().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_FIELD";
+    }
+}
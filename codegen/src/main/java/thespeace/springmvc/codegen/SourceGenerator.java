@@ -0,0 +1,28 @@
+package thespeace.springmvc.codegen;
+
+/**
+ * <h2>애노테이션 하나에 대응하는 소스 생성기</h2>
+ */
+interface SourceGenerator {
+
+    /**
+     * @return 처리할 애노테이션의 전체 이름
+     */
+    String annotationType();
+
+    default String annotationSimpleName() {
+        return annotationType().substring(annotationType().lastIndexOf('.') + 1);
+    }
+
+    /**
+     * @return 생성 클래스 이름 = 대상 클래스 이름 + suffix
+     */
+    String classNameSuffix();
+
+    /**
+     * @return 생성 클래스가 구현하는 서비스 인터페이스 (META-INF/services 등록용)
+     */
+    String serviceInterface();
+
+    String generate(BeanModel bean, String className);
+}
@@ -0,0 +1,156 @@
+package thespeace.springmvc.codegen.template;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * <h2>빌드 시점 템플릿 컴파일러</h2>
+ * {@code src/main/resources/templates/**}{@code /*.html}을 읽어서 템플릿마다 {@code CompiledTemplate} 구현 클래스를 만든다.
+ * <ul>
+ *     <li>정적 조각은 UTF-8 {@code byte[]} 상수로 미리 인코딩해두고, 렌더링 시 그대로 쓴다.</li>
+ *     <li>{@code th:text="${name}"}은 모델 값을 HTML 이스케이프해서 쓴다.</li>
+ *     <li>지원하지 않는 구문이 있는 템플릿은 건너뛴다. 런타임에 타임리프가 그대로 처리한다.</li>
+ *     <li>생성된 클래스는 {@code META-INF/services}에 등록해서 {@code ServiceLoader}로 찾는다.</li>
+ * </ul>
+ * 실행 : {@code ./gradlew compileTemplates} (compileJava 가 자동으로 먼저 실행한다)
+ * <pre>args: &lt;템플릿 디렉토리&gt; &lt;생성 소스 디렉토리&gt; &lt;생성 리소스 디렉토리&gt;</pre>
+ */
+public class TemplateCompiler {
+
+    static final String RUNTIME_PACKAGE = "thespeace.springmvc.view.compiled";
+    static final String SERVICE_INTERFACE = RUNTIME_PACKAGE + ".CompiledTemplate";
+    private static final String SUFFIX = ".html";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("usage: TemplateCompiler <templatesDir> <sourcesDir> <resourcesDir>");
+        }
+        Path templatesDir = Path.of(args[0]);
+        Path packageDir = Path.of(args[1]).resolve(RUNTIME_PACKAGE.replace('.', '/'));
+        Path servicesFile = Path.of(args[2]).resolve("META-INF/services/" + SERVICE_INTERFACE);
+
+        List<Path> templates;
+        try (Stream<Path> files = Files.walk(templatesDir)) {
+            templates = files.filter(file -> file.toString().endsWith(SUFFIX)).sorted().toList();
+        }
+
+        Files.createDirectories(packageDir);
+        Files.createDirectories(servicesFile.getParent());
+        List<String> generated = new ArrayList<>();
+        Set<String> classNames = new HashSet<>();
+        for (Path template : templates) {
+            String viewName = templatesDir.relativize(template).toString().replace('\\', '/');
+            viewName = viewName.substring(0, viewName.length() - SUFFIX.length());
+            try {
+                List<TemplateParser.Part> parts = TemplateParser.parse(Files.readString(template, StandardCharsets.UTF_8));
+                String className = className(viewName, classNames);
+                Files.writeString(packageDir.resolve(className + ".java"), generate(className, viewName, parts),
+                        StandardCharsets.UTF_8);
+                generated.add(RUNTIME_PACKAGE + "." + className);
+                System.out.printf("[templates] compiled %s -> %s%n", viewName, className);
+            } catch (TemplateParser.UnsupportedTemplateException e) {
+                System.out.printf("[templates] skipped %s (%s), rendered by Thymeleaf at runtime%n", viewName, e.getMessage());
+            }
+        }
+        Files.write(servicesFile, generated, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@code response/hello} -> {@code ResponseHelloTemplate}
+     */
+    static String className(String viewName, Set<String> used) {
+        StringBuilder name = new StringBuilder();
+        boolean upper = true;
+        for (int i = 0; i < viewName.length(); i++) {
+            char c = viewName.charAt(i);
+            if (Character.isLetterOrDigit(c) && c < 128) {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            } else {
+                upper = true;
+            }
+        }
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            name.insert(0, 'T');
+        }
+        String base = name + "Template";
+        String className = base;
+        for (int i = 2; !used.add(className); i++) {
+            className = base + i;
+        }
+        return className;
+    }
+
+    static String generate(String className, String viewName, List<TemplateParser.Part> parts) {
+        StringBuilder src = new StringBuilder();
+        src.append("package ").append(RUNTIME_PACKAGE).append(";\n\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import java.io.IOException;\n")
+                .append("import java.io.OutputStream;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n")
+                .append(" * templates/").append(viewName).append(SUFFIX).append('\n')
+                .append(" */\n")
+                .append("@Generated(\"").append(TemplateCompiler.class.getName()).append("\")\n")
+                .append("public final class ").append(className).append(" implements CompiledTemplate {\n\n");
+
+        int chunk = 0;
+        for (TemplateParser.Part part : parts) {
+            if (part instanceof TemplateParser.StaticText staticText) {
+                src.append("    private static final byte[] CHUNK_").append(chunk++)
+                        .append(" = CompiledTemplateSupport.utf8(").append(literal(staticText.text())).append(");\n");
+            }
+        }
+
+        src.append("\n    @Override\n")
+                .append("    public String viewName() {\n")
+                .append("        return ").append(literal(viewName)).append(";\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void render(Map<String, ?> model, OutputStream out) throws IOException {\n");
+        chunk = 0;
+        for (TemplateParser.Part part : parts) {
+            if (part instanceof TemplateParser.StaticText) {
+                src.append("        out.write(CHUNK_").append(chunk++).append(");\n");
+            } else if (part instanceof TemplateParser.Expression expression) {
+                src.append("        CompiledTemplateSupport.writeEscaped(out, model.get(")
+                        .append(literal(expression.variable())).append("));\n");
+            }
+        }
+        src.append("    }\n")
+                .append("}\n");
+        return src.toString();
+    }
+
+    /**
+     * 자바 문자열 리터럴. ASCII 가 아닌 문자는 유니코드 이스케이프로 바꿔서 소스 인코딩에 영향을 받지 않게 한다.
+     */
+    static String literal(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 16).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.append('"').toString();
+    }
+}
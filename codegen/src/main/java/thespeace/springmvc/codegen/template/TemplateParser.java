@@ -0,0 +1,218 @@
+package thespeace.springmvc.codegen.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <h2>타임리프 템플릿 파서 (지원 범위 제한)</h2>
+ * 템플릿을 "그대로 출력할 정적 조각"과 "모델 값을 이스케이프해서 출력할 자리"의 목록으로 나눈다.
+ * <ul>
+ *     <li>지원 : {@code th:text="${name}"}(본문에 태그가 없는 요소), {@code xmlns:th} 선언(출력에서 제거)</li>
+ *     <li>그 외 {@code th:*}, {@code data-th-*} 속성, {@code [[...]]}, {@code [(...)]} 인라인,
+ *         파서 레벨 주석({@code <!--/* ... *}{@code /-->}), {@code ${a.b}} 같은 식은
+ *         {@link UnsupportedTemplateException}을 던진다. (런타임에 타임리프가 처리한다)</li>
+ *     <li>공백, 따옴표, 주석은 원본 그대로 유지한다. 타임리프 출력과 바이트 단위로 같게 만들기 위해서다.</li>
+ * </ul>
+ */
+class TemplateParser {
+
+    sealed interface Part permits StaticText, Expression {
+    }
+
+    record StaticText(String text) implements Part {
+    }
+
+    /**
+     * {@code th:text="${variable}"} - 모델 속성 {@code variable}을 HTML 이스케이프해서 출력한다.
+     */
+    record Expression(String variable) implements Part {
+    }
+
+    static class UnsupportedTemplateException extends Exception {
+        UnsupportedTemplateException(String message) {
+            super(message);
+        }
+    }
+
+    private static final Pattern SIMPLE_VARIABLE = Pattern.compile("\\$\\{\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*}");
+
+    private record Attribute(String name, String value, int start, int end) {
+    }
+
+    private final String src;
+    private final List<Part> parts = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+    private int pos;
+
+    private TemplateParser(String src) {
+        this.src = src;
+    }
+
+    static List<Part> parse(String src) throws UnsupportedTemplateException {
+        if (src.contains("[[") || src.contains("[(")) {
+            throw new UnsupportedTemplateException("text inlining [[...]] / [(...)]");
+        }
+        TemplateParser parser = new TemplateParser(src);
+        parser.parse();
+        return parser.parts;
+    }
+
+    private void parse() throws UnsupportedTemplateException {
+        while (pos < src.length()) {
+            int lt = src.indexOf('<', pos);
+            if (lt < 0) {
+                text.append(src, pos, src.length());
+                break;
+            }
+            text.append(src, pos, lt);
+            pos = lt;
+            if (src.startsWith("<!--", pos)) {
+                if (src.startsWith("<!--/*", pos)) {
+                    throw new UnsupportedTemplateException("parser-level comment");
+                }
+                copyThrough("-->");
+            } else if (src.startsWith("<!", pos) || src.startsWith("<?", pos) || src.startsWith("</", pos)) {
+                copyThrough(">");
+            } else if (pos + 1 < src.length() && Character.isLetter(src.charAt(pos + 1))) {
+                startTag();
+            } else {
+                text.append('<');
+                pos++;
+            }
+        }
+        flushText();
+    }
+
+    private void copyThrough(String terminator) throws UnsupportedTemplateException {
+        int end = src.indexOf(terminator, pos);
+        if (end < 0) {
+            throw new UnsupportedTemplateException("unterminated markup at offset " + pos);
+        }
+        end += terminator.length();
+        text.append(src, pos, end);
+        pos = end;
+    }
+
+    private void startTag() throws UnsupportedTemplateException {
+        int nameEnd = pos + 1;
+        while (nameEnd < src.length() && isNameChar(src.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        String tagName = src.substring(pos + 1, nameEnd);
+
+        List<Attribute> attributes = new ArrayList<>();
+        int tagEnd = parseAttributes(nameEnd, attributes);
+        boolean selfClosing = src.charAt(tagEnd - 2) == '/';
+
+        StringBuilder tag = new StringBuilder();
+        int copied = pos;
+        String textVariable = null;
+        for (Attribute attribute : attributes) {
+            String name = attribute.name();
+            if (name.equals("xmlns:th")) {
+                tag.append(src, copied, attribute.start());
+                copied = attribute.end();
+            } else if (name.equals("th:text") || name.equals("data-th-text")) {
+                Matcher matcher = SIMPLE_VARIABLE.matcher(attribute.value() == null ? "" : attribute.value());
+                if (!matcher.matches()) {
+                    throw new UnsupportedTemplateException("expression " + attribute.value());
+                }
+                textVariable = matcher.group(1);
+                tag.append(src, copied, attribute.start());
+                copied = attribute.end();
+            } else if (name.startsWith("th:") || name.startsWith("data-th-")) {
+                throw new UnsupportedTemplateException("attribute " + name);
+            }
+        }
+        tag.append(src, copied, tagEnd);
+        text.append(tag);
+        pos = tagEnd;
+
+        if (textVariable == null) {
+            return;
+        }
+        if (selfClosing) {
+            throw new UnsupportedTemplateException("th:text on self-closing <" + tagName + ">");
+        }
+        String endTag = "</" + tagName;
+        int bodyEnd = src.indexOf(endTag, pos);
+        if (bodyEnd < 0 || src.substring(pos, bodyEnd).indexOf('<') >= 0) {
+            throw new UnsupportedTemplateException("th:text on <" + tagName + "> with nested markup");
+        }
+        flushText();
+        parts.add(new Expression(textVariable));
+        pos = bodyEnd;
+    }
+
+    /**
+     * @return 태그를 닫는 {@code >} 다음 위치
+     */
+    private int parseAttributes(int i, List<Attribute> attributes) throws UnsupportedTemplateException {
+        while (i < src.length()) {
+            int start = i;
+            while (i < src.length() && Character.isWhitespace(src.charAt(i))) {
+                i++;
+            }
+            if (i >= src.length()) {
+                break;
+            }
+            char c = src.charAt(i);
+            if (c == '>') {
+                return i + 1;
+            }
+            if (c == '/' && i + 1 < src.length() && src.charAt(i + 1) == '>') {
+                return i + 2;
+            }
+            int nameStart = i;
+            while (i < src.length() && !Character.isWhitespace(src.charAt(i)) && "=/>".indexOf(src.charAt(i)) < 0) {
+                i++;
+            }
+            String name = src.substring(nameStart, i);
+            int afterName = i;
+            while (i < src.length() && Character.isWhitespace(src.charAt(i))) {
+                i++;
+            }
+            String value = null;
+            if (i < src.length() && src.charAt(i) == '=') {
+                i++;
+                while (i < src.length() && Character.isWhitespace(src.charAt(i))) {
+                    i++;
+                }
+                if (i < src.length() && (src.charAt(i) == '"' || src.charAt(i) == '\'')) {
+                    int close = src.indexOf(src.charAt(i), i + 1);
+                    if (close < 0) {
+                        break;
+                    }
+                    value = src.substring(i + 1, close);
+                    i = close + 1;
+                } else {
+                    int valueStart = i;
+                    while (i < src.length() && !Character.isWhitespace(src.charAt(i)) && src.charAt(i) != '>') {
+                        i++;
+                    }
+                    value = src.substring(valueStart, i);
+                }
+            } else {
+                i = afterName;
+            }
+            if (name.isEmpty()) {
+                break;
+            }
+            attributes.add(new Attribute(name, value, start, i));
+        }
+        throw new UnsupportedTemplateException("unterminated tag at offset " + pos);
+    }
+
+    private void flushText() {
+        if (!text.isEmpty()) {
+            parts.add(new StaticText(text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_';
+    }
+}
@@ -0,0 +1,103 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import thespeace.springmvc.user.AgeIndex;
+import thespeace.springmvc.user.UserRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * <h2>나이 범위 조회 : 전체 순회 vs 나이 인덱스</h2>
+ * 저장소와 같은 {@link ConcurrentSkipListMap}과 {@link AgeIndex}에 회원 {@code users}명(나이 0 ~ 99 고르게)을 넣고
+ * 나이 {@code 42 ~ 43}(약 2%)을 조회한다.
+ * <ul>
+ *     <li>scanPage, indexPage : 한 페이지({@value #LIMIT}명). 순회는 앞에서부터 걸러내므로 선택도에 따라, 인덱스는 log(n) + 결과 수</li>
+ *     <li>scanAll, indexAll : 범위 전체. 순회는 회원 수 전체를 읽고, 인덱스는 결과 수만큼만 읽는다.</li>
+ * </ul>
+ * 회원 1000만 명은 힙이 많이 필요해서 {@code -Xmx6g}로 실행한다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=AgeRangeQueryBenchmark}
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class AgeRangeQueryBenchmark {
+
+    private static final int MIN_AGE = 42;
+    private static final int MAX_AGE = 43;
+    private static final int LIMIT = 1000;
+
+    @Param({"1000000", "10000000"})
+    private int users;
+
+    private final ConcurrentSkipListMap<Long, UserRecord> store = new ConcurrentSkipListMap<>();
+    private final AgeIndex ageIndex = new AgeIndex();
+
+    @Setup
+    public void setUp() {
+        long[] keys = new long[users];
+        for (int i = 0; i < users; i++) {
+            long userId = i + 1;
+            int age = (int) (userId * 31 % 100);
+            store.put(userId, new UserRecord(userId, "user", age));
+            keys[i] = AgeIndex.key(age, userId);
+        }
+        ageIndex.load(keys, users);
+    }
+
+    @Benchmark
+    public List<UserRecord> scanPage() {
+        return scan(LIMIT);
+    }
+
+    @Benchmark
+    public List<UserRecord> indexPage() {
+        return index(LIMIT);
+    }
+
+    @Benchmark
+    public List<UserRecord> scanAll() {
+        return scan(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<UserRecord> indexAll() {
+        return index(Integer.MAX_VALUE);
+    }
+
+    private List<UserRecord> scan(int limit) {
+        List<UserRecord> result = new ArrayList<>();
+        for (UserRecord user : store.values()) {
+            if (user.age() >= MIN_AGE && user.age() <= MAX_AGE) {
+                result.add(user);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<UserRecord> index(int limit) {
+        List<UserRecord> result = new ArrayList<>();
+        long[] keys = new long[1024];
+        long from = AgeIndex.key(MIN_AGE, 0);
+        long to = AgeIndex.lastKey(MAX_AGE);
+        while (result.size() < limit) {
+            int count = ageIndex.scan(from, to, keys);
+            for (int i = 0; i < count && result.size() < limit; i++) {
+                result.add(store.get(AgeIndex.userId(keys[i])));
+            }
+            if (count < keys.length) {
+                break;
+            }
+            from = keys[count - 1] + 1;
+        }
+        return result;
+    }
+}
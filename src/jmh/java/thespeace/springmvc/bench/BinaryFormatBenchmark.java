@@ -0,0 +1,68 @@
+package thespeace.springmvc.bench;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import thespeace.springmvc.HelloData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>JSON vs CBOR vs Smile</h2>
+ * 같은 {@code HelloData} 목록을 포맷별로 인코딩/디코딩하는 비용을 비교한다.
+ * 포맷별 페이로드 크기는 {@code @Setup}에서 출력한다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=BinaryFormatBenchmark}
+ */
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1", "100"})
+    private int records;
+
+    private ObjectMapper objectMapper;
+    private JavaType listType;
+    private List<HelloData> value;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, HelloData.class);
+
+        value = new ArrayList<>();
+        for (int i = 0; i < records; i++) {
+            HelloData helloData = new HelloData();
+            helloData.setUsername("user" + i);
+            helloData.setAge(20 + i % 50);
+            value.add(helloData);
+        }
+        payload = objectMapper.writeValueAsBytes(value);
+        System.out.printf("%n[payload] format=%s, records=%d, bytes=%d%n", format, records, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return objectMapper.readValue(payload, listType);
+    }
+}
@@ -0,0 +1,57 @@
+package thespeace.springmvc.bench;
+
+import jakarta.servlet.ServletException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+
+/**
+ * <h2>벤치마크용 DispatcherServlet</h2>
+ * 톰캣 없이 실제 {@link DispatcherServlet}을 초기화하고, Mock 요청/응답으로 호출한다.
+ * <ul>
+ *     <li>핸들러 매핑 -> 핸들러 어댑터(ArgumentResolver) -> 핸들러 -> ReturnValueHandler(HttpMessageConverter)
+ *         까지 실제 요청과 같은 경로를 탄다.</li>
+ *     <li>네트워크, 서블릿 컨테이너 비용은 제외된다.</li>
+ * </ul>
+ */
+public class DispatcherServletFixture implements AutoCloseable {
+
+    private final AnnotationConfigWebApplicationContext context;
+    private final DispatcherServlet servlet;
+
+    /**
+     * @param componentClasses {@code @EnableWebMvc} 설정 클래스와 측정할 컨트롤러들
+     */
+    public DispatcherServletFixture(Class<?>... componentClasses) throws ServletException {
+        MockServletContext servletContext = new MockServletContext();
+
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(servletContext);
+        context.register(componentClasses);
+        context.refresh();
+
+        servlet = new DispatcherServlet(context);
+        servlet.init(new MockServletConfig(servletContext, "dispatcherServlet"));
+    }
+
+    public MockHttpServletResponse perform(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        servlet.destroy();
+        context.close();
+    }
+}
@@ -0,0 +1,75 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.util.MultiValueMap;
+import thespeace.springmvc.form.FormFields;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h2>폼 본문 읽기 : 전체 디코딩 vs 스트리밍</h2>
+ * {@code fields}개의 필드({@code field{n}=한글+value{n}}, 퍼센트 인코딩 포함)가 있는 본문을 읽고 모든 값의 길이를 더한다.
+ * <ul>
+ *     <li>bufferAll : {@code FormHttpMessageConverter} - 본문 전체를 문자열로 읽은 뒤 {@code MultiValueMap}으로 디코딩한다.
+ *         (컨테이너의 파라미터 맵 처리와 같은 방식)</li>
+ *     <li>streaming : {@link FormFields} - 8KB 버퍼로 읽으면서 필드를 하나씩 디코딩한다.</li>
+ * </ul>
+ * 처리 시간보다 {@code gc.alloc.rate.norm}(요청당 할당량)과 최대 힙 사용량 차이를 보자.
+ * bufferAll 은 본문 크기의 몇 배를 한 번에 들고 있고, streaming 은 필드 하나만 들고 있다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=FormBodyBenchmark}
+ */
+@State(Scope.Benchmark)
+public class FormBodyBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int fields;
+
+    private byte[] body;
+    private FormHttpMessageConverter converter;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                builder.append('&');
+            }
+            builder.append("field").append(i).append("=%ED%95%9C%EA%B8%80+value").append(i);
+        }
+        body = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        converter = new FormHttpMessageConverter();
+    }
+
+    @Benchmark
+    public long bufferAll() throws IOException {
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        MultiValueMap<String, String> form = converter.read(null, message);
+        long length = 0;
+        for (var values : form.values()) {
+            for (String value : values) {
+                length += value.length();
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        FormFields form = new FormFields(new ByteArrayInputStream(body), StandardCharsets.UTF_8, 8192, 0);
+        long length = 0;
+        while (form.next()) {
+            length += form.value().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,74 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import thespeace.springmvc.basic.request.RequestParamController;
+import thespeace.springmvc.metrics.HandlerMetrics;
+import thespeace.springmvc.metrics.HandlerMetricsInterceptor;
+import thespeace.springmvc.metrics.StripedHistogram;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <h2>핸들러 지표 기록 비용</h2>
+ * 8개 쓰레드가 같은 핸들러의 지표를 동시에 기록한다. (가장 경합이 심한 경우)
+ * <ul>
+ *     <li>stripedHistogram : {@link StripedHistogram#record(long)}만</li>
+ *     <li>synchronizedHistogram : 같은 버킷 수의 배열을 락 하나로 보호하는 비교용 구현</li>
+ *     <li>interceptor : {@link HandlerMetricsInterceptor}의 {@code preHandle + afterCompletion} (요청 속성 포함)</li>
+ * </ul>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=HandlerMetricsBenchmark}
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class HandlerMetricsBenchmark {
+
+    private final StripedHistogram stripedHistogram = new StripedHistogram();
+    private final long[] lockedBuckets = new long[544];
+
+    private HandlerMetricsInterceptor interceptor;
+    private HandlerMethod handlerMethod;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/request-param-v2");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        interceptor = new HandlerMetricsInterceptor(new HandlerMetrics());
+        handlerMethod = new HandlerMethod(new RequestParamController(),
+                RequestParamController.class.getMethod("requestParamV2", String.class, int.class));
+    }
+
+    @Benchmark
+    public void stripedHistogram() {
+        stripedHistogram.record(latency());
+    }
+
+    @Benchmark
+    public void synchronizedHistogram() {
+        long value = latency();
+        int bucket = Math.min(63 - Long.numberOfLeadingZeros(value | 1), 33) << 4;
+        synchronized (lockedBuckets) {
+            lockedBuckets[bucket]++;
+        }
+    }
+
+    @Benchmark
+    public void interceptor(ThreadState state) {
+        interceptor.preHandle(state.request, state.response, handlerMethod);
+        interceptor.afterCompletion(state.request, state.response, handlerMethod, null);
+    }
+
+    private static long latency() {
+        return ThreadLocalRandom.current().nextLong(50_000, 5_000_000);
+    }
+}
@@ -0,0 +1,80 @@
+package thespeace.springmvc.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import thespeace.springmvc.HelloData;
+import thespeace.springmvc.codec.ByteArrayPool;
+import thespeace.springmvc.codec.GeneratedCodecHttpMessageConverter;
+import thespeace.springmvc.codec.JsonCodecRegistry;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h2>생성된 JSON 코덱 vs MappingJackson2HttpMessageConverter</h2>
+ * {@code HelloData} 한 건을 HttpMessageConverter 로 읽고(@RequestBody), 쓰는(@ResponseBody) 비용을 비교한다.<br>
+ * 두 컨버터 모두 스프링 부트와 같은 설정의 ObjectMapper(Jackson2ObjectMapperBuilder)를 사용한다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=JsonCodecBenchmark}
+ */
+@State(Scope.Benchmark)
+public class JsonCodecBenchmark {
+
+    private static final byte[] BODY = "{\"username\":\"hello\",\"age\":20}".getBytes(StandardCharsets.UTF_8);
+
+    private MappingJackson2HttpMessageConverter jackson;
+    private GeneratedCodecHttpMessageConverter generated;
+    private HelloData helloData;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        generated = new GeneratedCodecHttpMessageConverter(
+                new JsonCodecRegistry(getClass().getClassLoader()), objectMapper.getFactory(), new ByteArrayPool(8192, 64));
+
+        if (!generated.canRead(HelloData.class, MediaType.APPLICATION_JSON)) {
+            throw new IllegalStateException("HelloDataJsonCodec not found. Check the codegen annotation processor.");
+        }
+
+        helloData = new HelloData();
+        helloData.setUsername("userA");
+        helloData.setAge(20);
+    }
+
+    @Benchmark
+    public Object readJackson() throws Exception {
+        return jackson.read(HelloData.class, input());
+    }
+
+    @Benchmark
+    public Object readGenerated() throws Exception {
+        return generated.read(HelloData.class, input());
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeJackson() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        jackson.write(helloData, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeGenerated() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        generated.write(helloData, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    private static MockHttpInputMessage input() {
+        MockHttpInputMessage input = new MockHttpInputMessage(BODY);
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return input;
+    }
+}
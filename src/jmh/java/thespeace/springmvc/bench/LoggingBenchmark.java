@@ -0,0 +1,100 @@
+package thespeace.springmvc.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import thespeace.springmvc.basic.LogTestController;
+import thespeace.springmvc.logging.RingBufferAppender;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <h2>동기 로깅 vs 링 버퍼 비동기 로깅</h2>
+ * {@link LogTestController#logTest()}(한 번에 INFO, WARN, ERROR 3줄 출력)를 여러 쓰레드에서 동시에 호출한다.
+ * <ul>
+ *     <li>sync : 요청 쓰레드가 파일 Appender 의 락을 잡고 직접 쓴다.</li>
+ *     <li>ring-* : 요청 쓰레드는 {@link RingBufferAppender}에 넣기만 한다. 버퍼가 찼을 때의 정책별로 비교한다.</li>
+ * </ul>
+ * 측정이 끝나면 정책별로 버린/건너뛴/기다린 이벤트 수를 출력한다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=LoggingBenchmark}
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+public class LoggingBenchmark {
+
+    @Param({"sync", "ring-block", "ring-drop", "ring-sample"})
+    private String mode;
+
+    private LoggerContext loggerContext;
+    private RingBufferAppender ringBufferAppender;
+    private LogTestController controller;
+    private Path logFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{HH:mm:ss.SSS} %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (mode.startsWith("ring-")) {
+            ringBufferAppender = new RingBufferAppender();
+            ringBufferAppender.setContext(loggerContext);
+            ringBufferAppender.setName("RING");
+            ringBufferAppender.setCapacity(8192);
+            ringBufferAppender.setOverflowPolicy(
+                    RingBufferAppender.OverflowPolicy.valueOf(mode.substring("ring-".length()).toUpperCase()));
+            ringBufferAppender.addAppender(fileAppender);
+            ringBufferAppender.start();
+            appender = ringBufferAppender;
+        }
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        controller = new LogTestController();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (ringBufferAppender != null) {
+            System.out.printf("%n[ring] mode=%s, dropped=%d, sampledOut=%d, blocked=%d%n", mode,
+                    ringBufferAppender.getDroppedCount(), ringBufferAppender.getSampledOutCount(),
+                    ringBufferAppender.getBlockedCount());
+        }
+        loggerContext.reset();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public String logTest() {
+        return controller.logTest();
+    }
+}
@@ -0,0 +1,86 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.support.ConfigurableWebBindingInitializer;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletModelAttributeMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+import thespeace.springmvc.HelloData;
+import thespeace.springmvc.binder.GeneratedBinderMethodArgumentResolver;
+import thespeace.springmvc.binder.ParameterBinderRegistry;
+
+/**
+ * <h2>{@code @ModelAttribute} 바인딩 : ServletModelAttributeMethodProcessor vs 생성된 바인더</h2>
+ * {@code RequestParamController.modelAttributeV1}과 같은 {@code @ModelAttribute HelloData} 파라미터 하나를 리졸버로 직접 처리한다.
+ * 핸들러 매핑, 핸들러 실행, 로그 출력 비용을 빼고 바인딩 비용만 비교한다.
+ * <ul>
+ *     <li>valid : {@code ?username=hello&age=20}</li>
+ *     <li>malformed : {@code ?username=hello&age=abc} ({@code BindingResult}에 typeMismatch 오류 기록)</li>
+ *     <li>binderFactory 는 스프링 부트와 같이 {@code DefaultFormattingConversionService}를 사용한다.</li>
+ * </ul>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=ModelAttributeBinderBenchmark}
+ */
+@State(Scope.Benchmark)
+public class ModelAttributeBinderBenchmark {
+
+    @Param({"valid", "malformed"})
+    private String input;
+
+    private HandlerMethodArgumentResolver standard;
+    private HandlerMethodArgumentResolver generated;
+    private WebDataBinderFactory binderFactory;
+    private MethodParameter parameter;
+    private MockHttpServletRequest request;
+
+    /**
+     * 오류가 있어도 예외 없이 핸들러까지 가도록 {@code BindingResult}를 받는다.
+     */
+    public static class BindingHandler {
+        public String handle(@ModelAttribute HelloData helloData, BindingResult bindingResult) {
+            return "ok";
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        standard = new ServletModelAttributeMethodProcessor(false);
+        generated = new GeneratedBinderMethodArgumentResolver(new ParameterBinderRegistry(getClass().getClassLoader()));
+
+        ConfigurableWebBindingInitializer initializer = new ConfigurableWebBindingInitializer();
+        initializer.setConversionService(new DefaultFormattingConversionService());
+        binderFactory = new ServletRequestDataBinderFactory(null, initializer);
+
+        parameter = new MethodParameter(BindingHandler.class.getMethod("handle", HelloData.class, BindingResult.class), 0);
+        parameter.initParameterNameDiscovery(null);
+
+        request = new MockHttpServletRequest("GET", "/model-attribute-v1");
+        request.setParameter("username", "hello");
+        request.setParameter("age", input.equals("valid") ? "20" : "abc");
+
+        if (!generated.supportsParameter(parameter)) {
+            throw new IllegalStateException("HelloDataBinder not generated");
+        }
+    }
+
+    @Benchmark
+    public Object servletModelAttributeMethodProcessor() throws Exception {
+        return standard.resolveArgument(parameter, new ModelAndViewContainer(), new ServletWebRequest(request), binderFactory);
+    }
+
+    @Benchmark
+    public Object generatedBinder() throws Exception {
+        return generated.resolveArgument(parameter, new ModelAndViewContainer(), new ServletWebRequest(request), binderFactory);
+    }
+}
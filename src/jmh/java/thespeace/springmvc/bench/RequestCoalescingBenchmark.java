@@ -0,0 +1,108 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import thespeace.springmvc.coalesce.CoalesceConfig;
+import thespeace.springmvc.coalesce.CoalesceRequests;
+import thespeace.springmvc.web.HandlerAdapterCustomizerPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h2>동시 GET 요청 : 매번 실행 vs 합치기({@link CoalesceRequests})</h2>
+ * 32개 쓰레드가 {@code keys}개의 userId 중 하나를 골라 조회한다. 핸들러는 200us 걸리는 조회(저장소, 원격 호출 흉내)를 한 뒤
+ * 회원 100명짜리 목록(약 5KB JSON)을 반환한다.
+ * <ul>
+ *     <li>keys=1 : 모든 요청이 같은 회원 (인기 회원). 합치면 동시에 온 요청이 한 번의 조회와 직렬화를 나눠쓴다.</li>
+ *     <li>keys=10000 : 거의 겹치지 않는다. 합치기의 추가 비용(키 생성, 맵 등록, 응답 복사)만 보인다.</li>
+ * </ul>
+ * 결과의 ops/s 합계가 초당 응답 수다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=RequestCoalescingBenchmark}
+ */
+@State(Scope.Benchmark)
+@Threads(32)
+public class RequestCoalescingBenchmark {
+
+    private static final long LOOKUP_NANOS = 200_000;
+
+    @Param({"1", "10000"})
+    private int keys;
+
+    @Configuration
+    @EnableWebMvc
+    static class WebConfig {
+    }
+
+    public record Member(long userId, String username, int age) {
+    }
+
+    @RestController
+    static class MemberController {
+
+        @GetMapping("/plain/{userId}")
+        public List<Member> plain(@PathVariable long userId) {
+            return lookup(userId);
+        }
+
+        @CoalesceRequests
+        @GetMapping("/coalesced/{userId}")
+        public List<Member> coalesced(@PathVariable long userId) {
+            return lookup(userId);
+        }
+
+        private static List<Member> lookup(long userId) {
+            LockSupport.parkNanos(LOOKUP_NANOS);
+            List<Member> members = new ArrayList<>(100);
+            for (int i = 0; i < 100; i++) {
+                members.add(new Member(userId * 100 + i, "member" + i, 20 + i % 50));
+            }
+            return members;
+        }
+    }
+
+    private DispatcherServletFixture fixture;
+
+    @Setup
+    public void setUp() throws Exception {
+        System.setProperty("thespeace.coalesce.enabled", "true");
+        fixture = new DispatcherServletFixture(WebConfig.class, MemberController.class,
+                CoalesceConfig.class, HandlerAdapterCustomizerPostProcessor.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+        System.clearProperty("thespeace.coalesce.enabled");
+    }
+
+    @Benchmark
+    public MockHttpServletResponse plain() throws Exception {
+        return fixture.perform(request("/plain/"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse coalesced() throws Exception {
+        return fixture.perform(request("/coalesced/"));
+    }
+
+    private MockHttpServletRequest request(String prefix) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", prefix + ThreadLocalRandom.current().nextInt(keys));
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+}
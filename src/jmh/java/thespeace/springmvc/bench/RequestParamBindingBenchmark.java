@@ -0,0 +1,88 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import thespeace.springmvc.basic.request.RequestParamController;
+
+/**
+ * <h2>RequestParamController 바인딩 방식 비교</h2>
+ * 같은 요청({@code ?username=hello&age=20})을 각 바인딩 방식의 핸들러로 보내서 비교한다.
+ * <ul>
+ *     <li>requestParamV1 : HttpServletRequest.getParameter() + Integer.parseInt()</li>
+ *     <li>requestParamV2, V3 : {@code @RequestParam}</li>
+ *     <li>requestParamV4 : 애노테이션 생략(단순 타입 = @RequestParam)</li>
+ *     <li>requestParamMap : {@code @RequestParam Map}</li>
+ *     <li>modelAttributeV1, V2 : {@code @ModelAttribute HelloData}</li>
+ * </ul>
+ * 요청 객체 생성 비용은 모든 벤치마크에 똑같이 포함되어 있으므로, 방식 간 차이만 비교하면 된다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=RequestParamBindingBenchmark}
+ */
+@State(Scope.Benchmark)
+public class RequestParamBindingBenchmark {
+
+    @Configuration
+    @EnableWebMvc
+    static class WebConfig {
+    }
+
+    private DispatcherServletFixture fixture;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new DispatcherServletFixture(WebConfig.class, RequestParamController.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestParamV1() throws Exception {
+        return fixture.perform(request("/request-param-v1"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestParamV2() throws Exception {
+        return fixture.perform(request("/request-param-v2"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestParamV3() throws Exception {
+        return fixture.perform(request("/request-param-v3"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestParamV4() throws Exception {
+        return fixture.perform(request("/request-param-v4"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse requestParamMap() throws Exception {
+        return fixture.perform(request("/request-param-map"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse modelAttributeV1() throws Exception {
+        return fixture.perform(request("/model-attribute-v1"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse modelAttributeV2() throws Exception {
+        return fixture.perform(request("/model-attribute-v2"));
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setParameter("username", "hello");
+        request.setParameter("age", "20");
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.annotation.RequestParamMapMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import thespeace.springmvc.binder.RequestParameters;
+import thespeace.springmvc.binder.RequestParametersMethodArgumentResolver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h2>{@code @RequestParam Map} : 복사 vs 읽기 전용 뷰</h2>
+ * {@code params}개의 파라미터가 있는 요청에서 맵 파라미터를 리졸버로 만들고, 그중 두 개({@code username}, {@code age})를 읽는다.
+ * <ul>
+ *     <li>copyMap, copyMultiValueMap : 기본 {@code RequestParamMapMethodArgumentResolver} (파라미터 수만큼 복사)</li>
+ *     <li>viewMap, viewMultiValueMap : {@link RequestParametersMethodArgumentResolver} (복사 없음)</li>
+ *     <li>requestParameters : {@link RequestParameters#getInt(String, int)}로 박싱 없이 int 변환</li>
+ *     <li>파라미터는 각각 값 2개를 가진다. (기본 {@code Map}은 첫 번째 값만 남긴다)</li>
+ * </ul>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=RequestParameterMapBenchmark}
+ */
+@State(Scope.Benchmark)
+public class RequestParameterMapBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int params;
+
+    private HandlerMethodArgumentResolver copy;
+    private HandlerMethodArgumentResolver view;
+    private MethodParameter mapParameter;
+    private MethodParameter multiValueMapParameter;
+    private MethodParameter requestParametersParameter;
+    private ServletWebRequest webRequest;
+
+    public static class MapHandler {
+        public String map(@RequestParam Map<String, Object> paramMap) {
+            return "ok";
+        }
+
+        public String multiValueMap(@RequestParam MultiValueMap<String, String> paramMap) {
+            return "ok";
+        }
+
+        public String requestParameters(RequestParameters params) {
+            return "ok";
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        copy = new RequestParamMapMethodArgumentResolver();
+        view = new RequestParametersMethodArgumentResolver(true);
+        mapParameter = new MethodParameter(MapHandler.class.getMethod("map", Map.class), 0);
+        multiValueMapParameter = new MethodParameter(MapHandler.class.getMethod("multiValueMap", MultiValueMap.class), 0);
+        requestParametersParameter = new MethodParameter(MapHandler.class.getMethod("requestParameters", RequestParameters.class), 0);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/request-param-map");
+        request.addParameter("username", "hello");
+        request.addParameter("age", "20");
+        for (int i = 2; i < params; i++) {
+            request.addParameter("param" + i, "value" + i, "other" + i);
+        }
+        webRequest = new ServletWebRequest(request);
+
+        if (!view.supportsParameter(mapParameter) || !view.supportsParameter(multiValueMapParameter)) {
+            throw new IllegalStateException("map view not supported");
+        }
+    }
+
+    @Benchmark
+    public int copyMap() throws Exception {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) copy.resolveArgument(mapParameter, new ModelAndViewContainer(), webRequest, null);
+        return ((String) map.get("username")).length() + Integer.parseInt((String) map.get("age"));
+    }
+
+    @Benchmark
+    public int viewMap() throws Exception {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) view.resolveArgument(mapParameter, new ModelAndViewContainer(), webRequest, null);
+        return ((String) map.get("username")).length() + Integer.parseInt((String) map.get("age"));
+    }
+
+    @Benchmark
+    public int copyMultiValueMap() throws Exception {
+        @SuppressWarnings("unchecked")
+        MultiValueMap<String, String> map = (MultiValueMap<String, String>)
+                copy.resolveArgument(multiValueMapParameter, new ModelAndViewContainer(), webRequest, null);
+        List<String> username = map.get("username");
+        return username.get(0).length() + Integer.parseInt(map.getFirst("age"));
+    }
+
+    @Benchmark
+    public int viewMultiValueMap() throws Exception {
+        @SuppressWarnings("unchecked")
+        MultiValueMap<String, String> map = (MultiValueMap<String, String>)
+                view.resolveArgument(multiValueMapParameter, new ModelAndViewContainer(), webRequest, null);
+        List<String> username = map.get("username");
+        return username.get(0).length() + Integer.parseInt(map.getFirst("age"));
+    }
+
+    @Benchmark
+    public int requestParameters() throws Exception {
+        RequestParameters parameters = (RequestParameters)
+                view.resolveArgument(requestParametersParameter, new ModelAndViewContainer(), webRequest, null);
+        return parameters.getFirst("username").length() + parameters.getInt("age", -1);
+    }
+}
@@ -0,0 +1,109 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import thespeace.springmvc.view.compiled.CompiledTemplate;
+import thespeace.springmvc.view.compiled.CompiledViewResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * <h2>타임리프 vs 빌드 시점 컴파일 템플릿</h2>
+ * {@code templates/response/hello.html}을 같은 모델로 렌더링해서 UTF-8 바이트로 쓰는 비용을 비교한다.
+ * <ul>
+ *     <li>thymeleaf, compiled : 준비가 끝난 상태(템플릿 캐시 적중)의 렌더링 지연 시간</li>
+ *     <li>thymeleafStartup, compiledStartup : 엔진/리졸버 생성 + 첫 렌더링 (애플리케이션 시작 직후 비용, SingleShotTime)</li>
+ * </ul>
+ * 두 방식의 출력이 다르면 {@code @Setup}에서 알려준다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=TemplateRenderBenchmark}
+ */
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+    private static final String VIEW_NAME = "response/hello";
+    private static final Map<String, Object> MODEL = Map.of("data", "hello!");
+
+    private SpringTemplateEngine templateEngine;
+    private CompiledTemplate compiledTemplate;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+    @Setup
+    public void setUp() throws IOException {
+        templateEngine = templateEngine();
+        compiledTemplate = ServiceLoader.load(CompiledTemplate.class).stream()
+                .map(ServiceLoader.Provider::get)
+                .filter(template -> template.viewName().equals(VIEW_NAME))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("compiled template not found: " + VIEW_NAME));
+
+        String thymeleafOutput = new String(thymeleaf(), StandardCharsets.UTF_8);
+        String compiledOutput = new String(compiled(), StandardCharsets.UTF_8);
+        if (!thymeleafOutput.equals(compiledOutput)) {
+            System.out.printf("%n[template] output differs%n--- thymeleaf%n%s%n--- compiled%n%s%n",
+                    thymeleafOutput, compiledOutput);
+        }
+    }
+
+    @Benchmark
+    public byte[] thymeleaf() throws IOException {
+        return renderThymeleaf(templateEngine);
+    }
+
+    @Benchmark
+    public byte[] compiled() throws IOException {
+        out.reset();
+        compiledTemplate.render(MODEL, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public byte[] thymeleafStartup() throws IOException {
+        return renderThymeleaf(templateEngine());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public View compiledStartup() {
+        return new CompiledViewResolver(getClass().getClassLoader(), 0).resolveViewName(VIEW_NAME, Locale.KOREA);
+    }
+
+    private byte[] renderThymeleaf(SpringTemplateEngine engine) throws IOException {
+        out.reset();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        engine.process(VIEW_NAME, new Context(Locale.KOREA, MODEL), writer);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    /**
+     * 스프링 부트 기본 설정(spring.thymeleaf.prefix, suffix)과 같은 템플릿 엔진
+     */
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(templateResolver);
+        return engine;
+    }
+}
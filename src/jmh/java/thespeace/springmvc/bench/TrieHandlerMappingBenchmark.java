@@ -0,0 +1,129 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import thespeace.springmvc.mapping.TrieRequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+/**
+ * <h2>핸들러 조회 : 기본 RequestMappingHandlerMapping vs 트라이</h2>
+ * {@code routes}개의 합성 매핑을 등록하고, 무작위로 고른 요청 경로로 핸들러를 찾는 비용을 비교한다.
+ * <ul>
+ *     <li>매핑 모양 : {@code /api/resource{n}}, {@code /api/resource{n}/{id}},
+ *         {@code /api/resource{n}/{id}/items/{itemId}}를 번갈아 등록한다.</li>
+ *     <li>10개 중 1개는 {@code params} 조건을 붙여서, 트라이가 기본 구현으로 넘기는 경로도 섞는다.</li>
+ *     <li>요청 객체는 {@code @Setup}에서 미리 만들고 경로도 미리 파싱해두므로, 조회 비용만 측정된다.</li>
+ * </ul>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=TrieHandlerMappingBenchmark}
+ */
+@State(Scope.Benchmark)
+public class TrieHandlerMappingBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({"1000", "10000"})
+    private int routes;
+
+    private StaticWebApplicationContext context;
+    private RequestMappingHandlerMapping standardMapping;
+    private RequestMappingHandlerMapping trieMapping;
+    private MockHttpServletRequest[] requests;
+    private int next;
+
+    public static class SyntheticHandler {
+        public String handle() {
+            return "ok";
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new StaticWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.refresh();
+
+        standardMapping = createMapping(new RequestMappingHandlerMapping());
+        trieMapping = createMapping(new TrieRequestMappingHandlerMapping());
+
+        Random random = new Random(42);
+        requests = new MockHttpServletRequest[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = request(random.nextInt(routes));
+        }
+        //트라이는 registerMapping 이후 첫 조회에서 만들어지므로 측정 전에 한 번 조회한다.
+        trieMapping.getHandler(requests[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HandlerExecutionChain standard() throws Exception {
+        return standardMapping.getHandler(nextRequest());
+    }
+
+    @Benchmark
+    public HandlerExecutionChain trie() throws Exception {
+        return trieMapping.getHandler(nextRequest());
+    }
+
+    private MockHttpServletRequest nextRequest() {
+        return requests[next++ & (REQUESTS - 1)];
+    }
+
+    private RequestMappingHandlerMapping createMapping(RequestMappingHandlerMapping mapping) throws Exception {
+        mapping.setApplicationContext(context);
+        mapping.afterPropertiesSet();
+
+        SyntheticHandler handler = new SyntheticHandler();
+        Method method = SyntheticHandler.class.getMethod("handle");
+        for (int i = 0; i < routes; i++) {
+            RequestMappingInfo.Builder builder = RequestMappingInfo.paths(pattern(i))
+                    .methods(RequestMethod.GET)
+                    .options(mapping.getBuilderConfiguration());
+            if (i % 10 == 9) {
+                builder.params("debug");
+            }
+            mapping.registerMapping(builder.build(), handler, method);
+        }
+        return mapping;
+    }
+
+    private static String pattern(int route) {
+        return switch (route % 3) {
+            case 0 -> "/api/resource" + route;
+            case 1 -> "/api/resource" + route + "/{id}";
+            default -> "/api/resource" + route + "/{id}/items/{itemId}";
+        };
+    }
+
+    private static MockHttpServletRequest request(int route) {
+        String uri = switch (route % 3) {
+            case 0 -> "/api/resource" + route;
+            case 1 -> "/api/resource" + route + "/1";
+            default -> "/api/resource" + route + "/1/items/2";
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (route % 10 == 9) {
+            request.setParameter("debug", "true");
+        }
+        ServletRequestPathUtils.parseAndCache(request);
+        return request;
+    }
+}
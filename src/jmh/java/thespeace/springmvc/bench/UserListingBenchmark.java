@@ -0,0 +1,65 @@
+package thespeace.springmvc.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import thespeace.springmvc.basic.response.JsonRecordStreamWriter;
+import thespeace.springmvc.user.UserRecord;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * <h2>회원 목록 응답 : 전체 List 직렬화 vs 스트리밍</h2>
+ * 저장소와 같은 {@link ConcurrentSkipListMap}에서 회원 {@code users}명을 꺼내 JSON 으로 쓴다. 출력은 버린다. (네트워크 비용 제외)
+ * <ul>
+ *     <li>fullList : {@code new ArrayList<>(values())}로 복사한 뒤 {@code ObjectMapper.writeValue(out, list)}</li>
+ *     <li>streamArray, streamNdjson : {@link JsonRecordStreamWriter}로 이터레이터에서 하나씩 직렬화</li>
+ * </ul>
+ * {@code gc.alloc.rate.norm}을 보면 fullList 는 회원 수에 비례해서 늘고(List 복사), 스트리밍은 레코드당 할당만 남는다.<br>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=UserListingBenchmark}
+ */
+@State(Scope.Benchmark)
+public class UserListingBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int users;
+
+    private final ConcurrentSkipListMap<Long, UserRecord> store = new ConcurrentSkipListMap<>();
+    private ObjectMapper objectMapper;
+    private JsonRecordStreamWriter<UserRecord> arrayWriter;
+    private JsonRecordStreamWriter<UserRecord> ndjsonWriter;
+
+    @Setup
+    public void setUp() {
+        for (long i = 1; i <= users; i++) {
+            store.put(i, new UserRecord(i, "user" + i, (int) (i % 100)));
+        }
+        objectMapper = new ObjectMapper();
+        arrayWriter = new JsonRecordStreamWriter<>(objectMapper, UserRecord.class, JsonRecordStreamWriter.Format.ARRAY, 256);
+        ndjsonWriter = new JsonRecordStreamWriter<>(objectMapper, UserRecord.class, JsonRecordStreamWriter.Format.NDJSON, 256);
+    }
+
+    @Benchmark
+    public int fullList() throws IOException {
+        List<UserRecord> list = new ArrayList<>(store.values());
+        objectMapper.writeValue(OutputStream.nullOutputStream(), list);
+        return list.size();
+    }
+
+    @Benchmark
+    public long streamArray() throws IOException {
+        return arrayWriter.write(store.values().iterator(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long streamNdjson() throws IOException {
+        return ndjsonWriter.write(store.values().iterator(), OutputStream.nullOutputStream());
+    }
+}
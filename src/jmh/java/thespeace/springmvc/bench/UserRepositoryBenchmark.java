@@ -0,0 +1,88 @@
+package thespeace.springmvc.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import thespeace.springmvc.user.MappedUserLog;
+import thespeace.springmvc.user.UserRecord;
+import thespeace.springmvc.user.UserRepository;
+import thespeace.springmvc.user.UserWriteBehind;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <h2>회원 저장소 쓰기 처리량</h2>
+ * 64개 쓰레드가 동시에 회원을 등록/수정한다. (톰캣 요청 쓰레드가 동시에 쓰는 상황)
+ * 결과의 ops/s 합계가 초당 쓰기 수다.
+ * <ul>
+ *     <li>sync=true : 매 쓰기가 디스크 기록까지 기다린다. 쓰레드 수가 많을수록 {@code force()} 한 번에 묶이는 쓰기가 많아진다.</li>
+ *     <li>sync=false : 매핑된 메모리에 쓰고 바로 반환한다. (로그 추가 + 맵 변경 비용)</li>
+ *     <li>writeBehind=OFF : 변경마다 로그에 바로 쓴다. ACK_ON_FLUSH, ACK_ON_ENQUEUE : {@link UserWriteBehind}로 모아서 묶음으로 쓴다.
+ *         ACK_ON_FLUSH 는 maxDelay=0(그룹 커밋), ACK_ON_ENQUEUE 는 5ms.
+ *         update 는 같은 회원 1만 명을 돌아가며 바꾸므로 묶음 안에서 합쳐지는 변경이 생긴다.</li>
+ *     <li>로그 파일은 임시 디렉터리에 만들고 끝나면 지운다. 디스크 종류(SSD, 네트워크 디스크)에 따라 sync=true 결과가 크게 달라진다.</li>
+ * </ul>
+ * 실행 : {@code ./gradlew jmh -PjmhIncludes=UserRepositoryBenchmark}
+ */
+@State(Scope.Benchmark)
+@Threads(64)
+public class UserRepositoryBenchmark {
+
+    @Param({"true", "false"})
+    private boolean sync;
+
+    @Param({"OFF", "ACK_ON_FLUSH", "ACK_ON_ENQUEUE"})
+    private String writeBehind;
+
+    private Path directory;
+    private MappedUserLog userLog;
+    private UserWriteBehind userWriteBehind;
+    private UserRepository repository;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("user-log-bench");
+        userLog = new MappedUserLog(directory.resolve("users.log"), 64 << 20, sync);
+        if (!writeBehind.equals("OFF")) {
+            UserWriteBehind.AckMode ackMode = UserWriteBehind.AckMode.valueOf(writeBehind);
+            long maxDelayMillis = ackMode == UserWriteBehind.AckMode.ACK_ON_ENQUEUE ? 5 : 0;
+            userWriteBehind = new UserWriteBehind(userLog, ackMode, 1024, 65536, maxDelayMillis, 5000);
+        }
+        repository = new UserRepository(userLog, userWriteBehind, Long.MAX_VALUE);
+        for (int i = 0; i < 10_000; i++) {
+            repository.create("user" + i, 20);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (userWriteBehind != null) {
+            userWriteBehind.close();
+        }
+        userLog.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public UserRecord create() {
+        return repository.create("userA", 20);
+    }
+
+    @Benchmark
+    public Object update() {
+        long userId = ThreadLocalRandom.current().nextLong(1, 10_001);
+        return repository.update(userId, null, ThreadLocalRandom.current().nextInt(100));
+    }
+}
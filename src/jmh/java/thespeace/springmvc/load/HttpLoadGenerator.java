@@ -0,0 +1,166 @@
+package thespeace.springmvc.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * <h2>HTTP 부하 생성기</h2>
+ * 실행 중인 서버에 {@code concurrency} 개의 클라이언트가 쉬지 않고 요청을 보내고(closed loop),
+ * 처리량(req/s)과 지연 시간 분포(p50, p90, p99, p99.9, max)를 출력한다.
+ * <ul>
+ *     <li>클라이언트는 가상 쓰레드로 실행하므로, 클라이언트 쪽 쓰레드 수가 병목이 되지 않는다.</li>
+ *     <li>{@code paths}에 여러 경로를 {@code ,}로 주면 클라이언트마다 순서대로 돌아가며 요청한다. (정상/비정상 요청 섞기)</li>
+ *     <li>{@code warmup} 동안의 요청은 결과에서 제외한다.</li>
+ * </ul>
+ * 실행 : {@code ./gradlew loadTest -Pload.paths=/blocking?millis=100 -Pload.concurrency=400 -Pload.duration=30}
+ */
+public class HttpLoadGenerator {
+
+    record Options(String target, List<String> paths, int concurrency, Duration duration, Duration warmup) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (arg.startsWith("--") && separator > 2) {
+                    values.put(arg.substring(2, separator), arg.substring(separator + 1));
+                }
+            }
+            return new Options(
+                    values.getOrDefault("target", "http://localhost:8080"),
+                    List.of(values.getOrDefault("paths", "/blocking?millis=100").split(",")),
+                    Integer.parseInt(values.getOrDefault("concurrency", "400")),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))));
+        }
+    }
+
+    /**
+     * 클라이언트 하나의 결과. 클라이언트마다 따로 기록하고 마지막에 합치므로 측정 중 동기화가 없다.
+     */
+    static final class WorkerResult {
+        long[] latencies = new long[1024];
+        int count;
+        long errors;
+        final Map<Integer, Long> statuses = new HashMap<>();
+
+        void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statuses.merge(status, 1L, Long::sum);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        System.out.printf("[load] target=%s, paths=%s, concurrency=%d, duration=%ds, warmup=%ds%n",
+                options.target(), options.paths(), options.concurrency(),
+                options.duration().toSeconds(), options.warmup().toSeconds());
+
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : options.paths()) {
+            requests.add(HttpRequest.newBuilder(URI.create(options.target() + path.trim()))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build());
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+
+            long start = System.nanoTime();
+            long measureFrom = start + options.warmup().toNanos();
+            long end = measureFrom + options.duration().toNanos();
+
+            List<Future<WorkerResult>> futures = new ArrayList<>();
+            for (int i = 0; i < options.concurrency(); i++) {
+                int offset = i;
+                futures.add(executor.submit(() -> run(client, requests, offset, measureFrom, end)));
+            }
+
+            List<WorkerResult> results = new ArrayList<>();
+            for (Future<WorkerResult> future : futures) {
+                results.add(future.get());
+            }
+            report(results, options.duration());
+        }
+    }
+
+    private static WorkerResult run(HttpClient client, List<HttpRequest> requests, int offset,
+                                    long measureFrom, long end) {
+        WorkerResult result = new WorkerResult();
+        for (int i = offset; ; i++) {
+            long begin = System.nanoTime();
+            if (begin >= end) {
+                return result;
+            }
+            HttpRequest request = requests.get(i % requests.size());
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long finished = System.nanoTime();
+                if (begin >= measureFrom && finished <= end) {
+                    result.record(finished - begin, response.statusCode());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            } catch (Exception e) {
+                if (begin >= measureFrom) {
+                    result.errors++;
+                }
+            }
+        }
+    }
+
+    private static void report(List<WorkerResult> results, Duration duration) {
+        int total = 0;
+        long errors = 0;
+        Map<Integer, Long> statuses = new TreeMap<>();
+        for (WorkerResult result : results) {
+            total += result.count;
+            errors += result.errors;
+            result.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+
+        long[] latencies = new long[total];
+        int position = 0;
+        for (WorkerResult result : results) {
+            System.arraycopy(result.latencies, 0, latencies, position, result.count);
+            position += result.count;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("[load] requests=%d, errors=%d, throughput=%.1f req/s%n",
+                total, errors, total / (double) duration.toSeconds());
+        System.out.printf("[load] latency p50=%.2fms, p90=%.2fms, p99=%.2fms, p99.9=%.2fms, max=%.2fms%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99),
+                percentile(latencies, 99.9), percentile(latencies, 100));
+        System.out.printf("[load] status=%s%n", statuses);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
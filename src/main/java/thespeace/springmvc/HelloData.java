@@ -1,13 +1,23 @@
 package thespeace.springmvc;
 
 import lombok.Data;
+import thespeace.springmvc.codegen.GenerateBinder;
+import thespeace.springmvc.codegen.GenerateJsonCodec;
 
 /**
  * <h2>요청 파라미터를 바인딩 받을 객체</h2>
  * {@link Data}
  * -@Getter , @Setter , @ToString , @EqualsAndHashCode , @RequiredArgsConstructor 를 자동으로 적용해준다.
+ * <br>
+ * {@link GenerateJsonCodec}
+ * -컴파일 시점에 HelloDataJsonCodec(리플렉션 없는 JSON reader/writer)을 생성한다.
+ * <br>
+ * {@link GenerateBinder}
+ * -컴파일 시점에 HelloDataBinder(리플렉션 없는 @ModelAttribute 바인더)를 생성한다.
  */
 @Data
+@GenerateJsonCodec
+@GenerateBinder
 public class HelloData {
 
     private String username;
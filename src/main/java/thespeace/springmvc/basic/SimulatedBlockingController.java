@@ -0,0 +1,31 @@
+package thespeace.springmvc.basic;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * <h1>블로킹 호출 시뮬레이션</h1>
+ * DB 조회, 외부 API 호출처럼 쓰레드가 응답을 기다리며 멈춰 있는 상황을 {@link Thread#sleep(long)}으로 흉내낸다.
+ * <ul>
+ *     <li>플랫폼 쓰레드 : 톰캣 쓰레드 풀 크기(기본 200)만큼만 동시에 처리할 수 있다. 나머지 요청은 대기한다.</li>
+ *     <li>가상 쓰레드({@code spring.threads.virtual.enabled=true}) : 블로킹 되는 동안 캐리어 쓰레드를 반납하므로
+ *         쓰레드 풀 크기에 묶이지 않는다.</li>
+ * </ul>
+ * 응답으로 요청을 처리한 쓰레드가 가상 쓰레드인지 돌려준다.
+ *
+ * @see <a href="http://localhost:8080/blocking?millis=100">test url</a>
+ */
+@Slf4j
+@RestController
+public class SimulatedBlockingController {
+
+    @GetMapping("/blocking")
+    public String blocking(@RequestParam(defaultValue = "100") long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        Thread thread = Thread.currentThread();
+        log.debug("blocking millis={}, thread={}", millis, thread);
+        return "ok virtual=" + thread.isVirtual();
+    }
+}
@@ -0,0 +1,16 @@
+package thespeace.springmvc.basic.request;
+
+/**
+ * <h2>대량 등록 결과</h2>
+ * @param records 읽은 레코드 수
+ * @param batches 핸들러에 전달된 배치 수
+ * @param elapsedMillis 바디를 모두 읽는데 걸린 시간
+ * @param recordsPerSecond 초당 처리 레코드 수
+ */
+public record BulkIngestResult(long records, long batches, long elapsedMillis, long recordsPerSecond) {
+
+    public static BulkIngestResult of(long records, long batches, long elapsedNanos) {
+        long recordsPerSecond = elapsedNanos == 0 ? 0 : records * 1_000_000_000L / elapsedNanos;
+        return new BulkIngestResult(records, batches, elapsedNanos / 1_000_000, recordsPerSecond);
+    }
+}
@@ -0,0 +1,77 @@
+package thespeace.springmvc.basic.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * <h2>JSON 레코드 스트리밍 읽기</h2>
+ * HTTP 메시지 바디 전체를 문자열로 복사하지 않고, {@link JsonParser}(토큰 단위 파서)로 스트림에서 레코드를 하나씩 읽는다.
+ * <ul>다음 두 형식을 모두 지원한다.
+ *     <li>NDJSON : {@code {"username":"a","age":1}\n{"username":"b","age":2}\n...}</li>
+ *     <li>JSON 배열 : {@code [{"username":"a","age":1}, {"username":"b","age":2}, ...]}</li>
+ * </ul>
+ * 읽은 레코드는 {@code batchSize} 개씩 묶어서 {@code batchConsumer}에 넘긴다.
+ * 배치 리스트는 재사용되므로 consumer 는 리스트를 보관하면 안 된다. 덕분에 바디 크기와 상관없이 메모리 사용량이 일정하다.
+ */
+public class JsonRecordBatchReader<T> {
+
+    private final ObjectReader reader;
+    private final int batchSize;
+
+    public JsonRecordBatchReader(ObjectMapper objectMapper, Class<T> type, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.reader = objectMapper.readerFor(type);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return 읽은 레코드 수
+     */
+    public long read(InputStream inputStream, Consumer<List<T>> batchConsumer) throws IOException {
+        List<T> batch = new ArrayList<>(batchSize);
+        long count = 0;
+
+        try (JsonParser parser = reader.createParser(inputStream)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw MismatchedInputException.from(parser, reader.getValueType(),
+                            "Expected JSON object but was " + token);
+                }
+                batch.add(reader.readValue(parser));
+                count++;
+
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    batch.clear();
+                }
+                token = parser.nextToken();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(batch);
+        }
+        return count;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -5,7 +5,9 @@ import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import thespeace.springmvc.HelloData;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -29,7 +32,16 @@ import java.nio.charset.StandardCharsets;
 public class RequestBodyJsonController {
 
     //문자로 된 JSON 데이터를 Jackson 라이브러리인 objectMapper 를 사용해서 자바 객체로 변환.
-    private ObjectMapper objectMapper = new ObjectMapper();
+    //new ObjectMapper() 대신 스프링 부트가 설정한 ObjectMapper 를 주입받아서 HTTP 메시지 컨버터와 같은 설정을 공유한다.
+    private final ObjectMapper objectMapper;
+
+    private final JsonRecordBatchReader<HelloData> bulkReader;
+
+    public RequestBodyJsonController(ObjectMapper objectMapper,
+                                     @Value("${thespeace.bulk.batch-size:1000}") int bulkBatchSize) {
+        this.objectMapper = objectMapper;
+        this.bulkReader = new JsonRecordBatchReader<>(objectMapper, HelloData.class, bulkBatchSize);
+    }
 
     /**
      * <h2>HttpServletRequest를 사용해서 직접 HTTP 메시지 바디에서 데이터를 읽어와서, 문자로 변환</h2>
@@ -124,6 +136,10 @@ public class RequestBodyJsonController {
      *     <li>HttpMessageConverter 사용 -> MappingJackson2HttpMessageConverter 적용(Accept:
      *     application/json)</li>
      * </ul>
+     * <ul>바이너리 포맷(서버 간 통신)
+     *     <li>Content-Type, Accept 를 application/cbor 또는 application/x-jackson-smile 로 보내면
+     *     같은 핸들러에서 CBOR, Smile 컨버터가 선택된다. ({@code BinaryFormatConfig})</li>
+     * </ul>
      * @see <a href="http://localhost:8080/request-body-json-v5">test url</a>
      */
     @ResponseBody
@@ -132,6 +148,34 @@ public class RequestBodyJsonController {
         log.info("username={}, age={}", data.getUsername(), data.getAge());
         return data;
     }
+
+    /**
+     * <h2>대량 등록 - 스트리밍 NDJSON / JSON 배열</h2>
+     * 수만 건의 레코드를 한 번에 받는 경우, v1, v2 처럼 바디 전체를 문자열로 복사하면 바디 크기만큼 메모리를 사용한다.
+     * <ul>
+     *     <li>{@link JsonRecordBatchReader}로 {@code InputStream}에서 레코드를 하나씩 읽는다.</li>
+     *     <li>읽은 레코드는 {@code thespeace.bulk.batch-size} 개씩 묶어서 처리한다.</li>
+     *     <li>content-type : application/x-ndjson 또는 application/json(배열)</li>
+     * </ul>
+     * 응답으로 처리한 레코드 수와 초당 처리량(records/s)을 반환한다.
+     * @see <a href="http://localhost:8080/request-body-json-bulk">test url</a>
+     */
+    @ResponseBody
+    @PostMapping(value = "/request-body-json-bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public BulkIngestResult requestBodyJsonBulk(InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+        long[] batches = {0};
+
+        long records = bulkReader.read(inputStream, batch -> {
+            batches[0]++;
+            log.debug("batch={}, size={}, first username={}", batches[0], batch.size(), batch.get(0).getUsername());
+        });
+
+        BulkIngestResult result = BulkIngestResult.of(records, batches[0], System.nanoTime() - start);
+        log.info("bulk records={}, batches={}, records/s={}", result.records(), result.batches(), result.recordsPerSecond());
+        return result;
+    }
 }
 
 /*
@@ -58,6 +58,7 @@ public class RequestHeaderController {
      * @param cookie 특정 쿠키를 조회한다. <br> 속성 : 1. 필수 값 여부: {@code required}, 2. 기본 값: {@code defaultValue}
      *
      * @see <a href="http://localhost:8080/headers">test url</a>
+     * @see thespeace.springmvc.header.LazyHeaderConfig 헤더 맵, 쿠키를 복사 없이 지연 조회
      */
     @RequestMapping("/headers")
     public String headers(HttpServletRequest request,
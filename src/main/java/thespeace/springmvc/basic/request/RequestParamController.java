@@ -3,12 +3,18 @@ package thespeace.springmvc.basic.request;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import thespeace.springmvc.HelloData;
+import thespeace.springmvc.binder.BinderSupport;
+import thespeace.springmvc.binder.InvalidRequestParameterException;
+import thespeace.springmvc.binder.RequestParameters;
+import thespeace.springmvc.form.FormFields;
 
 import java.io.IOException;
 import java.util.Map;
@@ -52,6 +58,40 @@ public class RequestParamController {
         response.getWriter().write("ok");
     }
 
+    /**
+     * <h2>HTML Form 본문을 스트리밍으로 읽기 - FormFields</h2>
+     * {@code hello-form.html}의 POST 요청({@code application/x-www-form-urlencoded})은 이 핸들러가 처리한다.
+     * {@code request.getParameter()}는 본문 전체를 파라미터 맵으로 만든 뒤 조회하지만,
+     * {@link FormFields}는 본문을 읽으면서 필드를 하나씩 넘겨준다. (큰 폼도 필드 하나 크기의 메모리만 사용)
+     * <ul>
+     *     <li>필드 하나가 {@code thespeace.form.max-field-size}를 넘거나, 필드 수가 {@code thespeace.form.max-fields}를 넘으면
+     *         남은 본문을 읽지 않고 413 응답</li>
+     *     <li>같은 핸들러에서 {@code request.getParameter()}, {@code @RequestParam}을 같이 쓰면 안 된다.</li>
+     * </ul>
+     * @see <a href="http://localhost:8080/basic/hello-form.html">HTML form test url</a>
+     */
+    @PostMapping(value = "/request-param-v1", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public void requestParamV1Form(FormFields form, HttpServletResponse response) throws IOException {
+        String username = null;
+        int age = 0;
+        while (form.next()) {
+            switch (form.name()) {
+                case "username" -> username = form.value();
+                case "age" -> {
+                    if (!BinderSupport.isInt(form.value())) {
+                        throw new InvalidRequestParameterException("age", "int");
+                    }
+                    age = BinderSupport.parseInt(form.value());
+                }
+                default -> {
+                }
+            }
+        }
+        log.info("username={}, age={}, fields={}", username, age, form.count());
+
+        response.getWriter().write("ok");
+    }
+
     /**
      * @param memberName @RequestParam 사용
      * @param memberAge 파라미터 이름으로 바인딩
@@ -143,6 +183,24 @@ public class RequestParamController {
         return "ok";
     }
 
+    /**
+     * <h2>파라미터를 복사 없이 조회하기 - RequestParameters</h2>
+     * @param params 요청 파라미터 읽기 전용 뷰 (MultiValueMap)
+     * <ul>
+     *     <li>{@code params.get("userIds")} : 값이 여러 개여도 모두 조회된다.</li>
+     *     <li>{@code params.getInt("age", -1)} : 박싱 없이 int 로 변환한다. 형식이 틀리면 400 응답</li>
+     * </ul>
+     *
+     * @see RequestParameters
+     * @see <a href="http://localhost:8080/request-param-map-v2?username=hello&age=20&userIds=id1&userIds=id2">test url</a>
+     */
+    @ResponseBody
+    @RequestMapping("/request-param-map-v2")
+    public String requestParamMapV2(RequestParameters params) {
+        log.info("username={}, age={}, userIds={}", params.getFirst("username"), params.getInt("age", -1), params.get("userIds"));
+        return "ok";
+    }
+
     /**
      * <h2>@ModelAttribute 사용</h2>
      * 스프링MVC는 @ModelAttribute 가 있으면 다음을 실행
@@ -1,11 +1,33 @@
 package thespeace.springmvc.basic.requestmapping;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import thespeace.springmvc.HelloData;
+import thespeace.springmvc.basic.response.JsonRecordStreamWriter;
+import thespeace.springmvc.coalesce.CoalesceRequests;
+import thespeace.springmvc.user.MappedUserLog;
+import thespeace.springmvc.user.UserPage;
+import thespeace.springmvc.user.UserRecord;
+import thespeace.springmvc.user.UserRepository;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
 /**
  * <h1>요청 매핑 - API 예시</h1>
- * 회원 관리를 HTTP API 매핑 예시(실제 데이터가 넘어가는 부분은 생략, URL 매핑만)
+ * 회원 관리를 HTTP API 매핑 예시
+ * <ul>
+ *     <li>회원은 {@link UserRepository}(메모리 + 메모리 맵 변경 로그)에 저장한다. 재시작해도 남아있다.</li>
+ *     <li>등록, 수정, 삭제 응답은 변경이 로그 파일에 기록된 뒤에 나간다. ({@code thespeace.user.log.sync=true})</li>
+ *     <li>변경은 지연 기록({@code UserWriteBehind})으로 모아서 묶음으로 기록한다.
+ *         {@code thespeace.user.write-behind.ack=ACK_ON_ENQUEUE}면 기록을 기다리지 않고 응답한다.</li>
+ * </ul>
  *
  * @see <a href="https://web.postman.co/">post man</a>
  */
@@ -13,43 +35,135 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/mapping/users")
 public class MappingClassController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_FLUSH_EVERY = 256;
+
+    private final UserRepository userRepository;
+    private final JsonRecordStreamWriter<UserRecord> ndjsonWriter;
+    private final JsonRecordStreamWriter<UserRecord> arrayWriter;
+
+    public MappingClassController(UserRepository userRepository, ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.ndjsonWriter = new JsonRecordStreamWriter<>(objectMapper, UserRecord.class,
+                JsonRecordStreamWriter.Format.NDJSON, STREAM_FLUSH_EVERY);
+        this.arrayWriter = new JsonRecordStreamWriter<>(objectMapper, UserRecord.class,
+                JsonRecordStreamWriter.Format.ARRAY, STREAM_FLUSH_EVERY);
+    }
+
     /**
      * <h2>회원 목록 조회 : GET /mapping/users</h2>
+     * 커서 페이지네이션. 응답의 {@code nextCursor}로 다음 페이지를 요청한다. ex) {@code GET /mapping/users?cursor=100&limit=100}
+     * <ul>
+     *     <li>{@code cursor} : 이 userId 다음 회원부터 조회, 없으면 처음부터</li>
+     *     <li>{@code limit} : 1 ~ {@value #MAX_PAGE_SIZE}, 기본 {@value #DEFAULT_PAGE_SIZE}</li>
+     * </ul>
      */
     @GetMapping
-    public String users() {
-        return "get users";
+    public UserPage users(@RequestParam(required = false) Long cursor,
+                          @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        return userRepository.findPage(cursor != null ? cursor : 0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * <h2>회원 목록 스트리밍 : GET /mapping/users?stream=ndjson</h2>
+     * 전체 목록(또는 {@code cursor} 다음부터 끝까지)을 한 줄에 회원 하나씩 NDJSON 으로 보낸다.
+     * 회원을 저장소에서 하나씩 꺼내서 바로 직렬화하므로, 회원 수와 상관없이 메모리 사용량과 첫 바이트 시간이 일정하다.
+     *
+     * @see JsonRecordStreamWriter
+     */
+    @GetMapping(params = "stream=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> usersNdjson(@RequestParam(required = false) Long cursor) {
+        return stream(cursor, ndjsonWriter);
+    }
+
+    /**
+     * <h2>회원 목록 스트리밍 : GET /mapping/users?stream=array</h2>
+     * {@code stream=ndjson}과 같지만 하나의 JSON 배열로 보낸다. (NDJSON 을 읽지 못하는 클라이언트용)
+     */
+    @GetMapping(params = "stream=array", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> usersArray(@RequestParam(required = false) Long cursor) {
+        return stream(cursor, arrayWriter);
+    }
+
+    /**
+     * <h2>나이 범위 조회 : GET /mapping/users/by-age?min=20&amp;max=29</h2>
+     * 나이 인덱스({@code AgeIndex})로 찾으므로 전체 회원 수와 상관없이 결과 수만큼만 읽는다. (age, userId) 순서.
+     * <ul>
+     *     <li>{@code min}, {@code max} : 나이 범위(둘 다 포함), {@code min > max}면 빈 목록</li>
+     *     <li>{@code cursor} : 응답의 {@code nextCursor} 그대로, userId 가 아니다.</li>
+     *     <li>{@code limit} : 1 ~ {@value #MAX_PAGE_SIZE}, 기본 {@value #DEFAULT_PAGE_SIZE}</li>
+     * </ul>
+     */
+    @GetMapping("/by-age")
+    public UserPage usersByAge(@RequestParam int min,
+                               @RequestParam int max,
+                               @RequestParam(required = false) Long cursor,
+                               @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        return userRepository.findByAge(min, max, cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
     }
 
     /**
      * <h2>회원 등록 : POST /mapping/users</h2>
+     * 요청 : {@code {"username":"userA","age":20}}, 응답 : 201 Created, {@code Location: /mapping/users/{userId}}
      */
     @PostMapping
-    public String addUser() {
-        return "post user";
+    public ResponseEntity<UserRecord> addUser(@RequestBody HelloData helloData) {
+        if (!isValidUsername(helloData.getUsername())) {
+            return ResponseEntity.badRequest().build();
+        }
+        UserRecord user = userRepository.create(helloData.getUsername(), helloData.getAge());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{userId}")
+                .buildAndExpand(user.userId())
+                .toUri();
+        return ResponseEntity.created(location).body(user);
     }
 
     /**
      * <h2>회원 조회 : GET /mapping/users/{userId}</h2>
+     * 같은 회원을 동시에 조회하면 조회와 직렬화를 한 번만 하고 응답 바이트를 나눠준다. ({@link CoalesceRequests})
      */
+    @CoalesceRequests
     @GetMapping("/{userId}")
-    public String findUser(@PathVariable String userId) {
-        return "get userId=" + userId;
+    public ResponseEntity<UserRecord> findUser(@PathVariable long userId) {
+        return ResponseEntity.of(userRepository.findById(userId));
     }
 
     /**
      * <h2>회원 수정 : PATCH /mapping/users/{userId}</h2>
+     * 보낸 파라미터만 바꾼다. ex) {@code PATCH /mapping/users/1?age=21}
      */
     @PatchMapping("/{userId}")
-    public String updateUser(@PathVariable String userId) {
-        return "update userId=" + userId;
+    public ResponseEntity<UserRecord> updateUser(@PathVariable long userId,
+                                                 @RequestParam(required = false) String username,
+                                                 @RequestParam(required = false) Integer age) {
+        if (username != null && !isValidUsername(username)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.of(userRepository.update(userId, username, age));
     }
 
     /**
      * <h2>회원 삭제 : DELETE /mapping/users/{userId}</h2>
      */
     @DeleteMapping("/{userId}")
-    public String deleteUser(@PathVariable String userId) {
-        return "delete userId=" + userId;
+    public ResponseEntity<Void> deleteUser(@PathVariable long userId) {
+        return userRepository.delete(userId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 응답 본문은 핸들러가 반환된 뒤 MVC 비동기 실행기에서 쓴다. (요청 쓰레드를 오래 붙잡지 않는다)
+     * 이터레이터는 그때 만들어지므로 스트리밍 시작 시점의 회원부터 보인다.
+     */
+    private ResponseEntity<StreamingResponseBody> stream(Long cursor, JsonRecordStreamWriter<UserRecord> writer) {
+        long after = cursor != null ? cursor : 0;
+        StreamingResponseBody body = outputStream -> writer.write(userRepository.iterateAfter(after), outputStream);
+        return ResponseEntity.ok(body);
+    }
+
+    private static boolean isValidUsername(String username) {
+        return StringUtils.hasText(username)
+                && username.getBytes(StandardCharsets.UTF_8).length <= MappedUserLog.MAX_USERNAME_BYTES;
     }
 }
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import thespeace.springmvc.coalesce.CoalesceRequests;
 
 @RestController
 public class MappingController {
@@ -66,9 +67,12 @@ public class MappingController {
      * </ul>
      * </p>
      * {@code @PathVariable("userId") String userId -> @PathVariable String userId}
+     * <p>
+     * 같은 userId 요청이 동시에 오면 {@link CoalesceRequests}로 한 번만 실행한다.
      *
      * @see <a href="http://localhost:8080/mapping/userA">test url</a>
      */
+    @CoalesceRequests
     @GetMapping("/mapping/{userId}")
     public String mappingPath(@PathVariable("userId") String data, @PathVariable String userId) {
         log.info("mappingPath userId={}", data);
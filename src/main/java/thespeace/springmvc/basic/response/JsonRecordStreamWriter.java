@@ -0,0 +1,81 @@
+package thespeace.springmvc.basic.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * <h2>JSON 레코드 스트리밍 쓰기</h2>
+ * {@code JsonRecordBatchReader}의 반대 방향. 전체 목록을 {@code List}로 만들지 않고, {@link Iterator}에서 레코드를 하나씩 꺼내
+ * {@link JsonGenerator}로 바로 직렬화한다.
+ * <ul>다음 두 형식을 지원한다.
+ *     <li>NDJSON : {@code {"userId":1,...}\n{"userId":2,...}\n...}</li>
+ *     <li>JSON 배열 : {@code [{"userId":1,...},{"userId":2,...},...]}</li>
+ * </ul>
+ * <ul>
+ *     <li>첫 번째 레코드를 쓴 직후 한 번, 그 뒤로는 {@code flushEvery} 개마다 {@code flush()}한다.
+ *         Content-Length 가 없으므로 flush 할 때마다 chunked 전송의 청크 하나가 나간다.</li>
+ *     <li>메모리 사용량은 JsonGenerator 버퍼와 레코드 하나뿐이므로 결과 크기와 상관없다.
+ *         첫 바이트가 나가는 시간도 전체 개수와 상관없다.</li>
+ *     <li>{@code FLUSH_AFTER_WRITE_VALUE}를 꺼서 레코드마다 flush(작은 청크)하지 않게 한다.</li>
+ *     <li>중간에 예외가 나면 그대로 던진다. 배열을 닫지({@code ]}) 않고 남은 버퍼도 내보내지 않는다.
+ *         닫힌 배열이 나가면 클라이언트는 200 응답의 잘린 목록을 온전한 목록으로 받는다.</li>
+ *     <li>{@code outputStream}은 닫지 않는다. 스트림의 주인(서블릿 응답, {@code StreamingResponseBody} 처리기)이 닫는다.</li>
+ * </ul>
+ */
+public class JsonRecordStreamWriter<T> {
+
+    public enum Format {
+        NDJSON, ARRAY
+    }
+
+    private final ObjectWriter writer;
+    private final Format format;
+    private final int flushEvery;
+
+    public JsonRecordStreamWriter(ObjectMapper objectMapper, Class<T> type, Format format, int flushEvery) {
+        if (flushEvery <= 0) {
+            throw new IllegalArgumentException("flushEvery must be positive: " + flushEvery);
+        }
+        this.writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.format = format;
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * @return 쓴 레코드 수
+     */
+    public long write(Iterator<? extends T> records, OutputStream outputStream) throws IOException {
+        long count = 0;
+        JsonGenerator generator = writer.createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        //try-with-resources 를 쓰지 않는다. 예외가 났을 때 close()가 남은 버퍼를 내보내지 않도록 성공했을 때만 닫는다.
+        if (format == Format.ARRAY) {
+            generator.writeStartArray();
+        } else {
+            //루트 값 사이에 기본으로 들어가는 공백 대신 줄바꿈만 쓴다.
+            generator.setRootValueSeparator(null);
+        }
+        while (records.hasNext()) {
+            writer.writeValue(generator, records.next());
+            if (format == Format.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            count++;
+            if (count == 1 || count % flushEvery == 0) {
+                generator.flush();
+            }
+        }
+        if (format == Format.ARRAY) {
+            generator.writeEndArray();
+        }
+        generator.close();
+        return count;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import thespeace.springmvc.HelloData;
+import thespeace.springmvc.etag.CachedETag;
 
 import java.io.IOException;
 
@@ -31,6 +32,11 @@ import java.io.IOException;
 @RestController
 public class ResponseBodyController {
 
+    /**
+     * 고정된 {@code HelloData}를 반환하므로 버전이 바뀌지 않는다. 데이터가 바뀌면 {@code ResourceVersions.bump()}를 호출한다.
+     */
+    static final String HELLO_DATA_VERSION = "hello-data";
+
     /**
      * <h2>HttpServletResponse 객체를 통해서 HTTP 메시지 바디에 직접 ok 응답 메시지를 전달</h2>
      * @see <a href="http://localhost:8080/response-body-string-v1">test url</a>
@@ -58,6 +64,7 @@ public class ResponseBodyController {
      * @see <a href="http://localhost:8080/response-body-string-v3">test url</a>
      */
 //    @ResponseBody
+    @CachedETag
     @GetMapping("/response-body-string-v3")
     public String responseBodyV3() {
         return "ok";
@@ -65,9 +72,12 @@ public class ResponseBodyController {
 
     /**
      * <h2>ResponseEntity 를 반환</h2>
-     * ResponseEntity를 반환한다. HTTP 메시지 컨버터를 통해서 JSON 형식으로 변환되어서 반환된다.
+     * ResponseEntity를 반환한다. HTTP 메시지 컨버터를 통해서 JSON 형식으로 변환되어서 반환된다.<br>
+     * {@code Accept: application/cbor}, {@code Accept: application/x-jackson-smile} 이면 바이너리 포맷으로 변환된다.<br>
+     * 응답이 항상 같으므로 {@code @CachedETag}로 직렬화 결과를 보관하고, {@code If-None-Match}가 같으면 304 로 응답한다.
      * @see <a href="http://localhost:8080/response-body-json-v1">test url</a>
      */
+    @CachedETag(versionKey = HELLO_DATA_VERSION)
     @GetMapping("/response-body-json-v1")
     public ResponseEntity<HelloData> responseBodyJsonV1() {
         HelloData helloData = new HelloData();
@@ -82,9 +92,11 @@ public class ResponseBodyController {
      * {@code @ResponseStatus(HttpStatus.OK)} 애노테이션을 사용하면 응답 코드도 설정할 수 있다<br><br>
      *
      * 물론 애노테이션이기 때문에 응답 코드를 동적으로 변경할 수는 없다. 프로그램 조건에 따라서 동적으로 변경하려면
-     * ResponseEntity 를 사용하면 된다.
+     * ResponseEntity 를 사용하면 된다.<br>
+     * v1 과 마찬가지로 Accept 헤더에 따라 JSON, CBOR, Smile 중 하나로 변환된다.
      * @see <a href="http://localhost:8080/response-body-json-v2">test url</a>
      */
+    @CachedETag(versionKey = HELLO_DATA_VERSION)
     @ResponseStatus(HttpStatus.OK)
 //    @ResponseBody
     @GetMapping("/response-body-json-v2")
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.ModelAndView;
+import thespeace.springmvc.view.CacheRenderedView;
 
 /**
  * <h1>HTTP 응답 - 정적 리소스, 뷰 템플릿</h1>
@@ -39,6 +40,7 @@ import org.springframework.web.servlet.ModelAndView;
  *
  * @see <a href="https://docs.spring.io/spring-boot/docs/2.4.3/reference/html/appendix-applicationproperties.html#common-application-properties-templating">
  *      공식 사이트(스프링 부트의 타임리프 관련 추가 설정 확인)</a>
+ * @see CacheRenderedView 모델 값이 몇 가지뿐이라, 렌더링 결과를 캐시해서 같은 모델이면 템플릿 엔진을 실행하지 않는다.
  */
 @Controller
 public class ResponseViewController {
@@ -47,6 +49,7 @@ public class ResponseViewController {
      * <h2>뷰 템플릿을 호출</h2>
      * @see <a href="http://localhost:8080/response-view-v1">test url</a>
      */
+    @CacheRenderedView
     @RequestMapping("/response-view-v1")
     public ModelAndView responseViewV1() {
         ModelAndView mav = new ModelAndView("response/hello")
@@ -64,6 +67,7 @@ public class ResponseViewController {
      * </ul>
      * @see <a href="http://localhost:8080/response-view-v2">test url</a>
      */
+    @CacheRenderedView
     @RequestMapping("/response-view-v2")
     public String responseViewV2(Model model) {
         model.addAttribute("data", "hello!!");
@@ -84,6 +88,7 @@ public class ResponseViewController {
      * </ul>
      * @see <a href="http://localhost:8080/response/hello">test url</a>
      */
+    @CacheRenderedView
     @RequestMapping("/response/hello")
     public void responseViewV3(Model model) {
         model.addAttribute("data", "hello!!");
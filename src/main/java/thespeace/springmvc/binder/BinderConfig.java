@@ -0,0 +1,63 @@
+package thespeace.springmvc.binder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.method.annotation.RequestParamMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import thespeace.springmvc.web.HandlerAdapterCustomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>생성된 바인더, 예외 없는 파라미터 변환 등록</h2>
+ * ArgumentResolver 목록의 맨 앞에 추가한다.
+ * <ul>
+ *     <li>{@link GeneratedBinderMethodArgumentResolver} : 바인더가 있는 타입(예: {@code HelloData})만 먼저 처리하고,
+ *         나머지는 기존 {@code ServletModelAttributeMethodProcessor}가 처리한다.</li>
+ *     <li>{@link PrimitiveRequestParamMethodArgumentResolver} : {@code thespeace.binder.request-param.enabled=true}일 때
+ *         기본 타입 {@code @RequestParam}을 예외 없이 변환한다.</li>
+ *     <li>{@link RequestParametersMethodArgumentResolver} : {@link RequestParameters} 파라미터를 처리하고,
+ *         {@code thespeace.binder.parameter-map-view.enabled=true}일 때 {@code @RequestParam Map}도 복사하지 않는 뷰로 넘긴다.</li>
+ * </ul>
+ */
+@Configuration
+public class BinderConfig {
+
+    private final boolean primitiveRequestParamEnabled;
+    private final boolean parameterMapViewEnabled;
+
+    public BinderConfig(@Value("${thespeace.binder.request-param.enabled:true}") boolean primitiveRequestParamEnabled,
+                        @Value("${thespeace.binder.parameter-map-view.enabled:true}") boolean parameterMapViewEnabled) {
+        this.primitiveRequestParamEnabled = primitiveRequestParamEnabled;
+        this.parameterMapViewEnabled = parameterMapViewEnabled;
+    }
+
+    @Bean
+    public ParameterBinderRegistry parameterBinderRegistry() {
+        return new ParameterBinderRegistry(getClass().getClassLoader());
+    }
+
+    @Bean
+    @Order(HandlerAdapterCustomizer.PREPEND_ORDER)
+    public HandlerAdapterCustomizer generatedBinderHandlerAdapterCustomizer(ConfigurableBeanFactory beanFactory) {
+        ParameterBinderRegistry registry = parameterBinderRegistry();
+        return new HandlerAdapterCustomizer() {
+            @Override
+            public List<HandlerMethodArgumentResolver> customizeArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                List<HandlerMethodArgumentResolver> customized = new ArrayList<>(resolvers.size() + 3);
+                customized.add(new GeneratedBinderMethodArgumentResolver(registry));
+                if (primitiveRequestParamEnabled) {
+                    customized.add(new PrimitiveRequestParamMethodArgumentResolver(
+                            new RequestParamMethodArgumentResolver(beanFactory, true)));
+                }
+                customized.add(new RequestParametersMethodArgumentResolver(parameterMapViewEnabled));
+                customized.addAll(resolvers);
+                return customized;
+            }
+        };
+    }
+}
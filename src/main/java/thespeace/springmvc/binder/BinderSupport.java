@@ -0,0 +1,265 @@
+package thespeace.springmvc.binder;
+
+/**
+ * <h2>예외 없는 기본 타입 변환</h2>
+ * {@code Integer.parseInt} 등은 형식이 틀리면 {@link NumberFormatException}을 던진다.
+ * 예외 생성(스택 트레이스 수집)은 변환보다 수십 배 비싸므로, 잘못된 입력이 많은 요청에서 비용이 커진다.
+ * 여기서는 {@code isXxx}로 형식을 먼저 확인하고, 맞을 때만 {@code parseXxx}로 변환한다.
+ * <ul>
+ *     <li>스프링 기본 변환({@code NumberUtils.parseNumber}, {@code StringToBooleanConverter})과 같은 입력을 받는다.
+ *         공백은 위치와 상관없이 무시하고, 정수는 {@code +}/{@code -} 부호와 16진수({@code 0x1F}, {@code #1F})를 지원한다.</li>
+ *     <li>boolean : {@code true, on, yes, 1} / {@code false, off, no, 0} (대소문자 무시)</li>
+ *     <li>double : 10진수, 지수 표기, {@code NaN}, {@code Infinity} (16진수 실수 표기는 지원하지 않는다)</li>
+ *     <li>{@code parseXxx}는 {@code isXxx}가 true 인 값에만 호출한다.</li>
+ * </ul>
+ */
+public final class BinderSupport {
+
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private BinderSupport() {
+    }
+
+    public static boolean isInt(String text) {
+        return intValue(text) != INVALID;
+    }
+
+    public static int parseInt(String text) {
+        return (int) intValue(text);
+    }
+
+    public static boolean isLong(String text) {
+        return scanLong(text, true) == 0;
+    }
+
+    public static long parseLong(String text) {
+        return scanLong(text, false);
+    }
+
+    public static boolean isBoolean(String text) {
+        return booleanValue(text) != null;
+    }
+
+    public static boolean parseBoolean(String text) {
+        return booleanValue(text) == Boolean.TRUE;
+    }
+
+    public static boolean isDouble(String text) {
+        return isDecimal(text);
+    }
+
+    public static double parseDouble(String text) {
+        return Double.parseDouble(hasWhitespace(text) ? removeWhitespace(text) : text);
+    }
+
+    /**
+     * @return int 범위의 값, 형식이 틀리거나 범위를 넘으면 {@link #INVALID}
+     */
+    private static long intValue(String text) {
+        int length = text.length();
+        int i = skipWhitespace(text, 0);
+        if (i == length) {
+            return INVALID;
+        }
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = skipWhitespace(text, i + 1);
+        }
+        int radix = 10;
+        int hexStart = hexDigitsStart(text, i, first != '+');
+        if (hexStart >= 0) {
+            radix = 16;
+            i = hexStart;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        int digits = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            int digit = Character.digit(c, radix);
+            if (digit < 0) {
+                return INVALID;
+            }
+            value = value * radix + digit;
+            if (value > limit) {
+                return INVALID;
+            }
+            digits++;
+        }
+        if (digits == 0) {
+            return INVALID;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * long 은 모든 값이 유효하므로 표시 값을 쓸 수 없다. 검사와 변환을 같은 코드로 처리한다.
+     *
+     * @param check true 면 형식이 맞을 때 0, 틀리면 1 을 반환한다.
+     */
+    private static long scanLong(String text, boolean check) {
+        int length = text.length();
+        int i = skipWhitespace(text, 0);
+        if (i == length) {
+            return 1;
+        }
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = skipWhitespace(text, i + 1);
+        }
+        int radix = 10;
+        int hexStart = hexDigitsStart(text, i, first != '+');
+        if (hexStart >= 0) {
+            radix = 16;
+            i = hexStart;
+        }
+        //Long.parseLong 과 같이 음수로 누적해서 Long.MIN_VALUE 까지 표현한다.
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / radix;
+        long value = 0;
+        int digits = 0;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            int digit = Character.digit(c, radix);
+            if (digit < 0 || value < multiplyMin) {
+                return 1;
+            }
+            value *= radix;
+            if (value < limit + digit) {
+                return 1;
+            }
+            value -= digit;
+            digits++;
+        }
+        if (digits == 0) {
+            return 1;
+        }
+        if (check) {
+            return 0;
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * {@code NumberUtils.isHexNumber}와 같이 {@code 0x}, {@code 0X}, {@code #} 접두사를 찾는다. ({@code +} 부호와는 같이 쓸 수 없다)
+     *
+     * @return 16진수 숫자가 시작하는 위치, 16진수가 아니면 -1
+     */
+    private static int hexDigitsStart(String text, int i, boolean allowed) {
+        if (!allowed || i >= text.length()) {
+            return -1;
+        }
+        if (text.charAt(i) == '#') {
+            return i + 1;
+        }
+        if (text.charAt(i) == '0' && i + 1 < text.length()
+                && (text.charAt(i + 1) == 'x' || text.charAt(i + 1) == 'X')) {
+            return i + 2;
+        }
+        return -1;
+    }
+
+    private static Boolean booleanValue(String text) {
+        String value = text.trim();
+        return switch (value.length()) {
+            case 1 -> value.equals("1") ? Boolean.TRUE : value.equals("0") ? Boolean.FALSE : null;
+            case 2 -> value.equalsIgnoreCase("on") ? Boolean.TRUE : value.equalsIgnoreCase("no") ? Boolean.FALSE : null;
+            case 3 -> value.equalsIgnoreCase("yes") ? Boolean.TRUE : value.equalsIgnoreCase("off") ? Boolean.FALSE : null;
+            case 4 -> value.equalsIgnoreCase("true") ? Boolean.TRUE : null;
+            case 5 -> value.equalsIgnoreCase("false") ? Boolean.FALSE : null;
+            default -> null;
+        };
+    }
+
+    /**
+     * {@code [+-] (digits [. digits] | . digits) [(e|E) [+-] digits] [f|F|d|D]}, {@code [+-] NaN}, {@code [+-] Infinity}
+     */
+    private static boolean isDecimal(String text) {
+        String value = hasWhitespace(text) ? removeWhitespace(text) : text;
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        if (value.startsWith("NaN", i)) {
+            return i + 3 == length;
+        }
+        if (value.startsWith("Infinity", i)) {
+            return i + 8 == length;
+        }
+        int mantissa = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+            mantissa++;
+        }
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                mantissa++;
+            }
+        }
+        if (mantissa == 0) {
+            return false;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+                i++;
+            }
+            int exponent = 0;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+                exponent++;
+            }
+            if (exponent == 0) {
+                return false;
+            }
+        }
+        if (i < length && "fFdD".indexOf(value.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int skipWhitespace(String text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean hasWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String removeWhitespace(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package thespeace.springmvc.binder;
+
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.AbstractBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+/**
+ * <h2>바인딩 오류 기록</h2>
+ * {@code DefaultBindingErrorProcessor}가 만드는 것과 같은 {@link FieldError}(코드 {@code typeMismatch.helloData.age},
+ * {@code typeMismatch.age}, {@code typeMismatch.int}, {@code typeMismatch})를 예외 없이 추가한다.
+ * 메시지 소스, 타임리프 {@code th:errors}는 기본 바인딩과 똑같이 동작한다.
+ */
+public final class BindingErrors {
+
+    private static final String TYPE_MISMATCH = "typeMismatch";
+
+    private final AbstractBindingResult result;
+
+    public BindingErrors(AbstractBindingResult result) {
+        this.result = result;
+    }
+
+    public void typeMismatch(String field, String rejectedValue, String requiredType) {
+        String objectName = result.getObjectName();
+        Object[] arguments = {new DefaultMessageSourceResolvable(
+                new String[]{objectName + Errors.NESTED_PATH_SEPARATOR + field, field}, field)};
+        result.addError(new FieldError(objectName, field, rejectedValue, true,
+                result.resolveMessageCodes(TYPE_MISMATCH, field), arguments,
+                "Failed to convert property value of type 'java.lang.String' to required type '"
+                        + requiredType + "' for property '" + field + "'"));
+    }
+}
@@ -0,0 +1,101 @@
+package thespeace.springmvc.binder;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.annotation.ValidationAnnotationUtils;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.ModelFactory;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * <h2>생성된 바인더로 {@code @ModelAttribute} 처리</h2>
+ * {@code ServletModelAttributeMethodProcessor}는 요청마다 {@code WebDataBinder}를 만들고, 파라미터를
+ * {@code MutablePropertyValues}로 복사한 뒤 {@code BeanWrapper}와 {@code ConversionService}로 값을 넣는다.
+ * 이 리졸버는 {@link ParameterBinder}가 있는 타입이면 setter 를 바로 호출한다.
+ * <ul>
+ *     <li>지원 : {@code @ModelAttribute HelloData}, 애노테이션 생략({@code HelloData helloData})</li>
+ *     <li>기본 처리와 같은 동작 : 모델 이름, 모델에 이미 있는 객체에 바인딩, {@code BindingResult} 파라미터가 없으면
+ *         {@link MethodArgumentNotValidException}, 모델에 객체와 {@code BindingResult} 추가</li>
+ *     <li>기본 처리기로 넘기는 경우 : {@code @Valid}/{@code @Validated}, {@code binding = false}</li>
+ *     <li>적용되지 않는 것 : {@code @InitBinder} 설정(허용 필드, 커스텀 에디터), {@code _필드}/{@code !필드} 기본 값 표시</li>
+ * </ul>
+ */
+public class GeneratedBinderMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final ParameterBinderRegistry registry;
+
+    public GeneratedBinderMethodArgumentResolver(ParameterBinderRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!registry.supports(parameter.getParameterType())) {
+            return false;
+        }
+        Annotation[] annotations = parameter.getParameterAnnotations();
+        ModelAttribute modelAttribute = parameter.getParameterAnnotation(ModelAttribute.class);
+        if (modelAttribute == null) {
+            return annotations.length == 0;
+        }
+        if (!modelAttribute.binding()) {
+            return false;
+        }
+        for (Annotation annotation : annotations) {
+            if (ValidationAnnotationUtils.determineValidationHints(annotation) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        @SuppressWarnings("unchecked")
+        ParameterBinder<Object> binder = (ParameterBinder<Object>) registry.get(parameter.getParameterType());
+        String name = ModelFactory.getNameForParameter(parameter);
+
+        Object target = null;
+        if (mavContainer != null && mavContainer.containsAttribute(name)) {
+            target = mavContainer.getModel().get(name);
+        }
+        if (!binder.type().isInstance(target)) {
+            target = binder.create();
+        }
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(target, name);
+        if (mavContainer == null || !mavContainer.isBindingDisabled(name)) {
+            HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+            binder.bind(target, new ParameterSource(request), new BindingErrors(bindingResult));
+        }
+        if (bindingResult.hasErrors() && isBindExceptionRequired(parameter)) {
+            throw new MethodArgumentNotValidException(parameter, bindingResult);
+        }
+
+        if (mavContainer != null) {
+            Map<String, Object> bindingResultModel = bindingResult.getModel();
+            mavContainer.removeAttributes(bindingResultModel);
+            mavContainer.addAllAttributes(bindingResultModel);
+        }
+        return target;
+    }
+
+    /**
+     * 바로 다음 파라미터가 {@link Errors}({@code BindingResult})면 오류를 핸들러에 넘기고, 아니면 예외를 던진다.
+     */
+    private static boolean isBindExceptionRequired(MethodParameter parameter) {
+        int index = parameter.getParameterIndex();
+        Class<?>[] parameterTypes = parameter.getExecutable().getParameterTypes();
+        return !(parameterTypes.length > index + 1 && Errors.class.isAssignableFrom(parameterTypes[index + 1]));
+    }
+}
@@ -0,0 +1,27 @@
+package thespeace.springmvc.binder;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * <h2>요청 파라미터 형식 오류 -> 400 ProblemDetail</h2>
+ * 기본 처리({@code MethodArgumentTypeMismatchException} -> {@code DefaultHandlerExceptionResolver})는
+ * {@code response.sendError(400)}으로 {@code /error} 재디스패치(BasicErrorController)까지 거친다.
+ * 여기서는 핸들러 예외 처리 단계에서 바로 {@code application/problem+json} 응답을 쓴다.
+ * <blockquote><pre>
+ * {"type":"about:blank","title":"Bad Request","status":400,
+ *  "detail":"Parameter 'age' must be of type int","instance":"/request-param-v2","parameter":"age"}
+ * </pre></blockquote>
+ */
+@RestControllerAdvice
+public class InvalidRequestParameterAdvice {
+
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ProblemDetail invalidRequestParameter(InvalidRequestParameterException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problem.setProperty("parameter", e.getParameterName());
+        return problem;
+    }
+}
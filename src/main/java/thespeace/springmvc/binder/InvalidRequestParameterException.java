@@ -0,0 +1,31 @@
+package thespeace.springmvc.binder;
+
+/**
+ * <h2>요청 파라미터 형식 오류 (스택 트레이스 없음)</h2>
+ * {@link PrimitiveRequestParamMethodArgumentResolver}가 파라미터마다 한 번만 만들어두고 재사용한다.
+ * <ul>
+ *     <li>스택 트레이스를 수집하지 않고({@code writableStackTrace = false}), suppressed 예외도 받지 않으므로
+ *         던지는 비용이 일반 분기와 비슷하다. 여러 쓰레드가 같은 인스턴스를 던져도 상태가 바뀌지 않는다.</li>
+ *     <li>메시지에는 입력 값을 넣지 않는다. (인스턴스를 공유하고, 입력 값을 응답에 그대로 돌려주지 않기 위해)</li>
+ *     <li>응답 : {@link InvalidRequestParameterAdvice}가 400 {@code ProblemDetail}로 변환한다.</li>
+ * </ul>
+ */
+public class InvalidRequestParameterException extends RuntimeException {
+
+    private final String parameterName;
+    private final String requiredType;
+
+    public InvalidRequestParameterException(String parameterName, String requiredType) {
+        super("Parameter '" + parameterName + "' must be of type " + requiredType, null, false, false);
+        this.parameterName = parameterName;
+        this.requiredType = requiredType;
+    }
+
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    public String getRequiredType() {
+        return requiredType;
+    }
+}
@@ -0,0 +1,18 @@
+package thespeace.springmvc.binder;
+
+/**
+ * <h2>리플렉션 없는 {@code @ModelAttribute} 바인더</h2>
+ * {@code @GenerateBinder}가 붙은 클래스마다 애노테이션 프로세서가 구현체({@code <클래스명>Binder})를 생성하고,
+ * {@code META-INF/services}에 등록한다. {@link ParameterBinderRegistry}가 {@link java.util.ServiceLoader}로 찾는다.
+ */
+public interface ParameterBinder<T> {
+
+    Class<T> type();
+
+    T create();
+
+    /**
+     * 요청 파라미터를 setter 로 바로 넣는다. 변환할 수 없는 값은 예외 없이 {@code errors}에 기록하고 건너뛴다.
+     */
+    void bind(T target, ParameterSource source, BindingErrors errors);
+}
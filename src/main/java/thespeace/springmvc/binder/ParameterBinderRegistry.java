@@ -0,0 +1,33 @@
+package thespeace.springmvc.binder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * <h2>생성된 {@link ParameterBinder} 목록</h2>
+ * 애플리케이션 시작 시 {@link ServiceLoader}로 한 번만 찾아서 타입별로 보관한다.
+ */
+@Slf4j
+public class ParameterBinderRegistry {
+
+    private final Map<Class<?>, ParameterBinder<?>> binders = new HashMap<>();
+
+    public ParameterBinderRegistry(ClassLoader classLoader) {
+        for (ParameterBinder<?> binder : ServiceLoader.load(ParameterBinder.class, classLoader)) {
+            binders.put(binder.type(), binder);
+            log.debug("generated binder type={}, binder={}", binder.type().getName(), binder.getClass().getName());
+        }
+    }
+
+    public boolean supports(Class<?> type) {
+        return binders.containsKey(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ParameterBinder<T> get(Class<T> type) {
+        return (ParameterBinder<T>) binders.get(type);
+    }
+}
@@ -0,0 +1,46 @@
+package thespeace.springmvc.binder;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * <h2>바인딩할 값 조회</h2>
+ * {@code ExtendedServletRequestDataBinder}와 같은 순서로 찾는다. 요청 파라미터가 없으면 경로 변수({@code {username}})
+ * <ul>
+ *     <li>{@link #value(String)} : 첫 번째 값 (숫자, boolean 필드. WebDataBinder 도 첫 번째 값만 변환한다)</li>
+ *     <li>{@link #joinedValue(String)} : 값이 여러 개면 {@code ,}로 합친 값 (String 필드)</li>
+ * </ul>
+ */
+public final class ParameterSource {
+
+    private final HttpServletRequest request;
+    private Map<String, String> uriVariables;
+
+    public ParameterSource(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    public String value(String name) {
+        String value = request.getParameter(name);
+        return value != null ? value : uriVariable(name);
+    }
+
+    public String joinedValue(String name) {
+        String[] values = request.getParameterValues(name);
+        if (values == null || values.length == 0) {
+            return uriVariable(name);
+        }
+        return values.length == 1 ? values[0] : String.join(",", values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String uriVariable(String name) {
+        if (uriVariables == null) {
+            Object attribute = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            uriVariables = attribute instanceof Map<?, ?> map ? (Map<String, String>) map : Map.of();
+        }
+        return uriVariables.get(name);
+    }
+}
@@ -0,0 +1,119 @@
+package thespeace.springmvc.binder;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.RequestParamMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h2>예외 없는 {@code @RequestParam} 기본 타입 변환</h2>
+ * {@code @RequestParam int age}(또는 애노테이션 생략)는 기본적으로 {@code WebDataBinder} -> {@code ConversionService}로 변환되고,
+ * 형식이 틀리면 {@code NumberFormatException} -> {@code TypeMismatchException} -> {@code MethodArgumentTypeMismatchException}
+ * 예외가 연달아 만들어진다. (예외마다 스택 트레이스 수집)
+ * <ul>
+ *     <li>대상 타입 : int, long, boolean, double 과 그 래퍼 타입</li>
+ *     <li>값이 있으면 {@link BinderSupport}로 형식을 확인하고 바로 변환한다.</li>
+ *     <li>형식이 틀리면 파라미터마다 미리 만들어둔 {@link InvalidRequestParameterException}(스택 트레이스 없음)을 던진다.</li>
+ *     <li>값이 없거나 빈 문자열이면 기본 {@link RequestParamMethodArgumentResolver}에 맡긴다.
+ *         ({@code required}, {@code defaultValue}, 누락 예외 처리가 기존과 같다)</li>
+ * </ul>
+ */
+public class PrimitiveRequestParamMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final RequestParamMethodArgumentResolver delegate;
+    private final Map<MethodParameter, ParamInfo> infoCache = new ConcurrentHashMap<>(64);
+
+    private enum Kind {
+        INT, LONG, BOOLEAN, DOUBLE;
+
+        static Kind of(Class<?> type) {
+            if (type == int.class || type == Integer.class) {
+                return INT;
+            }
+            if (type == long.class || type == Long.class) {
+                return LONG;
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return BOOLEAN;
+            }
+            if (type == double.class || type == Double.class) {
+                return DOUBLE;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param name null 이면 이름을 정할 수 없는 파라미터 (기본 리졸버가 처리)
+     */
+    private record ParamInfo(String name, Kind kind, InvalidRequestParameterException invalid) {
+    }
+
+    /**
+     * @param delegate {@code useDefaultResolution = true}로 만든 리졸버 (애노테이션을 생략한 파라미터도 처리)
+     */
+    public PrimitiveRequestParamMethodArgumentResolver(RequestParamMethodArgumentResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (Kind.of(parameter.getParameterType()) == null) {
+            return false;
+        }
+        return parameter.hasParameterAnnotation(RequestParam.class) || parameter.getParameterAnnotations().length == 0;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        ParamInfo info = infoCache.computeIfAbsent(parameter, PrimitiveRequestParamMethodArgumentResolver::createInfo);
+        String value = info.name() != null ? webRequest.getParameter(info.name()) : null;
+        if (value == null || value.isEmpty()) {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        }
+        return switch (info.kind()) {
+            case INT -> {
+                if (!BinderSupport.isInt(value)) {
+                    throw info.invalid();
+                }
+                yield BinderSupport.parseInt(value);
+            }
+            case LONG -> {
+                if (!BinderSupport.isLong(value)) {
+                    throw info.invalid();
+                }
+                yield BinderSupport.parseLong(value);
+            }
+            case BOOLEAN -> {
+                if (!BinderSupport.isBoolean(value)) {
+                    throw info.invalid();
+                }
+                yield BinderSupport.parseBoolean(value);
+            }
+            case DOUBLE -> {
+                if (!BinderSupport.isDouble(value)) {
+                    throw info.invalid();
+                }
+                yield BinderSupport.parseDouble(value);
+            }
+        };
+    }
+
+    private static ParamInfo createInfo(MethodParameter parameter) {
+        Kind kind = Kind.of(parameter.getParameterType());
+        RequestParam annotation = parameter.getParameterAnnotation(RequestParam.class);
+        String name = annotation != null && !annotation.name().isEmpty() ? annotation.name() : parameter.getParameterName();
+        if (name != null && (name.contains("${") || name.contains("#{"))) {
+            name = null; //placeholder, SpEL 이름은 기본 리졸버가 해석한다.
+        }
+        String typeName = parameter.getParameterType().getSimpleName();
+        return new ParamInfo(name, kind, new InvalidRequestParameterException(name, typeName));
+    }
+}
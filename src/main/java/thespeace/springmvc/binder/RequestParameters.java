@@ -0,0 +1,256 @@
+package thespeace.springmvc.binder;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.MultiValueMap;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h2>요청 파라미터 읽기 전용 뷰</h2>
+ * 기본 {@code RequestParamMapMethodArgumentResolver}는 요청마다 파라미터를 새 {@code LinkedHashMap}
+ * (또는 {@code LinkedMultiValueMap})에 복사한다. 이 뷰는 복사하지 않고 컨테이너가 가진 파라미터 저장소를 그대로 읽는다.
+ * <ul>
+ *     <li>{@link #get(Object)}, {@link #getFirst(String)}, {@link #containsKey(Object)} : {@code getParameterValues()},
+ *         {@code getParameter()}로 바로 조회한다. 값 목록은 컨테이너의 {@code String[]}을 감싼 리스트다. (복사 없음)</li>
+ *     <li>{@link #size()}, {@link #keySet()}, {@link #entrySet()} : {@code getParameterMap()}을 순회한다.
+ *         (톰캣은 이 맵을 요청마다 한 번 만들고 변경 불가로 잠가둔다)</li>
+ *     <li>{@link #getInt(String, int)}, {@link #getLong(String, long)} : 조회할 때 {@link BinderSupport}로 변환한다.
+ *         박싱이나 {@code NumberFormatException} 없이 기본 타입을 돌려준다.</li>
+ *     <li>{@link #toSingleValueMap()} : 첫 번째 값만 보이는 뷰 (역시 복사하지 않는다)</li>
+ *     <li>변경 메서드는 {@link UnsupportedOperationException}을 던진다.</li>
+ * </ul>
+ * 요청이 끝난 뒤에는 사용하면 안 된다. (컨테이너가 요청 객체를 재사용한다)
+ */
+public class RequestParameters extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    private final HttpServletRequest request;
+    private SingleValueView singleValueView;
+
+    public RequestParameters(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * @return 첫 번째 값을 int 로 변환한 값, 값이 없거나 빈 문자열이면 {@code defaultValue}
+     * @throws InvalidRequestParameterException 형식이 틀리면 (400 응답)
+     */
+    public int getInt(String name, int defaultValue) {
+        String value = request.getParameter(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        if (!BinderSupport.isInt(value)) {
+            throw new InvalidRequestParameterException(name, "int");
+        }
+        return BinderSupport.parseInt(value);
+    }
+
+    /**
+     * @return 첫 번째 값을 long 으로 변환한 값, 값이 없거나 빈 문자열이면 {@code defaultValue}
+     * @throws InvalidRequestParameterException 형식이 틀리면 (400 응답)
+     */
+    public long getLong(String name, long defaultValue) {
+        String value = request.getParameter(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        if (!BinderSupport.isLong(value)) {
+            throw new InvalidRequestParameterException(name, "long");
+        }
+        return BinderSupport.parseLong(value);
+    }
+
+    @Override
+    public String getFirst(String key) {
+        return request.getParameter(key);
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        String[] values = request.getParameterValues(name);
+        return values != null ? new ValueList(values) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && request.getParameter(name) != null;
+    }
+
+    @Override
+    public int size() {
+        return request.getParameterMap().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return request.getParameterMap().isEmpty();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(request.getParameterMap().keySet());
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        Map<String, String[]> parameters = request.getParameterMap();
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, List<String>>> iterator() {
+                Iterator<Entry<String, String[]>> iterator = parameters.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, List<String>> next() {
+                        Entry<String, String[]> entry = iterator.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), new ValueList(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return parameters.size();
+            }
+        };
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        if (singleValueView == null) {
+            singleValueView = new SingleValueView();
+        }
+        return singleValueView;
+    }
+
+    @Override
+    public void add(String key, String value) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public void addAll(String key, List<? extends String> values) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public void addAll(MultiValueMap<String, String> values) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public void set(String key, String value) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<String>> map) {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("request parameters are read-only");
+    }
+
+    /**
+     * 컨테이너의 {@code String[]}을 복사하지 않고 감싼 읽기 전용 리스트
+     */
+    private static final class ValueList extends AbstractList<String> {
+
+        private final String[] values;
+
+        ValueList(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public String get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * {@code @RequestParam Map<String, String>}처럼 값 하나만 필요한 곳에 넘기는 뷰
+     */
+    private final class SingleValueView extends AbstractMap<String, String> {
+
+        @Override
+        public String get(Object key) {
+            return key instanceof String name ? request.getParameter(name) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return RequestParameters.this.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return RequestParameters.this.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            Map<String, String[]> parameters = request.getParameterMap();
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, String[]>> iterator = parameters.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            Entry<String, String[]> entry = iterator.next();
+                            String[] values = entry.getValue();
+                            return new SimpleImmutableEntry<>(entry.getKey(), values.length > 0 ? values[0] : null);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return parameters.size();
+                }
+            };
+        }
+    }
+}
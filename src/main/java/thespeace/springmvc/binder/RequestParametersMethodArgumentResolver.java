@@ -0,0 +1,64 @@
+package thespeace.springmvc.binder;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Map;
+
+/**
+ * <h2>{@code @RequestParam Map}, {@code @RequestParam MultiValueMap}, {@link RequestParameters} 복사 없이 조회</h2>
+ * 기본 {@code RequestParamMapMethodArgumentResolver} 대신 {@link RequestParameters} 뷰를 넘긴다. (읽기 전용)
+ * <ul>
+ *     <li>{@code RequestParameters params} : 애노테이션 없이도 사용할 수 있다. {@code getInt}, {@code getLong} 사용</li>
+ *     <li>{@code @RequestParam MultiValueMap<String, String>} : 모든 값이 보이는 뷰</li>
+ *     <li>{@code @RequestParam Map<String, String>}, {@code Map<String, Object>} : 첫 번째 값만 보이는 뷰 (기본 동작과 같은 값)</li>
+ *     <li>기본 리졸버가 처리하는 경우 : 이름이 있는 {@code @RequestParam("x") Map}(변환기로 변환),
+ *         {@code MultipartFile}, {@code Part} 값 맵, {@code LinkedHashMap}처럼 구체 타입으로 선언한 파라미터</li>
+ * </ul>
+ * 핸들러에서 맵을 변경하거나 요청이 끝난 뒤까지 들고 있어야 한다면 {@code new LinkedHashMap<>(paramMap)}으로 복사해서 쓴다.
+ */
+public class RequestParametersMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final boolean mapViewEnabled;
+
+    /**
+     * @param mapViewEnabled false 면 {@link RequestParameters} 파라미터만 처리하고, {@code Map}은 기본 리졸버에 맡긴다.
+     */
+    public RequestParametersMethodArgumentResolver(boolean mapViewEnabled) {
+        this.mapViewEnabled = mapViewEnabled;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        if (type == RequestParameters.class) {
+            return true;
+        }
+        RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+        if (!mapViewEnabled || requestParam == null || StringUtils.hasText(requestParam.name())) {
+            return false;
+        }
+        if (type != Map.class && type != MultiValueMap.class) {
+            return false;
+        }
+        //MultiValueMap<K, V> 는 Map<K, List<V>> 이므로 MultiValueMap 기준으로 V 를 본다.
+        Class<?> valueType = ResolvableType.forMethodParameter(parameter).as(type).getGeneric(1).resolve();
+        return valueType == null || valueType == String.class || valueType == Object.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        RequestParameters parameters = new RequestParameters(request);
+        return parameter.getParameterType() == Map.class ? parameters.toSingleValueMap() : parameters;
+    }
+}
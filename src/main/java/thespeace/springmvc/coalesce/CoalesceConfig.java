@@ -0,0 +1,53 @@
+package thespeace.springmvc.coalesce;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.method.support.AsyncHandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import thespeace.springmvc.web.HandlerAdapterCustomizer;
+
+import java.util.List;
+
+/**
+ * <h2>동시 GET 요청 합치기 등록</h2>
+ * {@code thespeace.coalesce.enabled=true}일 때 {@link CoalesceRequests}를 붙인 핸들러에만 적용된다.
+ * <ul>
+ *     <li>{@link CoalesceRequestsInterceptor} : leader 선출, follower 대기</li>
+ *     <li>{@link CoalescingReturnValueHandler} : 비동기가 아닌 모든 ReturnValueHandler 를 감싸서 leader 의 응답 바이트를 나눠준다.
+ *         ({@code AsyncHandlerMethodReturnValueHandler}를 감싸면 비동기 반환 값 처리기 선택이 바뀌므로 제외)</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "thespeace.coalesce.enabled", havingValue = "true")
+public class CoalesceConfig implements WebMvcConfigurer {
+
+    @Bean
+    public RequestCoalescer requestCoalescer() {
+        return new RequestCoalescer();
+    }
+
+    @Bean
+    @Order(HandlerAdapterCustomizer.WRAP_ALL_ORDER)
+    public HandlerAdapterCustomizer coalescingHandlerAdapterCustomizer() {
+        RequestCoalescer coalescer = requestCoalescer();
+        return new HandlerAdapterCustomizer() {
+            @Override
+            public List<HandlerMethodReturnValueHandler> customizeReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+                return handlers.stream()
+                        .map(handler -> handler instanceof AsyncHandlerMethodReturnValueHandler
+                                ? handler
+                                : new CoalescingReturnValueHandler(handler, coalescer))
+                        .toList();
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CoalesceRequestsInterceptor(requestCoalescer()));
+    }
+}
@@ -0,0 +1,34 @@
+package thespeace.springmvc.coalesce;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <h2>동시 GET 요청 합치기 (single-flight)</h2>
+ * {@code @ResponseBody}, {@code ResponseEntity}를 반환하는 GET 핸들러에 붙인다.
+ * 같은 요청이 동시에 들어오면 먼저 온 요청(leader) 하나만 핸들러를 실행하고, 나머지(follower)는 그 결과를 기다렸다가
+ * 직렬화된 응답 바이트를 그대로 받는다. (조회와 직렬화가 한 번으로 줄어든다)
+ * <ul>
+ *     <li>같은 요청 : 핸들러 + 경로 변수 + 쿼리 스트링 + Accept 헤더 + {@link #headers()}의 값이 모두 같은 요청</li>
+ *     <li>결과를 보관하지 않는다. leader 의 응답이 끝나면 바로 다음 요청부터 다시 핸들러를 실행한다. (캐시가 아니다)</li>
+ *     <li>follower 는 최대 {@link #timeoutMillis()}만 기다리고, 넘으면 직접 핸들러를 실행한다.</li>
+ *     <li>나눠주는 것은 상태 코드, Content-Type, 본문뿐이다. 핸들러가 다른 응답 헤더(예: ETag, Location)를 추가했거나,
+ *         leader 가 예외로 끝나면 나눠주지 않고 follower 가 직접 실행한다.</li>
+ * </ul>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CoalesceRequests {
+
+    /**
+     * follower 가 leader 의 결과를 기다리는 최대 시간
+     */
+    long timeoutMillis() default 1000;
+
+    /**
+     * 응답을 바꾸는 요청 헤더. Accept 는 항상 포함한다. ex) {@code Accept-Language}
+     */
+    String[] headers() default {};
+}
@@ -0,0 +1,74 @@
+package thespeace.springmvc.coalesce;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+/**
+ * <h2>{@link CoalesceRequests} 핸들러의 leader 선출</h2>
+ * 핸들러를 호출하기 전({@code preHandle})에 같은 요청이 실행 중인지 확인한다.
+ * <ul>
+ *     <li>실행 중인 요청 없음 : leader 가 된다. 실행 정보를 요청 속성에 남겨서 {@link CoalescingReturnValueHandler}가
+ *         직렬화된 응답을 나눠주게 한다.</li>
+ *     <li>실행 중인 요청 있음 : 그 응답을 기다렸다가 그대로 쓴다. 핸들러 실행 X, 직렬화 X</li>
+ *     <li>기다리다 시간이 지났거나 나눠줄 수 없는 응답이면 핸들러를 직접 실행한다.</li>
+ *     <li>{@code afterCompletion} : leader 가 응답을 나눠주지 못하고 끝났으면(예외 등) 기다리는 요청을 깨운다.</li>
+ * </ul>
+ */
+public class CoalesceRequestsInterceptor implements HandlerInterceptor {
+
+    static final String FLIGHT_ATTRIBUTE = CoalesceRequestsInterceptor.class.getName() + ".flight";
+
+    private final RequestCoalescer coalescer;
+
+    public CoalesceRequestsInterceptor(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        CoalesceRequests annotation = find(handlerMethod.getMethod(), handlerMethod.getBeanType());
+        if (annotation == null) {
+            return true;
+        }
+        RequestCoalescer.Flight flight = coalescer.join(
+                RequestCoalescer.Key.of(handlerMethod.getMethod(), request, annotation.headers()));
+        if (flight.leader()) {
+            request.setAttribute(FLIGHT_ATTRIBUTE, flight);
+            return true;
+        }
+
+        RequestCoalescer.SharedResponse shared = coalescer.await(flight, annotation.timeoutMillis());
+        if (shared == null) {
+            return true;
+        }
+        response.setStatus(shared.status());
+        if (shared.contentType() != null) {
+            response.setContentType(shared.contentType());
+        }
+        response.setContentLength(shared.body().length);
+        response.getOutputStream().write(shared.body());
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(FLIGHT_ATTRIBUTE) instanceof RequestCoalescer.Flight flight) {
+            coalescer.complete(flight, null);
+        }
+    }
+
+    static CoalesceRequests find(Method method, Class<?> beanType) {
+        CoalesceRequests annotation = AnnotatedElementUtils.findMergedAnnotation(method, CoalesceRequests.class);
+        return annotation != null ? annotation : AnnotatedElementUtils.findMergedAnnotation(beanType, CoalesceRequests.class);
+    }
+}
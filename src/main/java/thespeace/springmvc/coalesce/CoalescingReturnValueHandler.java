@@ -0,0 +1,77 @@
+package thespeace.springmvc.coalesce;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <h2>leader 의 직렬화 결과 나눠주기</h2>
+ * ReturnValueHandler 를 감싼다. leader 요청이면 메시지 컨버터가 {@link ContentCachingResponseWrapper}에 쓰게 한 뒤,
+ * 그 바이트를 기다리는 follower 에게 넘기고 자기 응답으로도 보낸다. ({@code CachedETagReturnValueHandler}와 같은 방식)
+ * <ul>
+ *     <li>핸들러가 응답을 직접 쓰지 않았으면(뷰 이름 반환 등) 나눠주지 않는다. 뷰 렌더링은 이 다음에 일어난다.</li>
+ *     <li>핸들러나 메시지 컨버터가 Content-Type 외의 응답 헤더를 추가했으면 나눠주지 않는다. (follower 응답에 빠지므로)</li>
+ *     <li>leader 가 아닌 요청은 그대로 위임한다. (요청 속성 조회 한 번)</li>
+ * </ul>
+ */
+class CoalescingReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final HandlerMethodReturnValueHandler delegate;
+    private final RequestCoalescer coalescer;
+
+    CoalescingReturnValueHandler(HandlerMethodReturnValueHandler delegate, RequestCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return delegate.supportsReturnType(returnType);
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (request == null || response == null
+                || !(request.getAttribute(CoalesceRequestsInterceptor.FLIGHT_ATTRIBUTE) instanceof RequestCoalescer.Flight flight)) {
+            delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+
+        Set<String> headersBefore = new HashSet<>(response.getHeaderNames());
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        try {
+            delegate.handleReturnValue(returnValue, returnType, mavContainer, new ServletWebRequest(request, capture));
+        } catch (Exception e) {
+            coalescer.complete(flight, null);
+            throw e;
+        }
+        boolean shareable = mavContainer.isRequestHandled() && !addedHeaders(response, headersBefore);
+        coalescer.complete(flight, shareable
+                ? new RequestCoalescer.SharedResponse(capture.getStatus(), capture.getContentType(), capture.getContentAsByteArray())
+                : null);
+        capture.copyBodyToResponse();
+    }
+
+    private static boolean addedHeaders(HttpServletResponse response, Set<String> headersBefore) {
+        for (String name : response.getHeaderNames()) {
+            if (!headersBefore.contains(name)
+                    && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
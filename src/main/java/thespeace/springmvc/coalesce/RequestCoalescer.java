@@ -0,0 +1,129 @@
+package thespeace.springmvc.coalesce;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerMapping;
+import thespeace.springmvc.metrics.MetricsSource;
+import thespeace.springmvc.metrics.MetricsWriter;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>실행 중인 {@link CoalesceRequests} 요청 목록</h2>
+ * 요청 키별로 실행 중인 leader 의 결과({@link CompletableFuture}) 하나를 {@link ConcurrentHashMap}에 둔다.
+ * <ul>
+ *     <li>leader 선출 : {@code putIfAbsent} 한 번. 전체 락 없이 키별로만 경쟁한다.</li>
+ *     <li>완료 : 맵에서 먼저 빼고 결과를 채운다. 그 뒤에 온 같은 요청은 새 leader 가 된다.</li>
+ *     <li>결과가 null 이면 나눠줄 수 없는 응답이다. 기다리던 follower 는 직접 실행한다.</li>
+ *     <li>leader, 나눠받은 응답, 시간 초과, 나눠줄 수 없어서 직접 실행한 수를 센다.</li>
+ * </ul>
+ */
+public class RequestCoalescer implements MetricsSource {
+
+    public record Key(Method handler, Map<?, ?> pathVariables, String query, List<String> headers) {
+
+        static Key of(Method handler, HttpServletRequest request, String[] headerNames) {
+            String[] values = new String[headerNames.length + 1];
+            values[0] = request.getHeader(HttpHeaders.ACCEPT);
+            for (int i = 0; i < headerNames.length; i++) {
+                values[i + 1] = request.getHeader(headerNames[i]);
+            }
+            Object pathVariables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            return new Key(handler, pathVariables instanceof Map<?, ?> map ? map : Map.of(),
+                    request.getQueryString(), Arrays.asList(values));
+        }
+    }
+
+    /**
+     * leader 가 쓴 응답
+     */
+    public record SharedResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * @param leader true 면 핸들러를 실행하고 {@link #complete}를 불러야 한다. leader 요청의 속성으로 보관한다.
+     */
+    record Flight(Key key, CompletableFuture<SharedResponse> result, boolean leader) {
+    }
+
+    private final ConcurrentMap<Key, CompletableFuture<SharedResponse>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder unshared = new LongAdder();
+
+    /**
+     * 같은 요청이 실행 중이면 그 실행에 붙고({@code leader = false}), 아니면 leader 가 된다.
+     */
+    Flight join(Key key) {
+        CompletableFuture<SharedResponse> result = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> running = flights.putIfAbsent(key, result);
+        if (running != null) {
+            return new Flight(key, running, false);
+        }
+        leaders.increment();
+        return new Flight(key, result, true);
+    }
+
+    /**
+     * follower 가 부른다.
+     *
+     * @return leader 의 응답, 시간이 지났거나 나눠줄 수 없으면 null (직접 실행한다)
+     */
+    SharedResponse await(Flight flight, long timeoutMillis) {
+        try {
+            SharedResponse response = flight.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (response == null) {
+                unshared.increment();
+            } else {
+                shared.increment();
+            }
+            return response;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            unshared.increment();
+            return null;
+        }
+    }
+
+    /**
+     * 여러 번 불러도 된다. 처음 한 번만 반영된다.
+     */
+    void complete(Flight flight, SharedResponse response) {
+        flights.remove(flight.key(), flight.result());
+        flight.result().complete(response);
+    }
+
+    /**
+     * @return 실행 중인 leader 수
+     */
+    int inFlight() {
+        return flights.size();
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        writer.type("thespeace_coalesce_requests_total", "counter", "Coalesced GET requests by outcome.")
+                .sample("thespeace_coalesce_requests_total", leaders.sum(), "result", "leader")
+                .sample("thespeace_coalesce_requests_total", shared.sum(), "result", "shared")
+                .sample("thespeace_coalesce_requests_total", timeouts.sum(), "result", "timeout")
+                .sample("thespeace_coalesce_requests_total", unshared.sum(), "result", "unshared");
+        writer.gauge("thespeace_coalesce_in_flight", "Coalesced requests currently executing as leader.", inFlight());
+    }
+}
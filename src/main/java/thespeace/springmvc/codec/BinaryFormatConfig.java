@@ -0,0 +1,36 @@
+package thespeace.springmvc.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * <h2>바이너리 JSON 포맷(CBOR, Smile) 메시지 컨버터 등록</h2>
+ * 서버 간 통신처럼 사람이 읽을 필요가 없는 경우, 같은 데이터를 더 작은 바이너리 포맷으로 주고받는다.
+ * <ul>
+ *     <li>요청 : {@code Content-Type: application/cbor} 또는 {@code application/x-jackson-smile}</li>
+ *     <li>응답 : {@code Accept: application/cbor} 또는 {@code application/x-jackson-smile}</li>
+ * </ul>
+ * 컨트롤러는 그대로 두고, {@code MappingController.mappingConsumes()/mappingProduces()}에서 본 것과 같은
+ * 미디어 타입 협상으로 컨버터가 선택된다. (Accept 가 없거나 JSON 이면 기존처럼 JSON)
+ * <br><br>
+ * 스프링 부트는 {@link org.springframework.http.converter.HttpMessageConverter} 빈을 기본 컨버터 목록에 추가한다.
+ * {@link Jackson2ObjectMapperBuilder}(스프링 부트 설정이 적용된 빌더)를 사용하므로 JSON 과 같은 ObjectMapper 설정을 공유한다.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,40 @@
+package thespeace.springmvc.codec;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * <h2>고정 크기 byte[] 버퍼 풀</h2>
+ * 응답을 쓸 때마다 버퍼를 새로 할당하지 않도록, 다 쓴 버퍼를 돌려받아 재사용한다.
+ * <ul>
+ *     <li>풀이 비어 있으면 새로 할당한다. (요청이 몰려도 막히지 않는다)</li>
+ *     <li>풀이 가득 차 있으면 돌려받은 버퍼는 버린다. (GC 대상)</li>
+ * </ul>
+ */
+public class ByteArrayPool {
+
+    private final int bufferSize;
+    private final ArrayBlockingQueue<byte[]> buffers;
+
+    public ByteArrayPool(int bufferSize, int maxPooled) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("bufferSize must be at least 64: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,42 @@
+package thespeace.springmvc.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * <h2>생성된 JSON 코덱 등록</h2>
+ * {@link GeneratedCodecHttpMessageConverter}를 메시지 컨버터 목록의 맨 앞에 추가한다.
+ * 코덱이 있는 타입(예: {@code HelloData})만 먼저 처리하고, 나머지는 기존 Jackson 컨버터가 처리한다.
+ */
+@Configuration
+public class CodecConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxPooledBuffers;
+
+    public CodecConfig(ObjectMapper objectMapper,
+                       @Value("${thespeace.codec.buffer-size:8192}") int bufferSize,
+                       @Value("${thespeace.codec.max-pooled-buffers:64}") int maxPooledBuffers) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    @Bean
+    public JsonCodecRegistry jsonCodecRegistry() {
+        return new JsonCodecRegistry(getClass().getClassLoader());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ByteArrayPool bufferPool = new ByteArrayPool(bufferSize, maxPooledBuffers);
+        converters.add(0, new GeneratedCodecHttpMessageConverter(jsonCodecRegistry(), objectMapper.getFactory(), bufferPool));
+    }
+}
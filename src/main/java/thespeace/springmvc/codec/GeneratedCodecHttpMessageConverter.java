@@ -0,0 +1,60 @@
+package thespeace.springmvc.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * <h2>생성된 JSON 코덱을 사용하는 HttpMessageConverter</h2>
+ * {@link JsonCodecRegistry}에 코덱이 있는 타입만 처리한다.
+ * 코덱이 없는 타입은 {@code canRead()/canWrite()}가 false 이므로 다음 컨버터인
+ * {@code MappingJackson2HttpMessageConverter}가 처리한다.
+ * <ul>
+ *     <li>읽기 : 스프링이 설정한 ObjectMapper 의 {@link JsonFactory}로 파서를 만들고, 코덱이 토큰을 읽는다.</li>
+ *     <li>쓰기 : {@link JsonByteWriter}가 풀에서 빌린 버퍼로 응답 바디 스트림에 바로 쓴다.</li>
+ * </ul>
+ */
+public class GeneratedCodecHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final JsonCodecRegistry registry;
+    private final JsonFactory jsonFactory;
+    private final ByteArrayPool bufferPool;
+
+    public GeneratedCodecHttpMessageConverter(JsonCodecRegistry registry, JsonFactory jsonFactory, ByteArrayPool bufferPool) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.registry = registry;
+        this.jsonFactory = jsonFactory;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return registry.supports(clazz);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        JsonCodec codec = registry.get(clazz);
+        try (JsonParser parser = jsonFactory.createParser(inputMessage.getBody())) {
+            return codec.read(parser);
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        JsonCodec codec = registry.get(value.getClass());
+        try (JsonByteWriter writer = new JsonByteWriter(outputMessage.getBody(), bufferPool)) {
+            codec.write(value, writer);
+        }
+    }
+}
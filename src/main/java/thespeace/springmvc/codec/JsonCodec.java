@@ -0,0 +1,22 @@
+package thespeace.springmvc.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * <h2>리플렉션 없는 JSON reader/writer</h2>
+ * {@code @GenerateJsonCodec}이 붙은 클래스마다 애노테이션 프로세서가 구현체({@code <클래스명>JsonCodec})를 생성하고,
+ * {@code META-INF/services}에 등록한다. {@link JsonCodecRegistry}가 {@link java.util.ServiceLoader}로 찾는다.
+ */
+public interface JsonCodec<T> {
+
+    Class<T> type();
+
+    /**
+     * 현재 토큰(없으면 다음 토큰)부터 객체 하나를 읽는다. JSON {@code null} 이면 null 을 반환한다.
+     */
+    T read(JsonParser parser) throws IOException;
+
+    void write(T value, JsonByteWriter writer) throws IOException;
+}
@@ -0,0 +1,33 @@
+package thespeace.springmvc.codec;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * <h2>생성된 {@link JsonCodec} 목록</h2>
+ * 애플리케이션 시작 시 {@link ServiceLoader}로 한 번만 찾아서 타입별로 보관한다.
+ */
+@Slf4j
+public class JsonCodecRegistry {
+
+    private final Map<Class<?>, JsonCodec<?>> codecs = new HashMap<>();
+
+    public JsonCodecRegistry(ClassLoader classLoader) {
+        for (JsonCodec<?> codec : ServiceLoader.load(JsonCodec.class, classLoader)) {
+            codecs.put(codec.type(), codec);
+            log.debug("generated json codec type={}, codec={}", codec.type().getName(), codec.getClass().getName());
+        }
+    }
+
+    public boolean supports(Class<?> type) {
+        return codecs.containsKey(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> JsonCodec<T> get(Class<T> type) {
+        return (JsonCodec<T>) codecs.get(type);
+    }
+}
@@ -0,0 +1,141 @@
+package thespeace.springmvc.codec;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h2>생성된 {@link JsonCodec}이 사용하는 읽기 도우미</h2>
+ * Jackson 기본 설정과 같은 규칙으로 값을 변환한다.
+ * <ul>
+ *     <li>숫자 필드에 문자열 {@code "20"}이 와도 변환한다.</li>
+ *     <li>기본형(int, long ...) 필드에 {@code null}이 오면 기본값(0, false)을 사용한다.</li>
+ * </ul>
+ */
+public final class JsonCodecSupport {
+
+    private JsonCodecSupport() {
+    }
+
+    public static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return 객체가 시작되면 true, JSON null 이면 false
+     */
+    public static boolean startObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            token = parser.nextToken();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected START_OBJECT but was " + token);
+        }
+        return true;
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            throw new JsonParseException(parser, "Expected string but was " + token);
+        }
+        return parser.getValueAsString();
+    }
+
+    public static int readInt(JsonParser parser) throws IOException {
+        Integer value = readIntObject(parser);
+        return value == null ? 0 : value;
+    }
+
+    public static Integer readIntObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isNumeric()) {
+            return parser.getIntValue();
+        }
+        try {
+            return Integer.parseInt(text(parser, token).trim());
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Cannot parse int from " + parser.getText());
+        }
+    }
+
+    public static long readLong(JsonParser parser) throws IOException {
+        Long value = readLongObject(parser);
+        return value == null ? 0L : value;
+    }
+
+    public static Long readLongObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isNumeric()) {
+            return parser.getLongValue();
+        }
+        try {
+            return Long.parseLong(text(parser, token).trim());
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Cannot parse long from " + parser.getText());
+        }
+    }
+
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        Boolean value = readBooleanObject(parser);
+        return value != null && value;
+    }
+
+    public static Boolean readBooleanObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isBoolean()) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        String text = text(parser, token).trim();
+        if ("true".equals(text) || "false".equals(text)) {
+            return Boolean.valueOf(text);
+        }
+        throw new JsonParseException(parser, "Cannot parse boolean from " + text);
+    }
+
+    public static double readDouble(JsonParser parser) throws IOException {
+        Double value = readDoubleObject(parser);
+        return value == null ? 0d : value;
+    }
+
+    public static Double readDoubleObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        try {
+            return Double.parseDouble(text(parser, token).trim());
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Cannot parse double from " + parser.getText());
+        }
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.VALUE_STRING) {
+            throw new JsonParseException(parser, "Unexpected token " + token);
+        }
+        return parser.getText();
+    }
+}
@@ -0,0 +1,28 @@
+package thespeace.springmvc.etag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <h2>ETag / 조건부 GET 사용</h2>
+ * {@code @ResponseBody}, {@code ResponseEntity}를 반환하는 GET 핸들러에 붙인다.
+ * <ul>
+ *     <li>버전 키 없음 : 핸들러를 실행하고 직렬화한 바이트로 강한 ETag 를 만든다.
+ *         {@code If-None-Match}가 같으면 본문 없이 304 를 응답한다. (전송량만 줄어든다)</li>
+ *     <li>버전 키 있음 : 직렬화한 바이트와 ETag 를 {@link ResourceVersions}의 버전과 함께 {@link ETagCache}에 보관한다.
+ *         다음 요청에서 버전이 그대로면 핸들러 실행과 직렬화 없이 304 또는 보관된 바이트로 응답한다.
+ *         데이터가 바뀌면 {@link ResourceVersions#bump(String)}을 호출한다.</li>
+ * </ul>
+ * 캐시 키는 핸들러 + 요청 URI + 쿼리 스트링 + Accept 헤더이다. (JSON/CBOR/Smile 응답을 구분한다)
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedETag {
+
+    /**
+     * {@link ResourceVersions}의 키. 비어 있으면 버전 없이 응답 바이트로만 ETag 를 비교한다.
+     */
+    String versionKey() default "";
+}
@@ -0,0 +1,77 @@
+package thespeace.springmvc.etag;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+/**
+ * <h2>버전 키가 있는 {@link CachedETag} 핸들러의 실행 생략</h2>
+ * 핸들러를 호출하기 전({@code preHandle})에 캐시된 응답의 버전이 현재 버전과 같은지 확인한다.
+ * <ul>
+ *     <li>{@code If-None-Match}, {@code If-Modified-Since}가 일치 : 304 응답, 핸들러 실행 X</li>
+ *     <li>일치하지 않음 : 캐시된 바이트로 200 응답, 핸들러 실행 X, 직렬화 X</li>
+ *     <li>캐시가 없거나 버전이 바뀜 : 핸들러를 실행한다. 이때의 버전을 요청 속성에 남겨서
+ *         {@link CachedETagReturnValueHandler}가 같은 버전으로 저장하게 한다.
+ *         (실행 중에 버전이 바뀌면 저장된 응답은 다음 요청에서 바로 무효가 된다)</li>
+ * </ul>
+ */
+public class CachedETagInterceptor implements HandlerInterceptor {
+
+    static final String VERSION_ATTRIBUTE = CachedETagInterceptor.class.getName() + ".version";
+
+    private final ETagCache cache;
+    private final ResourceVersions versions;
+
+    public CachedETagInterceptor(ETagCache cache, ResourceVersions versions) {
+        this.cache = cache;
+        this.versions = versions;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !isGetOrHead(request)) {
+            return true;
+        }
+        CachedETag annotation = find(handlerMethod.getMethod(), handlerMethod.getBeanType());
+        if (annotation == null || annotation.versionKey().isEmpty()) {
+            return true;
+        }
+        long version = versions.current(annotation.versionKey());
+        request.setAttribute(VERSION_ATTRIBUTE, version);
+
+        ETagCache.Entry entry = cache.get(ETagCache.Key.of(handlerMethod.getMethod(), request));
+        if (entry == null || entry.version() != version) {
+            return true;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (new ServletWebRequest(request, response).checkNotModified(entry.etag(), version)) {
+            cache.recordNotModified();
+            return false;
+        }
+        cache.recordServedFromCache();
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+        return false;
+    }
+
+    static CachedETag find(Method method, Class<?> beanType) {
+        CachedETag annotation = AnnotatedElementUtils.findMergedAnnotation(method, CachedETag.class);
+        return annotation != null ? annotation : AnnotatedElementUtils.findMergedAnnotation(beanType, CachedETag.class);
+    }
+
+    static boolean isGetOrHead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+}
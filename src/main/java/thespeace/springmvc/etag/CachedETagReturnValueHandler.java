@@ -0,0 +1,90 @@
+package thespeace.springmvc.etag;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * <h2>직렬화 결과로 ETag 계산</h2>
+ * {@code RequestResponseBodyMethodProcessor}, {@code HttpEntityMethodProcessor}를 감싼다.
+ * {@link CachedETag} 핸들러의 반환 값은 메시지 컨버터가 {@link ContentCachingResponseWrapper}에 쓰게 한 뒤,
+ * 그 바이트의 MD5 로 강한 ETag 를 만든다.
+ * <ul>
+ *     <li>{@code If-None-Match}가 일치하면 본문을 보내지 않고 304 로 응답한다.</li>
+ *     <li>버전 키가 있으면 바이트와 ETag 를 {@link ETagCache}에 저장한다.</li>
+ *     <li>200 이 아닌 응답은 그대로 보낸다.</li>
+ * </ul>
+ */
+class CachedETagReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final HandlerMethodReturnValueHandler delegate;
+    private final ETagCache cache;
+
+    CachedETagReturnValueHandler(HandlerMethodReturnValueHandler delegate, ETagCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return delegate.supportsReturnType(returnType);
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (request == null || response == null || !CachedETagInterceptor.isGetOrHead(request)
+                || CachedETagInterceptor.find(returnType.getMethod(), returnType.getContainingClass()) == null) {
+            delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+            return;
+        }
+
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        delegate.handleReturnValue(returnValue, returnType, mavContainer, new ServletWebRequest(request, capture));
+        if (capture.getStatus() != HttpServletResponse.SC_OK) {
+            capture.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = capture.getContentAsByteArray();
+        String etag = etag(body);
+        cache.recordRendered();
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        Long version = (Long) request.getAttribute(CachedETagInterceptor.VERSION_ATTRIBUTE);
+        boolean notModified;
+        if (version != null) {
+            cache.put(ETagCache.Key.of(returnType.getMethod(), request),
+                    new ETagCache.Entry(body, capture.getContentType(), etag, version));
+            notModified = webRequest.checkNotModified(etag, version);
+        } else {
+            notModified = webRequest.checkNotModified(etag);
+        }
+
+        if (notModified) {
+            cache.recordNotModified();
+            return;
+        }
+        capture.copyBodyToResponse();
+    }
+
+    /**
+     * {@code ShallowEtagHeaderFilter}와 같은 형식 : {@code "0<md5 hex>"}
+     */
+    static String etag(byte[] body) {
+        StringBuilder builder = new StringBuilder(37);
+        builder.append("\"0");
+        DigestUtils.appendMd5DigestAsHex(body, builder);
+        builder.append('"');
+        return builder.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package thespeace.springmvc.etag;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import thespeace.springmvc.metrics.MetricsSource;
+import thespeace.springmvc.metrics.MetricsWriter;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>직렬화된 응답 + ETag 캐시</h2>
+ * 버전 키가 있는 {@link CachedETag} 핸들러의 응답 바이트, Content-Type, ETag, 버전을 보관한다.
+ * <ul>
+ *     <li>항목 수가 {@code maxEntries}를 넘으면 가장 오래 사용하지 않은 항목부터 버린다. (LRU)</li>
+ *     <li>304 응답 수, 핸들러 실행 없이 응답한 수, 직렬화 후 ETag 를 계산한 수를 센다.</li>
+ * </ul>
+ */
+public class ETagCache implements MetricsSource {
+
+    public record Key(Method handler, String uri, String query, String accept) {
+
+        static Key of(Method handler, HttpServletRequest request) {
+            return new Key(handler, request.getRequestURI(), request.getQueryString(), request.getHeader(HttpHeaders.ACCEPT));
+        }
+    }
+
+    public record Entry(byte[] body, String contentType, String etag, long version) {
+    }
+
+    private final int maxEntries;
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder servedFromCache = new LongAdder();
+    private final LongAdder rendered = new LongAdder();
+
+    public ETagCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ETagCache.this.maxEntries;
+            }
+        };
+    }
+
+    public Entry get(Key key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public void put(Key key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    void recordNotModified() {
+        notModified.increment();
+    }
+
+    void recordServedFromCache() {
+        servedFromCache.increment();
+    }
+
+    void recordRendered() {
+        rendered.increment();
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        writer.type("thespeace_etag_responses_total", "counter", "ETag handler responses by outcome.")
+                .sample("thespeace_etag_responses_total", notModified.sum(), "outcome", "not_modified")
+                .sample("thespeace_etag_responses_total", servedFromCache.sum(), "outcome", "cached_body")
+                .sample("thespeace_etag_responses_total", rendered.sum(), "outcome", "rendered");
+        writer.gauge("thespeace_etag_cache_entries", "Cached serialized responses.", size);
+    }
+}
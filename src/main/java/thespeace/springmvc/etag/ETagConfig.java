@@ -0,0 +1,63 @@
+package thespeace.springmvc.etag;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestResponseBodyMethodProcessor;
+import thespeace.springmvc.web.HandlerAdapterCustomizer;
+
+import java.util.List;
+
+/**
+ * <h2>ETag / 조건부 GET 등록</h2>
+ * <ul>
+ *     <li>{@link CachedETagInterceptor} : 버전이 그대로면 핸들러 실행 전에 응답</li>
+ *     <li>{@link CachedETagReturnValueHandler} : {@code @ResponseBody}, {@code HttpEntity} 처리기를 감싸서 ETag 계산</li>
+ * </ul>
+ */
+@Configuration
+public class ETagConfig implements WebMvcConfigurer {
+
+    private final int maxEntries;
+
+    public ETagConfig(@Value("${thespeace.etag.max-entries:1024}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Bean
+    public ResourceVersions resourceVersions() {
+        return new ResourceVersions();
+    }
+
+    @Bean
+    public ETagCache etagCache() {
+        return new ETagCache(maxEntries);
+    }
+
+    @Bean
+    @Order(HandlerAdapterCustomizer.WRAP_DEFAULTS_ORDER)
+    public HandlerAdapterCustomizer cachedETagHandlerAdapterCustomizer() {
+        ETagCache cache = etagCache();
+        return new HandlerAdapterCustomizer() {
+            @Override
+            public List<HandlerMethodReturnValueHandler> customizeReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+                return handlers.stream()
+                        .map(handler -> handler instanceof RequestResponseBodyMethodProcessor
+                                || handler instanceof HttpEntityMethodProcessor
+                                ? new CachedETagReturnValueHandler(handler, cache)
+                                : handler)
+                        .toList();
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new CachedETagInterceptor(etagCache(), resourceVersions()));
+    }
+}
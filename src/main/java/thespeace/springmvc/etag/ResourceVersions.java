@@ -0,0 +1,40 @@
+package thespeace.springmvc.etag;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h2>리소스 버전</h2>
+ * {@link CachedETag#versionKey()}별 버전을 관리한다. 버전은 마지막 변경 시각(epoch millis, 초 단위로 자름)이므로
+ * 그대로 {@code Last-Modified} 헤더로도 사용한다.
+ * <ul>
+ *     <li>처음 조회한 키의 버전은 애플리케이션 시작 시각이다.</li>
+ *     <li>{@link #bump(String)}은 같은 초 안에 여러 번 호출되어도 항상 1초 이상 증가시킨다. (Last-Modified 가 초 단위이므로)</li>
+ * </ul>
+ */
+public class ResourceVersions {
+
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final long startedAt = truncateToSeconds(System.currentTimeMillis());
+
+    public long current(String key) {
+        return version(key).get();
+    }
+
+    /**
+     * 데이터가 바뀌었을 때 호출한다. 이 키로 보관된 응답은 다음 요청에서 다시 만들어진다.
+     * @return 새 버전
+     */
+    public long bump(String key) {
+        long now = truncateToSeconds(System.currentTimeMillis());
+        return version(key).updateAndGet(previous -> Math.max(previous + 1000, now));
+    }
+
+    private AtomicLong version(String key) {
+        return versions.computeIfAbsent(key, k -> new AtomicLong(startedAt));
+    }
+
+    private static long truncateToSeconds(long millis) {
+        return millis / 1000 * 1000;
+    }
+}
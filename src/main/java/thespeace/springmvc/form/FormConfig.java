@@ -0,0 +1,46 @@
+package thespeace.springmvc.form;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import thespeace.springmvc.web.HandlerAdapterCustomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>폼 본문 스트리밍 읽기 등록</h2>
+ * {@link FormFields} 파라미터를 처리하는 {@link FormFieldsMethodArgumentResolver}를 ArgumentResolver 목록의 맨 앞에 추가한다.
+ * <ul>
+ *     <li>{@code thespeace.form.max-field-size} : 이름 또는 값 하나의 최대 바이트 수 (디코딩 후)</li>
+ *     <li>{@code thespeace.form.max-fields} : 최대 필드 수, 0 이하면 제한 없음</li>
+ * </ul>
+ */
+@Configuration
+public class FormConfig {
+
+    private final int maxFieldSize;
+    private final int maxFields;
+
+    public FormConfig(@Value("${thespeace.form.max-field-size:8192}") int maxFieldSize,
+                      @Value("${thespeace.form.max-fields:10000}") int maxFields) {
+        this.maxFieldSize = maxFieldSize;
+        this.maxFields = maxFields;
+    }
+
+    @Bean
+    @Order(HandlerAdapterCustomizer.PREPEND_ORDER)
+    public HandlerAdapterCustomizer formFieldsHandlerAdapterCustomizer() {
+        return new HandlerAdapterCustomizer() {
+            @Override
+            public List<HandlerMethodArgumentResolver> customizeArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                List<HandlerMethodArgumentResolver> customized = new ArrayList<>(resolvers.size() + 1);
+                customized.add(new FormFieldsMethodArgumentResolver(maxFieldSize, maxFields));
+                customized.addAll(resolvers);
+                return customized;
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package thespeace.springmvc.form;
+
+import java.io.IOException;
+
+/**
+ * {@link FormFields#forEach(FormFieldConsumer)}로 필드를 하나씩 받는다.
+ */
+@FunctionalInterface
+public interface FormFieldConsumer {
+
+    void accept(String name, String value) throws IOException;
+}
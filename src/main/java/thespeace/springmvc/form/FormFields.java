@@ -0,0 +1,220 @@
+package thespeace.springmvc.form;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * <h2>{@code application/x-www-form-urlencoded} 본문 스트리밍 읽기</h2>
+ * 컨테이너는 {@code getParameter()}가 처음 호출될 때 본문 전체를 메모리에 올리고 모든 필드를 파라미터 맵으로 디코딩한다.
+ * 이 클래스는 본문을 고정 크기 버퍼로 조금씩 읽으면서 필드를 하나씩 디코딩한다.
+ * 한 번에 메모리에 있는 것은 읽기 버퍼와 현재 필드 하나뿐이다.
+ * <blockquote><pre>
+ * while (form.next()) {
+ *     log.info("{}={}", form.name(), form.value());
+ * }
+ * </pre></blockquote>
+ * <ul>
+ *     <li>디코딩 : {@code +}는 공백, {@code %XX}는 바이트로 바꾸고, 필드가 끝나면 요청 문자셋으로 문자열을 만든다.
+ *         잘못된 {@code %} 표기는 그대로 둔다. 컨테이너와 다르다. (톰캣은 디코딩에 실패한 파라미터를 버린다)</li>
+ *     <li>{@code maxFieldSize} : 디코딩한 이름 또는 값 하나의 최대 바이트 수.
+ *         넘는 순간 남은 본문을 읽지 않고 {@link FormLimitExceededException}을 던진다.</li>
+ *     <li>{@code maxFields} : 최대 필드 수. 넘으면 {@link FormLimitExceededException}</li>
+ *     <li>한 번만 읽을 수 있다. 필요한 값은 핸들러에서 직접 보관한다.</li>
+ * </ul>
+ * 쓰레드 안전하지 않다. (요청 하나에서만 사용)
+ */
+public final class FormFields {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int INITIAL_FIELD_SIZE = 256;
+
+    private final InputStream body;
+    private final Charset charset;
+    private final int maxFieldSize;
+    private final int maxFields;
+
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private int readPosition;
+    private int readLimit;
+    private boolean endOfBody;
+
+    private byte[] field = new byte[INITIAL_FIELD_SIZE];
+    private int fieldLength;
+
+    private String name;
+    private String value;
+    private int count;
+
+    /**
+     * @param maxFields 0 이하면 제한하지 않는다.
+     */
+    public FormFields(InputStream body, Charset charset, int maxFieldSize, int maxFields) {
+        this.body = body;
+        this.charset = charset;
+        this.maxFieldSize = maxFieldSize;
+        this.maxFields = maxFields;
+    }
+
+    /**
+     * 다음 필드를 읽는다. 이름이 빈 필드({@code a=1&&b=2}의 가운데, {@code =x})는 컨테이너와 같이 건너뛴다.
+     *
+     * @return 필드가 있으면 true, 본문이 끝났으면 false
+     * @throws FormLimitExceededException 필드 크기나 필드 수가 제한을 넘으면
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            int end = readComponent(true);
+            if (end < 0) {
+                name = null;
+                value = null;
+                return false;
+            }
+            String fieldName = decodedField();
+            String fieldValue = "";
+            if (end == '=') {
+                readComponent(false);
+                fieldValue = decodedField();
+            }
+            if (fieldName.isEmpty()) {
+                continue;
+            }
+            if (maxFields > 0 && count >= maxFields) {
+                throw new FormLimitExceededException("Form has more than " + maxFields + " fields",
+                        "max-fields", maxFields);
+            }
+            count++;
+            name = fieldName;
+            value = fieldValue;
+            return true;
+        }
+    }
+
+    /**
+     * @return 현재 필드 이름 ({@link #next()}가 true 를 반환한 뒤에만 유효)
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return 현재 필드 값, {@code =}이 없는 필드({@code a=1&flag})는 빈 문자열
+     */
+    public String value() {
+        return value;
+    }
+
+    /**
+     * @return 지금까지 읽은 필드 수
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * 남은 필드를 모두 읽으면서 {@code consumer}를 호출한다.
+     */
+    public void forEach(FormFieldConsumer consumer) throws IOException {
+        while (next()) {
+            consumer.accept(name, value);
+        }
+    }
+
+    /**
+     * 이름 또는 값 하나를 {@link #field}에 디코딩한다.
+     *
+     * @param inName true 면 {@code =}에서 멈춘다. (값 안의 {@code =}은 일반 문자)
+     * @return 멈춘 문자({@code '='}, {@code '&'}), 본문 끝이면 0, 읽을 것이 없이 본문이 끝났으면 -1
+     */
+    private int readComponent(boolean inName) throws IOException {
+        fieldLength = 0;
+        boolean any = false;
+        while (true) {
+            int b = read();
+            if (b < 0) {
+                return any || !inName ? 0 : -1;
+            }
+            any = true;
+            if (b == '&') {
+                return '&';
+            }
+            if (b == '=' && inName) {
+                return '=';
+            }
+            if (b == '+') {
+                append(' ');
+            } else if (b == '%') {
+                appendPercentEncoded();
+            } else {
+                append(b);
+            }
+        }
+    }
+
+    /**
+     * {@code %XX}를 바이트 하나로 바꾼다. 16진수가 아니면 읽은 문자를 그대로 넣는다.
+     */
+    private void appendPercentEncoded() throws IOException {
+        int high = peek();
+        int highDigit = high < 0 ? -1 : Character.digit(high, 16);
+        if (highDigit < 0) {
+            append('%');
+            return;
+        }
+        readPosition++;
+        int low = peek();
+        int lowDigit = low < 0 ? -1 : Character.digit(low, 16);
+        if (lowDigit < 0) {
+            append('%');
+            append(high);
+            return;
+        }
+        readPosition++;
+        append((highDigit << 4) | lowDigit);
+    }
+
+    private void append(int b) {
+        if (fieldLength >= maxFieldSize) {
+            throw new FormLimitExceededException("Form field is larger than " + maxFieldSize + " bytes",
+                    "max-field-size", maxFieldSize);
+        }
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, Math.min(maxFieldSize, field.length * 2));
+        }
+        field[fieldLength++] = (byte) b;
+    }
+
+    private String decodedField() {
+        String decoded = new String(field, 0, fieldLength, charset);
+        //큰 필드 하나 때문에 늘어난 버퍼를 요청이 끝날 때까지 들고 있지 않는다.
+        if (field.length > READ_BUFFER_SIZE) {
+            field = new byte[INITIAL_FIELD_SIZE];
+        }
+        return decoded;
+    }
+
+    private int read() throws IOException {
+        int b = peek();
+        if (b >= 0) {
+            readPosition++;
+        }
+        return b;
+    }
+
+    private int peek() throws IOException {
+        if (readPosition == readLimit) {
+            if (endOfBody) {
+                return -1;
+            }
+            readLimit = body.read(readBuffer);
+            readPosition = 0;
+            if (readLimit <= 0) {
+                readLimit = 0;
+                endOfBody = true;
+                return -1;
+            }
+        }
+        return readBuffer[readPosition] & 0xFF;
+    }
+}
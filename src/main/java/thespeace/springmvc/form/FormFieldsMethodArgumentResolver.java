@@ -0,0 +1,57 @@
+package thespeace.springmvc.form;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h2>{@link FormFields} 파라미터 처리</h2>
+ * 요청 본문 스트림을 그대로 {@link FormFields}로 감싸서 넘긴다. 본문은 핸들러가 {@code next()}를 호출할 때 읽힌다.
+ * <ul>
+ *     <li>{@code Content-Type}이 {@code application/x-www-form-urlencoded}가 아니면
+ *         {@link HttpMediaTypeNotSupportedException} (415)</li>
+ *     <li>문자셋 : 요청 문자셋({@code CharacterEncodingFilter}가 설정), 없으면 UTF-8</li>
+ *     <li>같은 핸들러에서 {@code @RequestParam}, {@code @ModelAttribute}, {@code request.getParameter()}를 같이 쓰면 안 된다.
+ *         본문을 읽기 전에 호출되면 컨테이너가 본문 전체를 파라미터 맵으로 읽어버린다.
+ *         (본문을 읽은 뒤 호출하면 쿼리 파라미터만 보인다)</li>
+ * </ul>
+ */
+public class FormFieldsMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final int maxFieldSize;
+    private final int maxFields;
+
+    public FormFieldsMethodArgumentResolver(int maxFieldSize, int maxFields) {
+        this.maxFieldSize = maxFieldSize;
+        this.maxFields = maxFields;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == FormFields.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        String contentType = request.getContentType();
+        if (!StringUtils.hasText(contentType)
+                || !MediaType.APPLICATION_FORM_URLENCODED.includes(MediaType.parseMediaType(contentType))) {
+            throw new HttpMediaTypeNotSupportedException("Content type '" + contentType + "' not supported, "
+                    + MediaType.APPLICATION_FORM_URLENCODED_VALUE + " required");
+        }
+        String encoding = request.getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new FormFields(request.getInputStream(), charset, maxFieldSize, maxFields);
+    }
+}
@@ -0,0 +1,25 @@
+package thespeace.springmvc.form;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * <h2>폼 본문 제한 초과 -> 413 ProblemDetail</h2>
+ * <blockquote><pre>
+ * {"type":"about:blank","title":"Payload Too Large","status":413,
+ *  "detail":"Form field is larger than 8192 bytes","instance":"/request-param-v1","limit":"max-field-size","limitValue":8192}
+ * </pre></blockquote>
+ */
+@RestControllerAdvice
+public class FormLimitExceededAdvice {
+
+    @ExceptionHandler(FormLimitExceededException.class)
+    public ProblemDetail formLimitExceeded(FormLimitExceededException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage());
+        problem.setProperty("limit", e.getLimit());
+        problem.setProperty("limitValue", e.getLimitValue());
+        return problem;
+    }
+}
@@ -0,0 +1,32 @@
+package thespeace.springmvc.form;
+
+/**
+ * <h2>폼 본문 제한 초과</h2>
+ * {@link FormFields}가 필드 크기나 필드 수 제한을 넘는 순간 던진다. 남은 본문은 읽지 않는다.
+ * <ul>
+ *     <li>응답 : {@link FormLimitExceededAdvice}가 413 {@code ProblemDetail}로 변환한다.</li>
+ *     <li>읽지 않은 본문은 톰캣이 {@code maxSwallowSize}(기본 2MB)까지 버리고, 더 크면 연결을 닫는다.</li>
+ * </ul>
+ */
+public class FormLimitExceededException extends RuntimeException {
+
+    private final String limit;
+    private final int limitValue;
+
+    public FormLimitExceededException(String message, String limit, int limitValue) {
+        super(message);
+        this.limit = limit;
+        this.limitValue = limitValue;
+    }
+
+    /**
+     * @return 넘은 제한 이름 ({@code max-field-size}, {@code max-fields})
+     */
+    public String getLimit() {
+        return limit;
+    }
+
+    public int getLimitValue() {
+        return limitValue;
+    }
+}
@@ -0,0 +1,73 @@
+package thespeace.springmvc.header;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Enumeration;
+
+/**
+ * <h2>Cookie 헤더에서 쿠키 하나만 찾기</h2>
+ * {@code request.getCookies()}는 모든 쿠키를 파싱해서 {@code Cookie[]}를 만든다.
+ * 여기서는 {@code Cookie: a=1; b=2; myCookie=3} 문자열을 앞에서부터 훑으면서 이름만 비교하고,
+ * 찾은 쿠키의 값만 잘라낸다. (할당은 반환하는 문자열 1개)
+ * <ul>
+ *     <li>이름은 대소문자를 구분한다. (RFC 6265)</li>
+ *     <li>값 앞뒤 공백은 제거하고, 따옴표는 컨테이너와 같이 그대로 둔다.</li>
+ *     <li>같은 이름이 여러 개면 첫 번째 값을 반환한다. ({@code WebUtils.getCookie}와 같다)</li>
+ * </ul>
+ */
+final class CookieHeaderScanner {
+
+    private CookieHeaderScanner() {
+    }
+
+    static String find(HttpServletRequest request, String name) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.COOKIE);
+        if (headers == null) {
+            return null;
+        }
+        while (headers.hasMoreElements()) {
+            String value = find(headers.nextElement(), name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    static String find(String header, String name) {
+        int length = header.length();
+        int pos = 0;
+        while (pos < length) {
+            while (pos < length && (header.charAt(pos) == ' ' || header.charAt(pos) == '\t')) {
+                pos++;
+            }
+            int end = header.indexOf(';', pos);
+            if (end < 0) {
+                end = length;
+            }
+            int equals = header.indexOf('=', pos);
+            if (equals > 0 && equals < end && nameMatches(header, pos, equals, name)) {
+                int valueStart = equals + 1;
+                int valueEnd = end;
+                while (valueStart < valueEnd && header.charAt(valueStart) == ' ') {
+                    valueStart++;
+                }
+                while (valueEnd > valueStart && header.charAt(valueEnd - 1) == ' ') {
+                    valueEnd--;
+                }
+                return header.substring(valueStart, valueEnd);
+            }
+            pos = end + 1;
+        }
+        return null;
+    }
+
+    private static boolean nameMatches(String header, int start, int equals, String name) {
+        int nameEnd = equals;
+        while (nameEnd > start && header.charAt(nameEnd - 1) == ' ') {
+            nameEnd--;
+        }
+        return nameEnd - start == name.length() && header.regionMatches(start, name, 0, name.length());
+    }
+}
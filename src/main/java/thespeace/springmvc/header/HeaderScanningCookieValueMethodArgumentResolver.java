@@ -0,0 +1,64 @@
+package thespeace.springmvc.header;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.MissingRequestCookieException;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.AbstractNamedValueMethodArgumentResolver;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * <h2>{@code @CookieValue} - Cookie 헤더에서 필요한 쿠키만 찾기</h2>
+ * 기본 {@code ServletCookieValueMethodArgumentResolver}와 같은 규칙(필수 여부, 기본 값, 타입 변환, URL 디코딩)으로 동작하지만,
+ * {@code request.getCookies()}로 모든 쿠키를 파싱하지 않고 {@link CookieHeaderScanner}로 요청한 이름만 찾는다.
+ * {@code @CookieValue Cookie} 파라미터는 기본 리졸버가 처리한다.
+ */
+public class HeaderScanningCookieValueMethodArgumentResolver extends AbstractNamedValueMethodArgumentResolver {
+
+    private final UrlPathHelper urlPathHelper = UrlPathHelper.defaultInstance;
+
+    public HeaderScanningCookieValueMethodArgumentResolver(ConfigurableBeanFactory beanFactory) {
+        super(beanFactory);
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CookieValue.class)
+                && !Cookie.class.isAssignableFrom(parameter.getNestedParameterType());
+    }
+
+    @Override
+    protected NamedValueInfo createNamedValueInfo(MethodParameter parameter) {
+        CookieValue annotation = parameter.getParameterAnnotation(CookieValue.class);
+        if (annotation == null) {
+            return new NamedValueInfo("", true, ValueConstants.DEFAULT_NONE);
+        }
+        return new NamedValueInfo(annotation.name(), annotation.required(), annotation.defaultValue());
+    }
+
+    @Override
+    protected Object resolveName(String name, MethodParameter parameter, NativeWebRequest webRequest) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request == null) {
+            return null;
+        }
+        String value = CookieHeaderScanner.find(request, name);
+        return value != null ? urlPathHelper.decodeRequestString(request, value) : null;
+    }
+
+    @Override
+    protected void handleMissingValue(String name, MethodParameter parameter) throws ServletRequestBindingException {
+        throw new MissingRequestCookieException(name, parameter);
+    }
+
+    @Override
+    protected void handleMissingValueAfterConversion(String name, MethodParameter parameter, NativeWebRequest request)
+            throws Exception {
+        throw new MissingRequestCookieException(name, parameter, true);
+    }
+}
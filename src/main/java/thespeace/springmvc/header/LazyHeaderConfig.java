@@ -0,0 +1,35 @@
+package thespeace.springmvc.header;
+
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import thespeace.springmvc.web.HandlerAdapterCustomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>헤더, 쿠키 지연 조회 등록</h2>
+ * 기본 {@code RequestHeaderMapMethodArgumentResolver}, {@code ServletCookieValueMethodArgumentResolver}보다
+ * 먼저 실행되도록 ArgumentResolver 목록의 맨 앞에 추가한다.
+ */
+@Configuration
+public class LazyHeaderConfig {
+
+    @Bean
+    @Order(HandlerAdapterCustomizer.PREPEND_ORDER)
+    public HandlerAdapterCustomizer lazyHeaderHandlerAdapterCustomizer(ConfigurableBeanFactory beanFactory) {
+        return new HandlerAdapterCustomizer() {
+            @Override
+            public List<HandlerMethodArgumentResolver> customizeArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                List<HandlerMethodArgumentResolver> customized = new ArrayList<>(resolvers.size() + 2);
+                customized.add(new LazyRequestHeaderMapMethodArgumentResolver());
+                customized.add(new HeaderScanningCookieValueMethodArgumentResolver(beanFactory));
+                customized.addAll(resolvers);
+                return customized;
+            }
+        };
+    }
+}
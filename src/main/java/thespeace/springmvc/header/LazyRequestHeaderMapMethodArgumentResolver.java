@@ -0,0 +1,35 @@
+package thespeace.springmvc.header;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * <h2>{@code @RequestHeader MultiValueMap}, {@code @RequestHeader HttpHeaders} 지연 조회</h2>
+ * 기본 {@code RequestHeaderMapMethodArgumentResolver}는 요청마다 모든 헤더를 새 맵에 복사한다.
+ * 이 리졸버는 복사 없이 {@link ServletRequestHeaders} 뷰를 넘긴다. (읽기 전용)
+ * 일반 {@code Map<String, String>} 파라미터는 기본 리졸버가 그대로 처리한다.
+ */
+public class LazyRequestHeaderMapMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(RequestHeader.class)
+                && (type == MultiValueMap.class || type == HttpHeaders.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        ServletRequestHeaders headers = new ServletRequestHeaders(request);
+        return parameter.getParameterType() == HttpHeaders.class ? HttpHeaders.readOnlyHttpHeaders(headers) : headers;
+    }
+}
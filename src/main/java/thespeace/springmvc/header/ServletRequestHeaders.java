@@ -0,0 +1,179 @@
+package thespeace.springmvc.header;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.MultiValueMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h2>요청 헤더 읽기 전용 뷰</h2>
+ * 헤더를 새 맵에 복사하지 않고, 조회할 때마다 {@link HttpServletRequest#getHeader(String)},
+ * {@link HttpServletRequest#getHeaders(String)}로 컨테이너에 바로 묻는다.
+ * <ul>
+ *     <li>톰캣은 헤더 값을 요청 버퍼에 그대로 두고, 조회된 헤더만 문자열로 만든다. 쓰지 않는 헤더는 디코딩하지 않는다.</li>
+ *     <li>이름 비교는 컨테이너와 같이 대소문자를 구분하지 않는다.</li>
+ *     <li>{@link #size()}, {@link #keySet()}, {@link #entrySet()}, {@link #toString()}처럼 전체 헤더가 필요한 메서드만
+ *         헤더 이름 목록을 순회한다.</li>
+ *     <li>변경 메서드는 {@link UnsupportedOperationException}을 던진다.</li>
+ * </ul>
+ * {@code HttpHeaders.readOnlyHttpHeaders(view)}로 감싸면 {@code HttpHeaders} API 로도 쓸 수 있다.
+ */
+public class ServletRequestHeaders extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    private final HttpServletRequest request;
+
+    public ServletRequestHeaders(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public String getFirst(String key) {
+        return request.getHeader(key);
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        Enumeration<String> values = request.getHeaders(name);
+        if (values == null || !values.hasMoreElements()) {
+            return null;
+        }
+        String first = values.nextElement();
+        if (!values.hasMoreElements()) {
+            return Collections.singletonList(first);
+        }
+        List<String> list = new ArrayList<>(4);
+        list.add(first);
+        while (values.hasMoreElements()) {
+            list.add(values.nextElement());
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && request.getHeader(name) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        Enumeration<String> names = request.getHeaderNames();
+        return names == null || !names.hasMoreElements();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> names = new LinkedHashSet<>();
+        Enumeration<String> headerNames = request.getHeaderNames();
+        if (headerNames != null) {
+            while (headerNames.hasMoreElements()) {
+                names.add(headerNames.nextElement());
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        Set<String> names = keySet();
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, List<String>>> iterator() {
+                Iterator<String> iterator = names.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, List<String>> next() {
+                        String name = iterator.next();
+                        return new SimpleImmutableEntry<>(name, get(name));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.size();
+            }
+        };
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String name : keySet()) {
+            map.put(name, getFirst(name));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public void add(String key, String value) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void addAll(String key, List<? extends String> values) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void addAll(MultiValueMap<String, String> values) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void set(String key, String value) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<String>> map) {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("request headers are read-only");
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        List<List<String>> values = new ArrayList<>();
+        for (String name : keySet()) {
+            values.add(get(name));
+        }
+        return Collections.unmodifiableList(values);
+    }
+}
@@ -0,0 +1,41 @@
+package thespeace.springmvc.logging;
+
+import org.springframework.stereotype.Component;
+import thespeace.springmvc.metrics.MetricsSource;
+import thespeace.springmvc.metrics.MetricsWriter;
+
+import java.util.List;
+
+/**
+ * <h2>{@link RingBufferAppender} 지표</h2>
+ * Appender 는 스프링 빈이 아니라 logback 이 만들기 때문에, 실행 중인 인스턴스 목록을 읽어서 내보낸다.
+ * {@code async-logging} 프로파일이 아니면 내보낼 지표가 없다.
+ */
+@Component
+public class LoggingMetrics implements MetricsSource {
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        List<RingBufferAppender> appenders = RingBufferAppender.instances();
+        if (appenders.isEmpty()) {
+            return;
+        }
+        writer.type("thespeace_log_ring_depth", "gauge", "Log events waiting in the ring buffer.");
+        for (RingBufferAppender appender : appenders) {
+            writer.sample("thespeace_log_ring_depth", appender.depth(), "appender", appender.getName());
+        }
+        writer.type("thespeace_log_ring_capacity", "gauge", "Log ring buffer capacity.");
+        for (RingBufferAppender appender : appenders) {
+            writer.sample("thespeace_log_ring_capacity", appender.getCapacity(), "appender", appender.getName());
+        }
+        writer.type("thespeace_log_ring_events_total", "counter", "Log events not written immediately, by outcome.");
+        for (RingBufferAppender appender : appenders) {
+            writer.sample("thespeace_log_ring_events_total", appender.getDroppedCount(),
+                            "appender", appender.getName(), "outcome", "dropped")
+                    .sample("thespeace_log_ring_events_total", appender.getSampledOutCount(),
+                            "appender", appender.getName(), "outcome", "sampled_out")
+                    .sample("thespeace_log_ring_events_total", appender.getBlockedCount(),
+                            "appender", appender.getName(), "outcome", "blocked");
+        }
+    }
+}
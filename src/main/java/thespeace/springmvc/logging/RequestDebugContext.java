@@ -0,0 +1,29 @@
+package thespeace.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * <h2>현재 요청의 디버그 로그 레벨</h2>
+ * {@link RequestDebugSamplingFilter}가 선택된 요청의 처리 쓰레드에 레벨을 설정하고,
+ * {@link RequestDebugTurboFilter}가 로그 호출마다 읽는다.
+ * 선택되지 않은 요청은 null 이다.
+ */
+public final class RequestDebugContext {
+
+    private static final ThreadLocal<Level> LEVEL = new ThreadLocal<>();
+
+    private RequestDebugContext() {
+    }
+
+    public static Level get() {
+        return LEVEL.get();
+    }
+
+    static void set(Level level) {
+        LEVEL.set(level);
+    }
+
+    static void clear() {
+        LEVEL.remove();
+    }
+}
@@ -0,0 +1,78 @@
+package thespeace.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <h2>디버그 로그를 남길 요청 선택</h2>
+ * 전체 로그 레벨을 DEBUG 로 올리지 않고, 일부 요청만 골라서 DEBUG/TRACE 로그를 남긴다.
+ * <ul>
+ *     <li>헤더 : {@code mode: debug} 또는 {@code mode: trace} 헤더가 있는 요청
+ *         ({@code MappingController.mappingHeader}의 {@code headers = "mode=debug"}와 같은 헤더)</li>
+ *     <li>샘플링 : {@code thespeace.logging.debug-sample-rate} 비율(0.0 ~ 1.0)만큼 무작위로 고른 요청 (DEBUG)</li>
+ * </ul>
+ * 선택된 요청의 로그에는 MDC {@code debugLog}(header, sampled)가 붙는다.
+ * 요청이 끝나면 쓰레드의 설정을 지운다. (쓰레드 풀 재사용 시 다른 요청에 남지 않게)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestDebugSamplingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "mode";
+    static final String MDC_KEY = "debugLog";
+
+    private final double sampleRate;
+    private final boolean headerEnabled;
+
+    public RequestDebugSamplingFilter(@Value("${thespeace.logging.debug-sample-rate:0.0}") double sampleRate,
+                                      @Value("${thespeace.logging.debug-header.enabled:true}") boolean headerEnabled) {
+        this.sampleRate = sampleRate;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Level level = null;
+        String reason = null;
+        if (headerEnabled) {
+            String mode = request.getHeader(HEADER);
+            if ("debug".equalsIgnoreCase(mode)) {
+                level = Level.DEBUG;
+                reason = "header";
+            } else if ("trace".equalsIgnoreCase(mode)) {
+                level = Level.TRACE;
+                reason = "header";
+            }
+        }
+        if (level == null && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            level = Level.DEBUG;
+            reason = "sampled";
+        }
+
+        if (level == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestDebugContext.set(level);
+        MDC.put(MDC_KEY, reason);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+            RequestDebugContext.clear();
+        }
+    }
+}
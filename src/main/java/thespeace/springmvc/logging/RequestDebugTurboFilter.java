@@ -0,0 +1,38 @@
+package thespeace.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * <h2>선택된 요청만 DEBUG/TRACE 로그 출력</h2>
+ * 로거 레벨은 INFO 로 두고, {@link RequestDebugContext}에 레벨이 설정된 요청 쓰레드에서만
+ * {@code loggerPrefix} 아래 로거의 DEBUG/TRACE 로그를 레벨 검사 없이 통과({@link FilterReply#ACCEPT})시킨다.
+ * <ul>
+ *     <li>INFO 이상 로그 : 아무것도 확인하지 않는다. (기존 레벨 규칙대로)</li>
+ *     <li>선택되지 않은 요청의 {@code log.debug} : ThreadLocal 조회 1번 후 기존 레벨 규칙대로 버려진다.</li>
+ * </ul>
+ * 설정 : {@code logback-spring.xml}의 {@code <turboFilter>}
+ */
+public class RequestDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "thespeace.springmvc";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.levelInt >= Level.INFO_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        Level requestLevel = RequestDebugContext.get();
+        if (requestLevel == null || !level.isGreaterOrEqual(requestLevel) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.ACCEPT;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
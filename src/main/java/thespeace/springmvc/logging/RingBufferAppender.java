@@ -0,0 +1,287 @@
+package thespeace.springmvc.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h2>락 없는 링 버퍼 비동기 Appender</h2>
+ * 요청 쓰레드는 이벤트를 미리 할당해둔 슬롯에 넣고 바로 돌아가고, 백그라운드 쓰레드 하나가 꺼내서
+ * {@code <appender-ref>}로 연결된 실제 Appender(콘솔, 파일)에 쓴다.
+ * <ul>
+ *     <li>생산자(요청 쓰레드) : 시퀀스를 CAS 로 하나 차지하고 슬롯에 이벤트를 쓴 뒤 발행 표시를 한다. 락, 큐 노드 할당이 없다.</li>
+ *     <li>소비자(writer 쓰레드) : 발행된 순서대로 꺼내서 쓰고, 슬롯을 비워서 재사용한다.</li>
+ *     <li>logback 의 {@code AsyncAppender}는 {@code ArrayBlockingQueue}(락 1개)를 모든 요청 쓰레드가 함께 잡는다.</li>
+ * </ul>
+ *
+ * <h2>버퍼가 찼을 때({@link OverflowPolicy})</h2>
+ * <ul>
+ *     <li>BLOCK : 자리가 날 때까지 요청 쓰레드가 기다린다. 로그는 잃지 않는다.</li>
+ *     <li>DROP : INFO 이하 이벤트는 버린다. WARN 이상은 기다린다.</li>
+ *     <li>SAMPLE : 버퍼가 {@code sampleThreshold}% 이상 차면 INFO 이하 이벤트를 {@code sampleRate}개 중 1개만 넣고,
+ *         가득 차면 DROP 과 같다. WARN 이상은 기다린다.</li>
+ * </ul>
+ * 버린 수, 샘플링으로 건너뛴 수, 기다린 수, 현재 대기 중인 이벤트 수는 {@link LoggingMetrics}로 내보낸다.
+ * 설정 : {@code logback-spring.xml}의 {@code async-logging} 프로파일
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    public enum OverflowPolicy {
+        BLOCK, DROP, SAMPLE
+    }
+
+    private static final List<RingBufferAppender> INSTANCES = new CopyOnWriteArrayList<>();
+    private static final int SPIN_TRIES = 100;
+    private static final long MIN_PARK_NANOS = 10_000;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int capacity = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private int sampleRate = 10;
+    private int sampleThreshold = 75;
+    private boolean includeCallerData;
+    private int maxFlushTime = 1000;
+
+    private ILoggingEvent[] slots;
+    private AtomicLongArray published;
+    private int mask;
+    private long sampleDepth;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public static List<RingBufferAppender> instances() {
+        return INSTANCES;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found for [" + getName() + "]");
+            return;
+        }
+        if (capacity < 2 || sampleRate < 1) {
+            addError("Invalid capacity [" + capacity + "] or sampleRate [" + sampleRate + "]");
+            return;
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        slots = new ILoggingEvent[size];
+        published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        mask = size - 1;
+        capacity = size;
+        sampleDepth = (long) size * sampleThreshold / 100;
+
+        running = true;
+        writer = new Thread(this::drain, "logback-ring-" + getName());
+        writer.setDaemon(true);
+        writer.start();
+        INSTANCES.add(this);
+        super.start();
+        addInfo("Ring buffer capacity [" + size + "], overflow policy [" + overflowPolicy + "]");
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(maxFlushTime);
+            if (writer.isAlive()) {
+                addWarn("Max flush time [" + maxFlushTime + "ms] exceeded, " + depth() + " events may be discarded");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addError("Failed to join writer thread, events may be discarded", e);
+        }
+        INSTANCES.remove(this);
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean important = event.getLevel().isGreaterOrEqual(Level.WARN);
+        if (overflowPolicy == OverflowPolicy.SAMPLE && !important && depth() >= sampleDepth
+                && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            sampledOut.increment();
+            return;
+        }
+        //다른 쓰레드에서 출력하므로 메시지 포맷, MDC, 쓰레드 이름을 지금 확정해둔다.
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        publish(event, important || overflowPolicy == OverflowPolicy.BLOCK);
+    }
+
+    private void publish(ILoggingEvent event, boolean waitIfFull) {
+        long sequence;
+        boolean waited = false;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence - consumed.get() > mask) {
+                if (!waitIfFull || !running) {
+                    dropped.increment();
+                    return;
+                }
+                if (!waited) {
+                    blocked.increment();
+                    waited = true;
+                }
+                LockSupport.parkNanos(MIN_PARK_NANOS);
+                continue;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        int index = (int) sequence & mask;
+        slots[index] = event;
+        published.lazySet(index, sequence);
+    }
+
+    private void drain() {
+        long next = consumed.get();
+        int idle = 0;
+        long parkNanos = MIN_PARK_NANOS;
+        while (running || next < claimed.get()) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                if (++idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(parkNanos);
+                    parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+                }
+                continue;
+            }
+            idle = 0;
+            parkNanos = MIN_PARK_NANOS;
+
+            ILoggingEvent event = slots[index];
+            slots[index] = null;
+            consumed.lazySet(++next);
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Failed to append event", e);
+            }
+        }
+    }
+
+    public long depth() {
+        return Math.max(0, claimed.get() - consumed.get());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @param sampleThreshold 샘플링을 시작할 버퍼 사용률(%)
+     */
+    public void setSampleThreshold(int sampleThreshold) {
+        this.sampleThreshold = sampleThreshold;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,284 @@
+package thespeace.springmvc.mapping;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h2>경로 세그먼트 트라이</h2>
+ * {@code /mapping/users/{userId}}를 {@code mapping -> users -> {userId}} 세그먼트 단위 트리로 저장한다.
+ * 요청 경로를 세그먼트 단위로 한 번 따라가면 되므로, 등록된 핸들러 수와 상관없이 경로 길이에 비례하는 시간에 찾는다.
+ * <ul>
+ *     <li>지원 패턴 : 리터럴 세그먼트({@code users}), 세그먼트 전체 경로 변수({@code {userId}})</li>
+ *     <li>지원하지 않는 패턴({@code *}, {@code **}, {@code {id:[0-9]+}}, {@code file.{ext}} 등)은 등록하지 않는다.</li>
+ *     <li>여러 패턴이 매칭되면 {@link PathPattern#SPECIFICITY_COMPARATOR}(스프링과 같은 우선순위)로 고른다.</li>
+ *     <li>조건(params, headers, consumes, produces)이 있는 매핑과 같은 경로가 매칭되면 결정을 미루고 null 을 반환한다.
+ *         (호출한 쪽이 기본 RequestMappingHandlerMapping 으로 처리한다)</li>
+ * </ul>
+ * 트라이는 생성 후 변경하지 않는다. 매핑이 바뀌면 새로 만든다.
+ */
+final class RouteTrie {
+
+    /**
+     * 트라이에 등록된 핸들러
+     */
+    record Route(HandlerMethod handlerMethod, PathPattern pattern, String[] variableNames) {
+    }
+
+    /**
+     * 매칭 결과
+     */
+    record Match(Route route, Map<String, String> uriVariables) {
+    }
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        Node variable;
+        Map<RequestMethod, Route> routes;
+        Route anyMethodRoute;
+        boolean conditional;
+
+        /**
+         * HTTP 메서드를 지정한 매핑이 메서드 조건이 없는 매핑보다 우선한다. HEAD 는 GET 매핑으로도 처리한다.
+         */
+        Route route(RequestMethod method) {
+            if (routes != null) {
+                Route route = routes.get(method);
+                if (route == null && method == RequestMethod.HEAD) {
+                    route = routes.get(RequestMethod.GET);
+                }
+                if (route != null) {
+                    return route;
+                }
+            }
+            return anyMethodRoute;
+        }
+    }
+
+    private final Node root = new Node();
+    private final List<PathPattern> unsupportedConditionalPatterns = new ArrayList<>();
+    private int maxVariables;
+    private int routeCount;
+
+    /**
+     * @return 트라이로 표현할 수 있는 패턴이면 세그먼트 목록, 아니면 null
+     */
+    static String[] segments(PathPattern pattern) {
+        String text = pattern.getPatternString();
+        if (text.isEmpty() || text.charAt(0) != '/') {
+            return null;
+        }
+        String[] segments = text.substring(1).split("/", -1);
+        for (String segment : segments) {
+            if (!isLiteral(segment) && variableName(segment) == null) {
+                return null;
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            switch (segment.charAt(i)) {
+                case '{', '}', '*', '?', ';', '%' -> {
+                    return false;
+                }
+                default -> {
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String variableName(String segment) {
+        if (segment.length() < 3 || segment.charAt(0) != '{' || segment.charAt(segment.length() - 1) != '}') {
+            return null;
+        }
+        String name = segment.substring(1, segment.length() - 1);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return null;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * 조건 없는 매핑을 등록한다.
+     * @param methods 비어 있으면 모든 HTTP 메서드
+     */
+    void add(PathPattern pattern, String[] segments, RequestMethod[] methods, HandlerMethod handlerMethod) {
+        List<String> variableNames = new ArrayList<>();
+        Node node = root;
+        for (String segment : segments) {
+            String variableName = variableName(segment);
+            if (variableName != null) {
+                variableNames.add(variableName);
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.literals.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        maxVariables = Math.max(maxVariables, variableNames.size());
+
+        //같은 경로, 같은 메서드에 패턴이 둘 이상이면(예: /a/{x}, /a/{y}) 스프링이 판단하도록 결정을 미룬다.
+        Route route = new Route(handlerMethod, pattern, variableNames.toArray(String[]::new));
+        if (methods.length == 0) {
+            if (node.anyMethodRoute != null) {
+                node.conditional = true;
+            }
+            node.anyMethodRoute = route;
+        } else {
+            if (node.routes == null) {
+                node.routes = new EnumMap<>(RequestMethod.class);
+            }
+            for (RequestMethod method : methods) {
+                if (node.routes.put(method, route) != null) {
+                    node.conditional = true;
+                }
+            }
+        }
+        routeCount++;
+    }
+
+    /**
+     * 조건이 있거나 트라이로 표현할 수 없는 매핑을 등록한다. 이 경로가 매칭되면 항상 결정을 미룬다.
+     */
+    void addConditional(PathPattern pattern) {
+        String[] segments = segments(pattern);
+        if (segments == null) {
+            unsupportedConditionalPatterns.add(pattern);
+            return;
+        }
+        Node node = root;
+        int variables = 0;
+        for (String segment : segments) {
+            if (variableName(segment) != null) {
+                variables++;
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.literals.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        //조건 있는 매핑의 경로 변수도 탐색 중에 값을 담으므로 배열 크기에 포함한다.
+        maxVariables = Math.max(maxVariables, variables);
+        node.conditional = true;
+    }
+
+    int size() {
+        return routeCount;
+    }
+
+    /**
+     * @param path 요청 경로 (예: {@code /mapping/users/userA})
+     * @return 매칭되는 핸들러, 없거나 결정을 미뤄야 하면 null
+     */
+    Match match(String path, RequestMethod method) {
+        if (path.isEmpty() || path.charAt(0) != '/' || path.indexOf(';') >= 0 || path.indexOf('%') >= 0) {
+            return null;
+        }
+        Search search = new Search(method, maxVariables);
+        search(root, path, 1, 0, search);
+        if (search.deferred || search.best == null) {
+            return null;
+        }
+        if (!unsupportedConditionalPatterns.isEmpty()) {
+            PathContainer pathContainer = PathContainer.parsePath(path);
+            for (PathPattern pattern : unsupportedConditionalPatterns) {
+                if (pattern.matches(pathContainer)) {
+                    return null;
+                }
+            }
+        }
+        return new Match(search.best, uriVariables(search.best, search.bestValues));
+    }
+
+    private static final class Search {
+        final RequestMethod method;
+        final String[] values;
+        Route best;
+        String[] bestValues;
+        boolean deferred;
+
+        Search(RequestMethod method, int maxVariables) {
+            this.method = method;
+            this.values = new String[maxVariables];
+        }
+    }
+
+    private void search(Node node, String path, int start, int captured, Search search) {
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        Node literal = node.literals.get(path.substring(start, end));
+        if (literal != null) {
+            next(literal, path, end, captured, search);
+        }
+        if (node.variable != null && end > start && !search.deferred) {
+            search.values[captured] = path.substring(start, end);
+            next(node.variable, path, end, captured + 1, search);
+        }
+    }
+
+    private void next(Node child, String path, int end, int captured, Search search) {
+        if (search.deferred) {
+            return;
+        }
+        if (end < path.length()) {
+            search(child, path, end + 1, captured, search);
+            return;
+        }
+        if (child.conditional) {
+            search.deferred = true;
+            return;
+        }
+        Route route = child.route(search.method);
+        if (route == null) {
+            return;
+        }
+        if (search.best == null) {
+            search.best = route;
+            search.bestValues = Arrays.copyOf(search.values, captured);
+            return;
+        }
+        int compare = PathPattern.SPECIFICITY_COMPARATOR.compare(route.pattern(), search.best.pattern());
+        if (compare < 0) {
+            search.best = route;
+            search.bestValues = Arrays.copyOf(search.values, captured);
+        } else if (compare == 0) {
+            //우선순위가 같은 패턴(예: /a/{x}, /{y}/b)은 스프링이 모호한 매핑으로 처리하도록 미룬다.
+            search.deferred = true;
+        }
+    }
+
+    private static Map<String, String> uriVariables(Route route, String[] values) {
+        String[] names = route.variableNames();
+        if (names.length == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> variables = new LinkedHashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            variables.put(names[i], values[i]);
+        }
+        return variables;
+    }
+}
@@ -0,0 +1,28 @@
+package thespeace.springmvc.mapping;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * <h2>트라이 핸들러 매핑 사용 설정</h2>
+ * {@code thespeace.mvc.trie-mapping.enabled=true}일 때 스프링 부트가 만드는 {@link RequestMappingHandlerMapping}을
+ * {@link TrieRequestMappingHandlerMapping}으로 바꾼다.
+ * 인터셉터, CORS, 경로 매칭 설정 등은 {@link WebMvcRegistrations}를 통해 기존과 똑같이 적용된다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "thespeace.mvc.trie-mapping.enabled", havingValue = "true")
+public class TrieMappingConfig {
+
+    @Bean
+    public WebMvcRegistrations trieMappingRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                return new TrieRequestMappingHandlerMapping();
+            }
+        };
+    }
+}
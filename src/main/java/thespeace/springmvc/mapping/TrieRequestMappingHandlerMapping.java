@@ -0,0 +1,124 @@
+package thespeace.springmvc.mapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.condition.PathPatternsRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <h2>트라이 기반 RequestMappingHandlerMapping</h2>
+ * 기본 {@link RequestMappingHandlerMapping}은 요청마다 등록된 매핑을 훑으며 {@link PathPattern}을 하나씩 매칭해본다.
+ * 이 클래스는 시작 시점에 등록된 {@code @RequestMapping} 패턴을 {@link RouteTrie}로 컴파일해두고 먼저 찾아본다.
+ * <ul>
+ *     <li>트라이에서 찾으면 : 경로 길이에 비례하는 시간에 핸들러와 경로 변수를 얻는다. (정규식 없음)</li>
+ *     <li>트라이로 결정할 수 없으면 : params, headers, consumes, produces 조건이 있는 매핑,
+ *         {@code **} 같은 패턴, OPTIONS(CORS preflight) 요청, 404/405 는 기본 구현({@code super})이 처리한다.</li>
+ *     <li>요청 속성(BEST_MATCHING_PATTERN, URI_TEMPLATE_VARIABLES 등)은 기본 구현과 같은 값으로 채우므로
+ *         {@code @PathVariable} 등 이후 처리 과정은 그대로 동작한다.</li>
+ * </ul>
+ * 런타임에 {@link #registerMapping}, {@link #unregisterMapping}으로 매핑이 바뀌면 다음 요청에서 트라이를 다시 만든다.
+ */
+@Slf4j
+public class TrieRequestMappingHandlerMapping extends RequestMappingHandlerMapping {
+
+    private volatile RouteTrie routeTrie;
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        routeTrie = compileRouteTrie();
+    }
+
+    @Override
+    public void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        routeTrie = null;
+    }
+
+    @Override
+    public void unregisterMapping(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        routeTrie = null;
+    }
+
+    @Override
+    protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+        RequestMethod method = RequestMethod.resolve(request.getMethod());
+        if (method != null && method != RequestMethod.OPTIONS && usesPathPatterns()) {
+            RouteTrie.Match match = routeTrie().match(lookupPath, method);
+            if (match != null) {
+                HandlerMethod handlerMethod = match.route().handlerMethod();
+                exposeMatch(match, handlerMethod, lookupPath, request);
+                return handlerMethod;
+            }
+        }
+        return super.lookupHandlerMethod(lookupPath, request);
+    }
+
+    /**
+     * 기본 구현의 {@code lookupHandlerMethod -> handleMatch}가 남기는 요청 속성을 똑같이 남긴다.
+     */
+    private void exposeMatch(RouteTrie.Match match, HandlerMethod handlerMethod, String lookupPath,
+                             HttpServletRequest request) {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, lookupPath);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, match.route().pattern().getPatternString());
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, match.uriVariables());
+        request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, Collections.emptyMap());
+    }
+
+    private RouteTrie routeTrie() {
+        RouteTrie trie = routeTrie;
+        if (trie == null) {
+            synchronized (this) {
+                trie = routeTrie;
+                if (trie == null) {
+                    trie = compileRouteTrie();
+                    routeTrie = trie;
+                }
+            }
+        }
+        return trie;
+    }
+
+    private RouteTrie compileRouteTrie() {
+        RouteTrie trie = new RouteTrie();
+        int conditional = 0;
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : getHandlerMethods().entrySet()) {
+            RequestMappingInfo info = entry.getKey();
+            PathPatternsRequestCondition patternsCondition = info.getPathPatternsCondition();
+            if (patternsCondition == null) {
+                continue;
+            }
+            RequestMethod[] methods = info.getMethodsCondition().getMethods().toArray(RequestMethod[]::new);
+            for (PathPattern pattern : patternsCondition.getPatterns()) {
+                String[] segments = RouteTrie.segments(pattern);
+                if (segments != null && isUnconditional(info)) {
+                    trie.add(pattern, segments, methods, entry.getValue());
+                } else {
+                    trie.addConditional(pattern);
+                    conditional++;
+                }
+            }
+        }
+        log.debug("route trie compiled routes={}, conditional={}", trie.size(), conditional);
+        return trie;
+    }
+
+    private static boolean isUnconditional(RequestMappingInfo info) {
+        return info.getParamsCondition().isEmpty()
+                && info.getHeadersCondition().isEmpty()
+                && info.getConsumesCondition().isEmpty()
+                && info.getProducesCondition().isEmpty()
+                && info.getCustomCondition() == null;
+    }
+}
@@ -0,0 +1,73 @@
+package thespeace.springmvc.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>핸들러 메서드별 할당 바이트</h2>
+ * {@link HandlerAllocationInterceptor}가 샘플링한 요청의 할당량을 핸들러별로 더한다.
+ * <ul>
+ *     <li>{@code thespeace_http_server_allocated_bytes_total} : 샘플링한 요청이 할당한 바이트 합계</li>
+ *     <li>{@code thespeace_http_server_allocation_samples_total} : 샘플링한 요청 수</li>
+ *     <li>{@code thespeace_http_server_allocated_bytes_max} : 요청 하나의 최대 할당량</li>
+ * </ul>
+ * 요청당 평균 할당량 = {@code allocated_bytes_total / allocation_samples_total}
+ * (예: {@code requestParamMap}과 {@code modelAttributeV1} 비교)
+ */
+public class AllocationMetrics implements MetricsSource {
+
+    private final ConcurrentMap<Method, HandlerAllocation> handlers = new ConcurrentHashMap<>();
+
+    static final class HandlerAllocation {
+        final String handler;
+        final LongAdder bytes = new LongAdder();
+        final LongAdder samples = new LongAdder();
+        final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        HandlerAllocation(String handler) {
+            this.handler = handler;
+        }
+
+        void record(long allocatedBytes) {
+            bytes.add(allocatedBytes);
+            samples.increment();
+            max.accumulate(allocatedBytes);
+        }
+    }
+
+    HandlerAllocation allocation(HandlerMethod handlerMethod) {
+        HandlerAllocation allocation = handlers.get(handlerMethod.getMethod());
+        if (allocation != null) {
+            return allocation;
+        }
+        return handlers.computeIfAbsent(handlerMethod.getMethod(),
+                method -> new HandlerAllocation(handlerMethod.getBeanType().getSimpleName() + "." + method.getName()));
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        Map<String, HandlerAllocation> sorted = new TreeMap<>();
+        handlers.values().forEach(allocation -> sorted.put(allocation.handler, allocation));
+
+        writer.type("thespeace_http_server_allocated_bytes_total", "counter",
+                "Bytes allocated by the request thread in sampled requests.");
+        sorted.forEach((handler, allocation) ->
+                writer.sample("thespeace_http_server_allocated_bytes_total", allocation.bytes.sum(), "handler", handler));
+        writer.type("thespeace_http_server_allocation_samples_total", "counter", "Requests sampled for allocation.");
+        sorted.forEach((handler, allocation) ->
+                writer.sample("thespeace_http_server_allocation_samples_total", allocation.samples.sum(), "handler", handler));
+        writer.type("thespeace_http_server_allocated_bytes_max", "gauge", "Largest allocation of a sampled request.");
+        sorted.forEach((handler, allocation) ->
+                writer.sample("thespeace_http_server_allocated_bytes_max", allocation.max.get(), "handler", handler));
+    }
+}
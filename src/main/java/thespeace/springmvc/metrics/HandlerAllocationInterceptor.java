@@ -0,0 +1,80 @@
+package thespeace.springmvc.metrics;
+
+import com.sun.management.ThreadMXBean;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <h2>핸들러 할당량 샘플링</h2>
+ * 샘플링된 요청만 {@code preHandle}과 {@code afterCompletion}에서 요청 쓰레드의 누적 할당 바이트
+ * ({@link ThreadMXBean#getCurrentThreadAllocatedBytes()})를 읽어서 차이를 {@link AllocationMetrics}에 더한다.
+ * <ul>
+ *     <li>측정 구간 : 바인딩, 핸들러, 응답 쓰기/뷰 렌더링 (다른 인터셉터 포함, 필터 제외)</li>
+ *     <li>TLAB 단위로 집계되는 값을 읽으므로 수십 나노초가 걸린다. 그래서 일부 요청만 샘플링한다.</li>
+ *     <li>비동기 요청처럼 다른 쓰레드에서 끝난 요청은 기록하지 않는다.</li>
+ *     <li>가상 쓰레드는 {@link Thread#isVirtual()}로 먼저 걸러서 샘플링하지 않는다. (JDK 가 값을 제공하지 않고 -1 을 반환한다)</li>
+ * </ul>
+ */
+public class HandlerAllocationInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = HandlerAllocationInterceptor.class.getName() + ".sample";
+
+    private final AllocationMetrics metrics;
+    private final ThreadMXBean threadMXBean;
+    private final double sampleRate;
+
+    private record Sample(AllocationMetrics.HandlerAllocation allocation, Thread thread, long startBytes) {
+    }
+
+    public HandlerAllocationInterceptor(AllocationMetrics metrics, ThreadMXBean threadMXBean, double sampleRate) {
+        this.metrics = metrics;
+        this.threadMXBean = threadMXBean;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return 할당량 측정을 지원하는 JVM 이면 ThreadMXBean, 아니면 null
+     */
+    public static ThreadMXBean allocationMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod
+                && !Thread.currentThread().isVirtual()
+                && ThreadLocalRandom.current().nextDouble() < sampleRate
+                && request.getAttribute(SAMPLE_ATTRIBUTE) == null) {
+            long startBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+            if (startBytes >= 0) {
+                request.setAttribute(SAMPLE_ATTRIBUTE,
+                        new Sample(metrics.allocation(handlerMethod), Thread.currentThread(), startBytes));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Sample sample) {
+            request.removeAttribute(SAMPLE_ATTRIBUTE);
+            if (sample.thread() == Thread.currentThread()) {
+                long endBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+                if (endBytes >= sample.startBytes()) {
+                    sample.allocation().record(endBytes - sample.startBytes());
+                }
+            }
+        }
+    }
+}
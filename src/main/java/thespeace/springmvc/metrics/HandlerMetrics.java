@@ -0,0 +1,136 @@
+package thespeace.springmvc.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>핸들러 메서드별 요청 지표</h2>
+ * {@link HandlerMetricsInterceptor}가 기록하고, {@link MetricsController}가 Prometheus 텍스트 형식으로 내보낸다.
+ * <ul>
+ *     <li>{@code thespeace_http_server_requests_seconds} : 지연 시간 히스토그램 (histogram)</li>
+ *     <li>{@code thespeace_http_server_requests_quantile_seconds} : p50, p90, p99, p99.9, max (gauge, 시작 이후 누적)</li>
+ *     <li>{@code thespeace_http_server_responses_total} : 상태 코드별 응답 수 (counter)</li>
+ *     <li>{@code thespeace_http_server_requests_in_flight} : 처리 중인 요청 수 (gauge)</li>
+ * </ul>
+ * 내부 히스토그램({@link StripedHistogram})은 약 6% 정밀도로 기록하고,
+ * 내보낼 때만 Prometheus {@code le} 경계로 합친다. (경계에 걸친 버킷은 아래 경계로 세지 않으므로 근사치다)
+ */
+public class HandlerMetrics implements MetricsSource {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private static final double[] LE_SECONDS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final ConcurrentMap<Method, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * 핸들러 메서드 하나의 기록기. 요청마다 찾지 않도록 {@code preHandle}에서 찾아서 요청 속성에 보관한다.
+     */
+    public static final class Recorder {
+
+        private static final int MIN_STATUS = 100;
+        private static final int MAX_STATUS = 599;
+
+        private final String handler;
+        private final StripedHistogram latency = new StripedHistogram();
+        private final AtomicReferenceArray<LongAdder> statuses = new AtomicReferenceArray<>(MAX_STATUS - MIN_STATUS + 1);
+        private final LongAdder inFlight = new LongAdder();
+
+        Recorder(String handler) {
+            this.handler = handler;
+        }
+
+        public void started() {
+            inFlight.increment();
+        }
+
+        public void completed(long latencyNanos, int status) {
+            inFlight.decrement();
+            latency.record(latencyNanos);
+            int index = Math.min(Math.max(status, MIN_STATUS), MAX_STATUS) - MIN_STATUS;
+            LongAdder counter = statuses.get(index);
+            if (counter == null) {
+                statuses.compareAndSet(index, null, new LongAdder());
+                counter = statuses.get(index);
+            }
+            counter.increment();
+        }
+    }
+
+    public Recorder recorder(HandlerMethod handlerMethod) {
+        Recorder recorder = recorders.get(handlerMethod.getMethod());
+        if (recorder != null) {
+            return recorder;
+        }
+        return recorders.computeIfAbsent(handlerMethod.getMethod(),
+                method -> new Recorder(handlerMethod.getBeanType().getSimpleName() + "." + method.getName()));
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        List<Recorder> sorted = new ArrayList<>(recorders.values());
+        sorted.sort(Comparator.comparing(recorder -> recorder.handler));
+        if (sorted.isEmpty()) {
+            return;
+        }
+        List<StripedHistogram.Snapshot> snapshots = new ArrayList<>(sorted.size());
+        for (Recorder recorder : sorted) {
+            snapshots.add(recorder.latency.snapshot());
+        }
+
+        String histogram = "thespeace_http_server_requests_seconds";
+        writer.type(histogram, "histogram", "Handler latency from preHandle to afterCompletion.");
+        for (int i = 0; i < sorted.size(); i++) {
+            String handler = sorted.get(i).handler;
+            StripedHistogram.Snapshot snapshot = snapshots.get(i);
+            for (double le : LE_SECONDS) {
+                writer.sample(histogram + "_bucket", snapshot.countAtOrBelow((long) (le * NANOS_PER_SECOND)),
+                        "handler", handler, "le", Double.toString(le));
+            }
+            writer.sample(histogram + "_bucket", snapshot.count(), "handler", handler, "le", "+Inf")
+                    .sample(histogram + "_count", snapshot.count(), "handler", handler)
+                    .sample(histogram + "_sum", snapshot.sum() / NANOS_PER_SECOND, "handler", handler);
+        }
+
+        String quantile = "thespeace_http_server_requests_quantile_seconds";
+        writer.type(quantile, "gauge", "Handler latency quantiles since start (about 6% precision).");
+        for (int i = 0; i < sorted.size(); i++) {
+            String handler = sorted.get(i).handler;
+            StripedHistogram.Snapshot snapshot = snapshots.get(i);
+            for (double q : QUANTILES) {
+                writer.sample(quantile, snapshot.valueAt(q) / NANOS_PER_SECOND,
+                        "handler", handler, "quantile", Double.toString(q));
+            }
+            writer.sample(quantile, snapshot.max() / NANOS_PER_SECOND, "handler", handler, "quantile", "max");
+        }
+
+        String responses = "thespeace_http_server_responses_total";
+        writer.type(responses, "counter", "Responses by handler and status code.");
+        for (Recorder recorder : sorted) {
+            for (int index = 0; index < recorder.statuses.length(); index++) {
+                LongAdder counter = recorder.statuses.get(index);
+                if (counter != null) {
+                    writer.sample(responses, counter.sum(),
+                            "handler", recorder.handler, "status", Integer.toString(index + Recorder.MIN_STATUS));
+                }
+            }
+        }
+
+        String inFlight = "thespeace_http_server_requests_in_flight";
+        writer.type(inFlight, "gauge", "Requests currently being handled.");
+        for (Recorder recorder : sorted) {
+            writer.sample(inFlight, recorder.inFlight.sum(), "handler", recorder.handler);
+        }
+    }
+}
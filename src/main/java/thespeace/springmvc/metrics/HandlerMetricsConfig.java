@@ -0,0 +1,59 @@
+package thespeace.springmvc.metrics;
+
+import com.sun.management.ThreadMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * <h2>핸들러 지표 등록</h2>
+ * <ul>
+ *     <li>{@link HandlerMetricsInterceptor} : 가장 먼저 실행되는 인터셉터로 등록한다.
+ *         기록 비용이 수십 나노초 수준이라 항상 켜둔다.</li>
+ *     <li>{@link HandlerAllocationInterceptor} : {@code thespeace.metrics.allocation.sample-rate} 비율의 요청만 측정한다.
+ *         0 이거나 JVM 이 쓰레드별 할당량을 제공하지 않으면 등록하지 않는다.</li>
+ * </ul>
+ *
+ * @see <a href="http://localhost:8080/internal/metrics">test url</a>
+ */
+@Slf4j
+@Configuration
+public class HandlerMetricsConfig implements WebMvcConfigurer {
+
+    private final double allocationSampleRate;
+
+    public HandlerMetricsConfig(@Value("${thespeace.metrics.allocation.sample-rate:0.01}") double allocationSampleRate) {
+        this.allocationSampleRate = allocationSampleRate;
+    }
+
+    @Bean
+    public HandlerMetrics handlerMetrics() {
+        return new HandlerMetrics();
+    }
+
+    @Bean
+    public AllocationMetrics allocationMetrics() {
+        return new AllocationMetrics();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerMetricsInterceptor(handlerMetrics()))
+                .order(Ordered.HIGHEST_PRECEDENCE);
+
+        if (allocationSampleRate <= 0) {
+            return;
+        }
+        ThreadMXBean threadMXBean = HandlerAllocationInterceptor.allocationMXBean();
+        if (threadMXBean == null) {
+            log.warn("thread allocated memory is not supported, allocation metrics disabled");
+            return;
+        }
+        registry.addInterceptor(new HandlerAllocationInterceptor(allocationMetrics(), threadMXBean, allocationSampleRate))
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
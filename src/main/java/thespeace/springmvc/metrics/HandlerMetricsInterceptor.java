@@ -0,0 +1,51 @@
+package thespeace.springmvc.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * <h2>핸들러 지연 시간, 상태 코드 기록</h2>
+ * {@code preHandle}에서 시작 시각을 남기고 {@code afterCompletion}에서 {@link HandlerMetrics}에 기록한다.
+ * <ul>
+ *     <li>가장 먼저 실행되도록 등록하므로, 다른 인터셉터가 {@code preHandle}에서 응답해도(예: 304) 기록된다.</li>
+ *     <li>비동기 요청({@code Callable}, {@code DeferredResult})은 재디스패치에서 다시 {@code preHandle}이 호출되므로,
+ *         처음 시작 시각을 유지하고 재디스패치의 {@code afterCompletion}에서 한 번만 기록한다.</li>
+ *     <li>처리되지 않은 예외로 끝나면 컨테이너가 500 으로 응답하므로 500 으로 기록한다.</li>
+ *     <li>핸들러를 찾지 못한 요청(404)은 인터셉터가 실행되지 않으므로 기록되지 않는다.</li>
+ * </ul>
+ * 요청당 비용 : {@code System.nanoTime()} 2번, 요청 속성 1개, 작은 객체 1개 할당, 카운터 증가 몇 번
+ */
+public class HandlerMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String TIMING_ATTRIBUTE = HandlerMetricsInterceptor.class.getName() + ".timing";
+
+    private final HandlerMetrics metrics;
+
+    private record Timing(HandlerMetrics.Recorder recorder, long startNanos) {
+    }
+
+    public HandlerMetricsInterceptor(HandlerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && request.getAttribute(TIMING_ATTRIBUTE) == null) {
+            HandlerMetrics.Recorder recorder = metrics.recorder(handlerMethod);
+            recorder.started();
+            request.setAttribute(TIMING_ATTRIBUTE, new Timing(recorder, System.nanoTime()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(TIMING_ATTRIBUTE) instanceof Timing timing) {
+            request.removeAttribute(TIMING_ATTRIBUTE);
+            int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+            timing.recorder().completed(System.nanoTime() - timing.startNanos(), status);
+        }
+    }
+}
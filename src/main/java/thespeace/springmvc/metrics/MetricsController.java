@@ -0,0 +1,29 @@
+package thespeace.springmvc.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * <h2>내부 지표 조회</h2>
+ * 등록된 모든 {@link MetricsSource}의 지표를 Prometheus 텍스트 형식으로 반환한다.
+ * 스크레이프 설정 예: {@code metrics_path: /internal/metrics}
+ *
+ * @see <a href="http://localhost:8080/internal/metrics">test url</a>
+ */
+@RestController
+public class MetricsController {
+
+    private final ObjectProvider<MetricsSource> sources;
+
+    public MetricsController(ObjectProvider<MetricsSource> sources) {
+        this.sources = sources;
+    }
+
+    @GetMapping(value = "/internal/metrics", produces = MetricsWriter.CONTENT_TYPE)
+    public String metrics() {
+        MetricsWriter writer = new MetricsWriter();
+        sources.orderedStream().forEach(source -> source.collect(writer));
+        return writer.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package thespeace.springmvc.metrics;
+
+/**
+ * <h2>지표 제공자</h2>
+ * 캐시 적중률, 버퍼 사용량 같은 지표를 가진 빈이 구현한다.
+ * {@link MetricsController}가 요청마다 모든 구현 빈의 {@link #collect(MetricsWriter)}를 호출해서
+ * Prometheus 텍스트 형식으로 내보낸다.
+ * <ul>
+ *     <li>지표 값은 {@code LongAdder}, {@code AtomicLong} 등으로 미리 집계해두고, 여기서는 읽기만 한다.</li>
+ *     <li>지표 이름은 {@code thespeace_} 접두사와 단위 접미사(예: {@code _bytes}, {@code _total})를 붙인다.</li>
+ * </ul>
+ */
+public interface MetricsSource {
+
+    void collect(MetricsWriter writer);
+}
@@ -0,0 +1,86 @@
+package thespeace.springmvc.metrics;
+
+/**
+ * <h2>Prometheus 텍스트 형식 작성기</h2>
+ * {@code # HELP}, {@code # TYPE} 줄과 {@code name{label="value"} 123} 형식의 샘플 줄을 만든다.
+ * <ul>
+ *     <li>라벨은 {@code "이름", "값", "이름", "값" ...} 순서로 넘긴다.</li>
+ *     <li>같은 지표의 샘플을 여러 줄 쓸 때는 {@link #type}을 한 번 쓰고 {@link #sample}을 반복한다.</li>
+ * </ul>
+ * @see <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Exposition formats</a>
+ */
+public class MetricsWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    public MetricsWriter counter(String name, String help, double value, String... labels) {
+        return type(name, "counter", help).sample(name, value, labels);
+    }
+
+    public MetricsWriter gauge(String name, String help, double value, String... labels) {
+        return type(name, "gauge", help).sample(name, value, labels);
+    }
+
+    /**
+     * @param type {@code counter}, {@code gauge}, {@code histogram}, {@code summary}
+     */
+    public MetricsWriter type(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    public MetricsWriter sample(String name, double value, String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("labels must be name/value pairs: " + labels.length);
+        }
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"");
+                appendEscaped(labels[i + 1]);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+        appendValue(value);
+        out.append('\n');
+        return this;
+    }
+
+    private void appendEscaped(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private void appendValue(double value) {
+        if (Double.isNaN(value)) {
+            out.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            out.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,162 @@
+package thespeace.springmvc.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h2>락 없는 로그-선형 히스토그램</h2>
+ * HdrHistogram 과 같은 방식으로 값을 버킷에 나눠 센다. 2의 거듭제곱 구간마다 {@value #SUB_BUCKETS}개의 같은 폭 버킷을 둔다.
+ * <ul>
+ *     <li>정밀도 : 버킷 폭이 값의 1/16 이하이므로 분위수 오차는 약 6% 이내다.</li>
+ *     <li>범위 : 0 ~ 2^{@value #MAX_EXPONENT}, 이보다 큰 값은 마지막 버킷에 넣는다. (나노초면 약 68초)</li>
+ *     <li>기록 : 버킷 계산(비트 연산) + {@link AtomicLongArray} 증가 2번. 락, 할당이 없다.</li>
+ *     <li>쓰레드 경합을 줄이려고 카운터 배열을 CPU 수만큼 나눠두고(stripe) 쓰레드 ID 로 고른다.
+ *         읽을 때({@link #snapshot()})만 합친다.</li>
+ * </ul>
+ * 스냅샷은 기록과 동시에 만들어지므로 버킷 합계와 {@code count}가 조금 어긋날 수 있다. (모니터링 용도로는 충분하다)
+ */
+public final class StripedHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int MAX_EXPONENT = 36;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    //stripe 마다 [버킷..., count, sum]
+    private static final int COUNT_SLOT = BUCKETS;
+    private static final int SUM_SLOT = BUCKETS + 1;
+
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+
+    public StripedHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS + 2);
+        }
+    }
+
+    private static int stripes() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return Integer.highestOneBit(Math.max(1, processors - 1) << 1);
+    }
+
+    public void record(long value) {
+        long clamped = value < 0 ? 0 : Math.min(value, MAX_VALUE);
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().threadId() & (STRIPES - 1)];
+        stripe.getAndIncrement(bucketIndex(clamped));
+        stripe.getAndIncrement(COUNT_SLOT);
+        stripe.getAndAdd(SUM_SLOT, clamped);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * @return 버킷에 들어가는 가장 작은 값
+     */
+    static long lowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+
+    /**
+     * @return 버킷에 들어가는 가장 큰 값
+     */
+    static long upperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return lowerBound(index) + (1L << shift) - 1;
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        long sum = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+            count += stripe.get(COUNT_SLOT);
+            sum += stripe.get(SUM_SLOT);
+        }
+        return new Snapshot(counts, count, sum);
+    }
+
+    /**
+     * 특정 시점의 누적 값
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        Snapshot(long[] counts, long count, long sum) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long sum() {
+            return sum;
+        }
+
+        /**
+         * @return {@code value} 이하로 기록된 값의 수 (버킷 상한이 {@code value} 이하인 버킷의 합)
+         */
+        public long countAtOrBelow(long value) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS && upperBound(i) <= value; i++) {
+                total += counts[i];
+            }
+            return total;
+        }
+
+        /**
+         * @param quantile 0.0 ~ 1.0
+         * @return 분위수가 속한 버킷의 상한, 기록이 없으면 0
+         */
+        public long valueAt(double quantile) {
+            long total = 0;
+            for (long bucket : counts) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        public long max() {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package thespeace.springmvc.resource;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <h2>사전 압축 + 메모리 정적 리소스 등록</h2>
+ * 스프링 부트 기본 정적 리소스 매핑({@code spring.web.resources.add-mappings=false}로 끔) 대신
+ * {@code /**} -> {@code classpath:/static/}을 다음 리소스 체인으로 등록한다.
+ * <ol>
+ *     <li>{@code CachingResourceResolver} : 경로 + 인코딩별 결과 캐시 ({@code resourceChain(true)})</li>
+ *     <li>{@link EncodedResourceResolver} : Accept-Encoding 에 gzip, deflate 가 있으면 {@code .gz}, {@code .zz} 파일을 선택하고
+ *         {@code Content-Encoding}, {@code Vary: Accept-Encoding}을 붙인다.</li>
+ *     <li>{@link PreloadedResourceResolver} : 메모리에 올려둔 파일 반환</li>
+ * </ol>
+ * 압축 파일은 빌드 시점에 {@code precompressStaticResources} 작업이 만든다. 요청 처리 중에는 압축하지 않는다.
+ */
+@Configuration
+public class PrecompressedResourceConfig implements WebMvcConfigurer {
+
+    static final String LOCATION = "classpath:/static/";
+
+    @Bean
+    public PreloadedResourceResolver preloadedResourceResolver() throws IOException {
+        return new PreloadedResourceResolver(LOCATION);
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        EncodedResourceResolver encodedResourceResolver = new EncodedResourceResolver();
+        encodedResourceResolver.setContentCodings(List.of("gzip", "deflate"));
+        encodedResourceResolver.registerExtension("deflate", ".zz");
+
+        PreloadedResourceResolver preloadedResourceResolver;
+        try {
+            preloadedResourceResolver = preloadedResourceResolver();
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to preload static resources: " + LOCATION, e);
+        }
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations(LOCATION)
+                .resourceChain(true)
+                .addResolver(encodedResourceResolver)
+                .addResolver(preloadedResourceResolver);
+    }
+}
@@ -0,0 +1,153 @@
+package thespeace.springmvc.resource;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.DescriptiveResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * <h2>메모리에 올려둔 정적 리소스</h2>
+ * 파일 내용을 {@link ByteBuffer}(메모리 맵 또는 direct 버퍼)로 들고 있다.
+ * 요청마다 파일을 열거나 읽지 않고, 버퍼의 복사본 뷰({@link ByteBuffer#duplicate()})에서 바로 읽는다.
+ * <ul>
+ *     <li>{@link #createRelative(String)} : {@code EncodedResourceResolver}가 {@code index.html.gz} 같은
+ *         압축 파일을 찾을 때 호출한다. 미리 올려둔 리소스에서 찾고, 없으면 존재하지 않는 리소스를 반환한다.</li>
+ *     <li>{@link #lastModified()} : 압축 파일도 원본 파일의 수정 시각을 사용한다. (인코딩과 상관없이 같은 Last-Modified)</li>
+ * </ul>
+ */
+final class PreloadedResource extends AbstractResource {
+
+    private final String path;
+    private final ByteBuffer content;
+    private final Map<String, PreloadedResource> resources;
+    private long lastModified;
+
+    PreloadedResource(String path, ByteBuffer content, long lastModified, Map<String, PreloadedResource> resources) {
+        this.path = path;
+        this.content = content.asReadOnlyBuffer();
+        this.lastModified = lastModified;
+        this.resources = resources;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public boolean isReadable() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return content.remaining();
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String getFilename() {
+        return StringUtils.getFilename(path);
+    }
+
+    @Override
+    public String getDescription() {
+        return "preloaded resource [" + path + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(content.duplicate());
+    }
+
+    @Override
+    public Resource createRelative(String relativePath) {
+        String relative = StringUtils.applyRelativePath(path, relativePath);
+        PreloadedResource resource = resources.get(relative);
+        return resource != null ? resource : new DescriptiveResource("missing preloaded resource [" + relative + "]");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof PreloadedResource that && path.equals(that.path));
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    /**
+     * {@code skip()}을 위치 이동으로 처리하므로, Range 요청({@code ResourceRegion})도 앞부분을 읽지 않고 바로 이동한다.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private static final int CHUNK_SIZE = 8192;
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long transferred = buffer.remaining();
+            byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE, transferred)];
+            while (buffer.hasRemaining()) {
+                int count = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, count);
+                out.write(chunk, 0, count);
+            }
+            return transferred;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package thespeace.springmvc.resource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import thespeace.springmvc.metrics.MetricsSource;
+import thespeace.springmvc.metrics.MetricsWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h2>정적 리소스를 시작 시점에 메모리에 올려두는 ResourceResolver</h2>
+ * {@code location}(예: {@code classpath:/static/}) 아래의 모든 파일과 빌드 시점에 만든 압축 파일({@code .gz}, {@code .zz})을
+ * 한 번만 읽어서 {@link PreloadedResource}로 보관한다. 리소스 체인의 마지막 리졸버로 사용한다.
+ * <ul>
+ *     <li>파일 시스템에 있는 리소스(개발 환경, 압축을 푼 배포) : 읽기 전용 메모리 맵</li>
+ *     <li>jar 안의 리소스 : direct {@link ByteBuffer}에 복사</li>
+ *     <li>애플리케이션 실행 중 파일을 추가, 변경해도 반영되지 않는다. (빌드 결과물만 서비스한다)</li>
+ * </ul>
+ * Accept-Encoding 에 따른 선택은 앞 단계의 {@code EncodedResourceResolver}가, Range, If-Modified-Since 처리는
+ * {@code ResourceHttpRequestHandler}가 맡는다.
+ */
+@Slf4j
+public class PreloadedResourceResolver implements ResourceResolver, MetricsSource {
+
+    private static final List<String> ENCODED_EXTENSIONS = List.of(".gz", ".zz");
+
+    private final Map<String, PreloadedResource> resources = new HashMap<>();
+    private long totalBytes;
+
+    public PreloadedResourceResolver(String location) throws IOException {
+        PathMatchingResourcePatternResolver patternResolver = new PathMatchingResourcePatternResolver();
+        String root = patternResolver.getResource(location).getURL().toString();
+        for (Resource resource : patternResolver.getResources(location + "**")) {
+            String url = resource.getURL().toString();
+            if (!url.startsWith(root) || url.endsWith("/") || !resource.isReadable()) {
+                continue;
+            }
+            String path = url.substring(root.length());
+            ByteBuffer content = load(resource);
+            resources.put(path, new PreloadedResource(path, content, resource.lastModified(), resources));
+            totalBytes += content.remaining();
+        }
+        for (PreloadedResource resource : resources.values()) {
+            for (String extension : ENCODED_EXTENSIONS) {
+                if (resource.getPath().endsWith(extension)) {
+                    PreloadedResource original = resources.get(
+                            resource.getPath().substring(0, resource.getPath().length() - extension.length()));
+                    if (original != null) {
+                        resource.setLastModified(original.lastModified());
+                    }
+                }
+            }
+        }
+        log.info("preloaded static resources location={}, files={}, bytes={}", location, resources.size(), totalBytes);
+    }
+
+    private static ByteBuffer load(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            File file = resource.getFile();
+            if (!file.isFile()) {
+                return ByteBuffer.allocate(0);
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = resource.getInputStream()) {
+            byte[] bytes = in.readAllBytes();
+            return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        }
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        return resources.get(requestPath);
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return resources.containsKey(resourcePath) ? resourcePath : null;
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        writer.gauge("thespeace_static_preloaded_files", "Static resources held in memory.", resources.size());
+        writer.gauge("thespeace_static_preloaded_bytes", "Static resource bytes held in memory.", totalBytes);
+    }
+}
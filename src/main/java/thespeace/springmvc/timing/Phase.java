@@ -0,0 +1,54 @@
+package thespeace.springmvc.timing;
+
+/**
+ * <h2>요청 처리 단계</h2>
+ * {@code Request_Mapping_Handler_Adapter_Structure.md}의 처리 흐름을 단계로 나눈 것이다.
+ * 각 단계는 다른 단계와 겹치지 않는다. (bind 는 read 를 뺀 시간)
+ */
+public enum Phase {
+
+    /**
+     * 필터, 핸들러 매핑, 앞쪽 인터셉터 (요청 시작 -> 인터셉터 {@code preHandle})
+     */
+    DISPATCH("dispatch"),
+
+    /**
+     * ArgumentResolver ({@code @RequestParam}, {@code @ModelAttribute} 바인딩 등, 본문 읽기 제외)
+     */
+    BIND("bind"),
+
+    /**
+     * HttpMessageConverter 읽기 ({@code @RequestBody}, {@code HttpEntity} 본문 역직렬화)
+     */
+    READ("read"),
+
+    /**
+     * 핸들러(컨트롤러 메서드) 실행
+     */
+    HANDLER("handler"),
+
+    /**
+     * HttpMessageConverter 쓰기 ({@code @ResponseBody}, {@code HttpEntity} 직렬화 + 응답 출력)
+     */
+    WRITE("write"),
+
+    /**
+     * 뷰 조회(ViewResolver) + 렌더링(View)
+     */
+    RENDER("render"),
+
+    /**
+     * 요청 전체
+     */
+    TOTAL("total");
+
+    private final String metricName;
+
+    Phase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,77 @@
+package thespeace.springmvc.timing;
+
+import thespeace.springmvc.metrics.MetricsSource;
+import thespeace.springmvc.metrics.MetricsWriter;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>핸들러별 단계 시간 합계</h2>
+ * {@code thespeace_http_server_phase_seconds_total{handler, phase}}(시간 합계)와
+ * {@code thespeace_http_server_phase_requests_total{handler}}(요청 수)를 내보낸다.
+ * 둘을 나누면 단계별 평균 시간이다. 예: {@code /request-body-json-v3}에서 read 와 bind 중 어느 쪽이 큰지
+ * <blockquote><pre>
+ * rate(thespeace_http_server_phase_seconds_total{handler="RequestBodyJsonController.requestBodyJsonV3"}[1m])
+ *   / ignoring(phase) rate(thespeace_http_server_phase_requests_total{handler="RequestBodyJsonController.requestBodyJsonV3"}[1m])
+ * </pre></blockquote>
+ * 핸들러를 찾지 못한 요청(404, 정적 리소스 등)은 집계하지 않는다.
+ */
+public class PhaseMetrics implements MetricsSource {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final ConcurrentMap<String, HandlerPhases> handlers = new ConcurrentHashMap<>();
+
+    private static final class HandlerPhases {
+        final LongAdder requests = new LongAdder();
+        final LongAdder[] nanos = new LongAdder[PHASES.length];
+
+        HandlerPhases() {
+            for (int i = 0; i < nanos.length; i++) {
+                nanos[i] = new LongAdder();
+            }
+        }
+    }
+
+    void record(RequestTimings timings) {
+        String handler = timings.handler();
+        if (handler == null) {
+            return;
+        }
+        HandlerPhases phases = handlers.get(handler);
+        if (phases == null) {
+            phases = handlers.computeIfAbsent(handler, key -> new HandlerPhases());
+        }
+        phases.requests.increment();
+        for (Phase phase : PHASES) {
+            long value = timings.nanos(phase);
+            if (value != 0) {
+                phases.nanos[phase.ordinal()].add(value);
+            }
+        }
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        if (handlers.isEmpty()) {
+            return;
+        }
+        Map<String, HandlerPhases> sorted = new TreeMap<>(handlers);
+        writer.type("thespeace_http_server_phase_seconds_total", "counter",
+                "Time spent per request processing phase.");
+        sorted.forEach((handler, phases) -> {
+            for (Phase phase : PHASES) {
+                writer.sample("thespeace_http_server_phase_seconds_total",
+                        phases.nanos[phase.ordinal()].sum() / 1_000_000_000.0,
+                        "handler", handler, "phase", phase.metricName());
+            }
+        });
+        writer.type("thespeace_http_server_phase_requests_total", "counter", "Requests with phase timings.");
+        sorted.forEach((handler, phases) ->
+                writer.sample("thespeace_http_server_phase_requests_total", phases.requests.sum(), "handler", handler));
+    }
+}
@@ -0,0 +1,88 @@
+package thespeace.springmvc.timing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import thespeace.springmvc.web.HandlerAdapterCustomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h2>요청 단계별 시간 측정 등록</h2>
+ * {@code thespeace.timing.enabled=true}일 때만 등록한다.
+ * <ul>
+ *     <li>{@link RequestTimingFilter} : 요청 시작/끝, 집계</li>
+ *     <li>{@link RequestTimingInterceptor} : dispatch, handler, render 경계</li>
+ *     <li>ArgumentResolver : 모든 리졸버를 {@link TimingHandlerMethodArgumentResolver}로 감싼다.
+ *         다른 {@link HandlerAdapterCustomizer}가 추가한 리졸버도 감싸도록 마지막에 적용한다.</li>
+ *     <li>HttpMessageConverter : {@link RequestMappingHandlerAdapter} 초기화 전에 컨버터 목록을 감싼다.
+ *         (어댑터가 초기화하면서 이 목록으로 {@code @RequestBody}, {@code @ResponseBody} 처리기를 만든다)</li>
+ * </ul>
+ * {@code Server-Timing} 헤더는 브라우저 개발자 도구에서 보인다. 내부 처리 시간이 외부에 노출되므로
+ * 운영 환경에서는 {@code thespeace.timing.server-timing-header=false}로 끄고 지표만 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "thespeace.timing.enabled", havingValue = "true")
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    private final boolean serverTimingHeader;
+
+    public RequestTimingConfig(@Value("${thespeace.timing.server-timing-header:true}") boolean serverTimingHeader) {
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Bean
+    public PhaseMetrics phaseMetrics() {
+        return new PhaseMetrics();
+    }
+
+    @Bean
+    public RequestTimingFilter requestTimingFilter() {
+        return new RequestTimingFilter(phaseMetrics(), serverTimingHeader);
+    }
+
+    @Bean
+    @Order(HandlerAdapterCustomizer.WRAP_ALL_ORDER)
+    public HandlerAdapterCustomizer timingHandlerAdapterCustomizer() {
+        return new HandlerAdapterCustomizer() {
+            @Override
+            public List<HandlerMethodArgumentResolver> customizeArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                return resolvers.stream()
+                        .<HandlerMethodArgumentResolver>map(TimingHandlerMethodArgumentResolver::new)
+                        .toList();
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor timingMessageConverterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter adapter) {
+                    List<HttpMessageConverter<?>> converters = new ArrayList<>();
+                    for (HttpMessageConverter<?> converter : adapter.getMessageConverters()) {
+                        converters.add(TimingHttpMessageConverter.wrap(converter));
+                    }
+                    adapter.setMessageConverters(converters);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestTimingInterceptor()).order(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+}
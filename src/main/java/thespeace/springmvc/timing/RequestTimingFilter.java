@@ -0,0 +1,46 @@
+package thespeace.springmvc.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * <h2>요청 단계별 시간 측정 시작과 집계</h2>
+ * 요청마다 {@link RequestTimings}를 요청 속성에 만들고, 요청이 끝나면 {@link PhaseMetrics}에 더한다.
+ * 핸들러가 응답을 쓰지 않고 끝난 경우(예: 빈 응답, 리다이렉트)에는 여기서 {@code Server-Timing} 헤더를 추가한다.
+ * 비동기 요청은 처음 디스패치가 끝날 때 기록한다. (비동기 처리 시간은 포함하지 않는다)
+ */
+class RequestTimingFilter extends OncePerRequestFilter implements Ordered {
+
+    private final PhaseMetrics metrics;
+    private final boolean serverTimingHeader;
+
+    RequestTimingFilter(PhaseMetrics metrics, boolean serverTimingHeader) {
+        this.metrics = metrics;
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = new RequestTimings(response, serverTimingHeader, System.nanoTime());
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        try {
+            filterChain.doFilter(request, response);
+            timings.writeHeader();
+        } finally {
+            timings.finish(System.nanoTime());
+            metrics.record(timings);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package thespeace.springmvc.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * <h2>핸들러 단계 경계 표시</h2>
+ * <ul>
+ *     <li>{@code preHandle} : dispatch 끝, 핸들러 시작</li>
+ *     <li>{@code postHandle} : 핸들러 끝(응답 쓰기가 없었다면), 뷰가 있으면 {@code Server-Timing} 헤더 추가 후 render 시작</li>
+ *     <li>{@code afterCompletion} : render 끝</li>
+ * </ul>
+ */
+class RequestTimingInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTimings timings = (RequestTimings) request.getAttribute(RequestTimings.ATTRIBUTE);
+        if (timings != null && handler instanceof HandlerMethod handlerMethod) {
+            timings.handlerFound(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(),
+                    System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        RequestTimings timings = (RequestTimings) request.getAttribute(RequestTimings.ATTRIBUTE);
+        if (timings == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        timings.handlerReturned(now);
+        if (modelAndView != null && !modelAndView.wasCleared()) {
+            timings.writeHeader();
+            timings.renderStarted(now);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTimings timings = (RequestTimings) request.getAttribute(RequestTimings.ATTRIBUTE);
+        if (timings != null) {
+            timings.renderFinished(System.nanoTime());
+        }
+    }
+}
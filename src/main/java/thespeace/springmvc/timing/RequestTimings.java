@@ -0,0 +1,138 @@
+package thespeace.springmvc.timing;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+
+/**
+ * <h2>요청 하나의 단계별 시간</h2>
+ * {@link RequestTimingFilter}가 요청 속성에 만들어두고, 감싼 ArgumentResolver, HttpMessageConverter,
+ * {@link RequestTimingInterceptor}가 단계별 시간을 더한다. 한 요청은 한 번에 한 쓰레드에서만 처리되므로 동기화하지 않는다.
+ * <ul>
+ *     <li>handler : 마지막 ArgumentResolver 가 끝난 시점(인자가 없으면 {@code preHandle})부터
+ *         응답 쓰기({@code write}) 또는 {@code postHandle} 중 먼저 오는 시점까지</li>
+ *     <li>{@code Server-Timing} 헤더는 응답이 커밋되기 직전(쓰기, 렌더링 시작 전)에 추가하므로
+ *         dispatch, bind, read, handler 만 들어간다. write, render, total 은 {@link PhaseMetrics}에서 확인한다.</li>
+ * </ul>
+ */
+public final class RequestTimings {
+
+    static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final HttpServletResponse response;
+    private final boolean serverTimingHeader;
+    private final long startNanos;
+    private final long[] nanos = new long[Phase.values().length];
+
+    private String handler;
+    private long handlerStartNanos;
+    private boolean handlerRunning;
+    private long renderStartNanos;
+    private int bindDepth;
+    private boolean headerWritten;
+
+    RequestTimings(HttpServletResponse response, boolean serverTimingHeader, long startNanos) {
+        this.response = response;
+        this.serverTimingHeader = serverTimingHeader;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * @return 현재 요청의 기록, 측정 중이 아니면 null
+     */
+    static RequestTimings current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (RequestTimings) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+
+    String handler() {
+        return handler;
+    }
+
+    long nanos(Phase phase) {
+        return switch (phase) {
+            case BIND -> Math.max(0, nanos[Phase.BIND.ordinal()] - nanos[Phase.READ.ordinal()]);
+            default -> nanos[phase.ordinal()];
+        };
+    }
+
+    void handlerFound(String handler, long now) {
+        if (this.handler != null) {
+            return; //비동기 재디스패치
+        }
+        this.handler = handler;
+        nanos[Phase.DISPATCH.ordinal()] = now - startNanos;
+        handlerStartNanos = now;
+        handlerRunning = true;
+    }
+
+    /**
+     * @return 가장 바깥쪽 ArgumentResolver 호출이면 true (다른 리졸버를 호출하는 리졸버의 시간을 두 번 세지 않는다)
+     */
+    boolean bindStarted() {
+        return bindDepth++ == 0;
+    }
+
+    void bindFinished(boolean outermost, long elapsed, long now) {
+        bindDepth--;
+        if (outermost) {
+            nanos[Phase.BIND.ordinal()] += elapsed;
+            handlerStartNanos = now;
+        }
+    }
+
+    void add(Phase phase, long elapsed) {
+        nanos[phase.ordinal()] += elapsed;
+    }
+
+    void handlerReturned(long now) {
+        if (handlerRunning) {
+            handlerRunning = false;
+            nanos[Phase.HANDLER.ordinal()] = now - handlerStartNanos;
+        }
+    }
+
+    void renderStarted(long now) {
+        renderStartNanos = now;
+    }
+
+    void renderFinished(long now) {
+        if (renderStartNanos != 0) {
+            nanos[Phase.RENDER.ordinal()] = now - renderStartNanos;
+            renderStartNanos = 0;
+        }
+    }
+
+    void finish(long now) {
+        nanos[Phase.TOTAL.ordinal()] = now - startNanos;
+    }
+
+    /**
+     * 응답이 커밋되기 전이면 지금까지의 단계를 {@code Server-Timing} 헤더로 추가한다. (요청당 한 번)
+     */
+    void writeHeader() {
+        if (!serverTimingHeader || headerWritten || response.isCommitted()) {
+            return;
+        }
+        headerWritten = true;
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : new Phase[]{Phase.DISPATCH, Phase.BIND, Phase.READ, Phase.HANDLER}) {
+            long value = nanos(phase);
+            if (value == 0) {
+                continue;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(phase.metricName()).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", value / 1_000_000.0));
+        }
+        if (!header.isEmpty()) {
+            response.addHeader("Server-Timing", header.toString());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package thespeace.springmvc.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * <h2>ArgumentResolver 실행 시간 측정 ({@link Phase#BIND})</h2>
+ */
+class TimingHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final HandlerMethodArgumentResolver delegate;
+
+    TimingHandlerMethodArgumentResolver(HandlerMethodArgumentResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        RequestTimings timings = (RequestTimings) webRequest.getAttribute(RequestTimings.ATTRIBUTE, NativeWebRequest.SCOPE_REQUEST);
+        if (timings == null) {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        }
+        boolean outermost = timings.bindStarted();
+        long start = System.nanoTime();
+        try {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        } finally {
+            long now = System.nanoTime();
+            timings.bindFinished(outermost, now - start, now);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Timing[" + delegate + "]";
+    }
+}
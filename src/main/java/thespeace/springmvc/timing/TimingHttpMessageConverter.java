@@ -0,0 +1,156 @@
+package thespeace.springmvc.timing;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * <h2>HttpMessageConverter 읽기/쓰기 시간 측정 ({@link Phase#READ}, {@link Phase#WRITE})</h2>
+ * 쓰기를 시작하면 핸들러 실행이 끝난 것으로 보고, 응답이 커밋되기 전에 {@code Server-Timing} 헤더를 추가한다.
+ * <ul>
+ *     <li>{@link GenericHttpMessageConverter}(예: Jackson)는 {@link Generic}으로 감싸야
+ *         {@code List<HelloData>} 같은 제네릭 타입 변환이 그대로 동작한다.</li>
+ *     <li>{@code RequestBodyAdvice}, {@code ResponseBodyAdvice}에는 감싼 클래스가 컨버터 타입으로 전달되므로,
+ *         컨버터 타입을 보고 동작하는 advice(예: {@code @JsonView})는 측정 중에 적용되지 않는다.</li>
+ * </ul>
+ */
+class TimingHttpMessageConverter<T> implements HttpMessageConverter<T> {
+
+    final HttpMessageConverter<T> delegate;
+
+    TimingHttpMessageConverter(HttpMessageConverter<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static HttpMessageConverter<?> wrap(HttpMessageConverter<?> converter) {
+        if (converter instanceof TimingHttpMessageConverter<?>) {
+            return converter;
+        }
+        return converter instanceof GenericHttpMessageConverter generic
+                ? new Generic<>(generic)
+                : new TimingHttpMessageConverter<>(converter);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return delegate.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return delegate.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public T read(Class<? extends T> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        RequestTimings timings = RequestTimings.current();
+        long start = System.nanoTime();
+        try {
+            return delegate.read(clazz, inputMessage);
+        } finally {
+            readFinished(timings, start);
+        }
+    }
+
+    @Override
+    public void write(T t, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTimings timings = writeStarted();
+        long start = System.nanoTime();
+        try {
+            delegate.write(t, contentType, outputMessage);
+        } finally {
+            writeFinished(timings, start);
+        }
+    }
+
+    static void readFinished(RequestTimings timings, long start) {
+        if (timings != null) {
+            timings.add(Phase.READ, System.nanoTime() - start);
+        }
+    }
+
+    static RequestTimings writeStarted() {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            timings.handlerReturned(System.nanoTime());
+            timings.writeHeader();
+        }
+        return timings;
+    }
+
+    static void writeFinished(RequestTimings timings, long start) {
+        if (timings != null) {
+            timings.add(Phase.WRITE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Timing[" + delegate + "]";
+    }
+
+    static class Generic<T> extends TimingHttpMessageConverter<T> implements GenericHttpMessageConverter<T> {
+
+        private final GenericHttpMessageConverter<T> generic;
+
+        Generic(GenericHttpMessageConverter<T> delegate) {
+            super(delegate);
+            this.generic = delegate;
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return generic.canRead(type, contextClass, mediaType);
+        }
+
+        @Override
+        public T read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+                throws IOException, HttpMessageNotReadableException {
+            RequestTimings timings = RequestTimings.current();
+            long start = System.nanoTime();
+            try {
+                return generic.read(type, contextClass, inputMessage);
+            } finally {
+                readFinished(timings, start);
+            }
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return generic.canWrite(type, clazz, mediaType);
+        }
+
+        @Override
+        public void write(T t, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            RequestTimings timings = writeStarted();
+            long start = System.nanoTime();
+            try {
+                generic.write(t, type, contentType, outputMessage);
+            } finally {
+                writeFinished(timings, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package thespeace.springmvc.user;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <h2>나이 보조 인덱스</h2>
+ * {@code (age, userId)}를 {@code long} 하나로 묶은 키를 정렬해서 보관한다. {@code TreeMap<Integer, Set<Long>>} 같은 박싱 구조를 쓰지 않는다.
+ * <ul>
+ *     <li>키 : 상위 32비트 = age(부호 있음), 하위 32비트 = userId. {@code long} 비교 순서가 곧 (age, userId) 순서다.
+ *         그래서 userId 는 0 ~ 2<sup>32</sup>-1 이어야 한다.</li>
+ *     <li>저장 : 정렬된 {@code long[]} 청크({@value #CHUNK_SIZE}개)의 목록. 청크별 첫 키 배열을 이진 탐색해서 청크를 찾고,
+ *         청크 안에서 다시 이진 탐색한다. 추가/삭제는 청크 하나 안에서만 배열을 민다. (전체 배열 복사 없음)</li>
+ *     <li>청크가 가득 차면 반으로 나누고, 비면 목록에서 뺀다. 이웃 청크와 합쳐서 반 이하가 되면 합친다.</li>
+ *     <li>범위 조회는 시작 키의 위치를 찾은 뒤 청크를 차례로 읽는다. 비용은 log(n) + 결과 수다.</li>
+ *     <li>동시성 : {@link ReentrantReadWriteLock}. 조회끼리는 기다리지 않고, 변경은 하나씩 한다.
+ *         변경 한 번은 청크 하나의 배열 이동뿐이라 락을 짧게 잡는다.</li>
+ * </ul>
+ * 같은 회원의 변경 순서는 호출하는 쪽({@link UserRepository}의 스트라이프 락)이 지킨다.
+ */
+public class AgeIndex {
+
+    static final int CHUNK_SIZE = 1024;
+
+    /**
+     * 한 번에 만들 때 청크를 이만큼만 채운다. (바로 뒤의 추가가 곧바로 청크를 나누지 않도록)
+     */
+    private static final int LOAD_FILL = CHUNK_SIZE * 3 / 4;
+
+    private static final long MAX_USER_ID = 0xFFFF_FFFFL;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[][] chunks = new long[16][];
+    private long[] firstKeys = new long[16];
+    private int[] sizes = new int[16];
+    private int chunkCount;
+    private int size;
+
+    public static long key(int age, long userId) {
+        if (userId < 0 || userId > MAX_USER_ID) {
+            throw new IllegalArgumentException("userId out of index range: " + userId);
+        }
+        return ((long) age << 32) | userId;
+    }
+
+    public static int age(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static long userId(long key) {
+        return key & MAX_USER_ID;
+    }
+
+    /**
+     * 나이가 {@code maxAge}인 마지막 키. 범위 조회의 끝(포함)으로 쓴다.
+     */
+    public static long lastKey(int maxAge) {
+        return ((long) maxAge << 32) | MAX_USER_ID;
+    }
+
+    /**
+     * 기존 내용을 버리고 키 {@code keys[0..length)}로 다시 만든다. 시작할 때 로그를 다시 읽은 뒤 한 번 부른다.
+     * 배열은 정렬된다.
+     */
+    public void load(long[] keys, int length) {
+        Arrays.sort(keys, 0, length);
+        int count = (length + LOAD_FILL - 1) / LOAD_FILL;
+        long[][] newChunks = new long[Math.max(16, count)][];
+        long[] newFirstKeys = new long[newChunks.length];
+        int[] newSizes = new int[newChunks.length];
+        for (int i = 0; i < count; i++) {
+            int from = i * LOAD_FILL;
+            int chunkSize = Math.min(LOAD_FILL, length - from);
+            long[] chunk = new long[CHUNK_SIZE];
+            System.arraycopy(keys, from, chunk, 0, chunkSize);
+            newChunks[i] = chunk;
+            newFirstKeys[i] = chunk[0];
+            newSizes[i] = chunkSize;
+        }
+
+        lock.writeLock().lock();
+        try {
+            chunks = newChunks;
+            firstKeys = newFirstKeys;
+            sizes = newSizes;
+            chunkCount = count;
+            size = length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 추가했으면 true, 이미 있으면 false
+     */
+    public boolean add(long key) {
+        lock.writeLock().lock();
+        try {
+            if (chunkCount == 0) {
+                insertChunk(0, new long[CHUNK_SIZE], 0);
+            }
+            int c = chunkFor(key);
+            int position = Arrays.binarySearch(chunks[c], 0, sizes[c], key);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            if (sizes[c] == CHUNK_SIZE) {
+                split(c);
+                if (position > sizes[c]) {
+                    position -= sizes[c];
+                    c++;
+                }
+            }
+            long[] chunk = chunks[c];
+            System.arraycopy(chunk, position, chunk, position + 1, sizes[c] - position);
+            chunk[position] = key;
+            sizes[c]++;
+            firstKeys[c] = chunk[0];
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 지웠으면 true, 없으면 false
+     */
+    public boolean remove(long key) {
+        lock.writeLock().lock();
+        try {
+            if (chunkCount == 0) {
+                return false;
+            }
+            int c = chunkFor(key);
+            int position = Arrays.binarySearch(chunks[c], 0, sizes[c], key);
+            if (position < 0) {
+                return false;
+            }
+            long[] chunk = chunks[c];
+            System.arraycopy(chunk, position + 1, chunk, position, sizes[c] - position - 1);
+            sizes[c]--;
+            size--;
+            if (sizes[c] == 0) {
+                removeChunk(c);
+            } else {
+                firstKeys[c] = chunk[0];
+                if (c + 1 < chunkCount && sizes[c] + sizes[c + 1] <= CHUNK_SIZE / 2) {
+                    merge(c);
+                } else if (c > 0 && sizes[c - 1] + sizes[c] <= CHUNK_SIZE / 2) {
+                    merge(c - 1);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@code fromKey} 이상 {@code toKey} 이하인 키를 순서대로 {@code out}에 채운다.
+     *
+     * @return 채운 개수, {@code out.length}보다 작으면 범위의 끝까지 읽은 것이다.
+     */
+    public int scan(long fromKey, long toKey, long[] out) {
+        lock.readLock().lock();
+        try {
+            if (chunkCount == 0 || fromKey > toKey) {
+                return 0;
+            }
+            int c = chunkFor(fromKey);
+            int position = Arrays.binarySearch(chunks[c], 0, sizes[c], fromKey);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            int count = 0;
+            while (count < out.length && c < chunkCount) {
+                long[] chunk = chunks[c];
+                int chunkSize = sizes[c];
+                while (count < out.length && position < chunkSize) {
+                    long key = chunk[position++];
+                    if (key > toKey) {
+                        return count;
+                    }
+                    out[count++] = key;
+                }
+                c++;
+                position = 0;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 첫 키가 {@code key} 이하인 마지막 청크, 없으면 0
+     */
+    private int chunkFor(long key) {
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstKeys[mid] <= key) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void split(int c) {
+        long[] chunk = chunks[c];
+        int half = sizes[c] / 2;
+        long[] upper = new long[CHUNK_SIZE];
+        System.arraycopy(chunk, half, upper, 0, sizes[c] - half);
+        insertChunk(c + 1, upper, sizes[c] - half);
+        sizes[c] = half;
+    }
+
+    private void merge(int c) {
+        System.arraycopy(chunks[c + 1], 0, chunks[c], sizes[c], sizes[c + 1]);
+        sizes[c] += sizes[c + 1];
+        removeChunk(c + 1);
+    }
+
+    private void insertChunk(int c, long[] chunk, int chunkSize) {
+        if (chunkCount == chunks.length) {
+            int capacity = chunks.length * 2;
+            chunks = Arrays.copyOf(chunks, capacity);
+            firstKeys = Arrays.copyOf(firstKeys, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        int moved = chunkCount - c;
+        System.arraycopy(chunks, c, chunks, c + 1, moved);
+        System.arraycopy(firstKeys, c, firstKeys, c + 1, moved);
+        System.arraycopy(sizes, c, sizes, c + 1, moved);
+        chunks[c] = chunk;
+        firstKeys[c] = chunk[0];
+        sizes[c] = chunkSize;
+        chunkCount++;
+    }
+
+    private void removeChunk(int c) {
+        int moved = chunkCount - c - 1;
+        System.arraycopy(chunks, c + 1, chunks, c, moved);
+        System.arraycopy(firstKeys, c + 1, firstKeys, c, moved);
+        System.arraycopy(sizes, c + 1, sizes, c, moved);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+}
@@ -0,0 +1,565 @@
+package thespeace.springmvc.user;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * <h2>회원 변경 로그 (메모리 맵 추가 전용 파일)</h2>
+ * 회원 변경(PUT, DELETE)을 파일 끝에 순서대로 붙인다. 파일은 {@code regionSize} 단위로 메모리에 매핑해서
+ * 쓰기가 시스템 콜 없이 메모리 복사로 끝난다.
+ * <ul>
+ *     <li>항목 형식 : {@code [int 길이][int CRC32C][byte 종류][long userId]([int age][int 이름 길이][이름 UTF-8])}</li>
+ *     <li>항목은 영역 경계를 넘지 않는다. 남은 공간이 부족하면 {@code -1}(건너뛰기)을 쓰고 다음 영역에 쓴다.</li>
+ *     <li>그룹 커밋 : {@link #awaitDurable(long)}을 호출한 쓰레드들은 flusher 쓰레드의 {@code force()} 한 번으로
+ *         함께 디스크에 기록된다. {@code force()}하는 동안 들어온 쓰기는 다음 {@code force()}에 묶인다.</li>
+ *     <li>{@code sync = false} : 기다리지 않는다. 매핑된 메모리(OS 페이지 캐시)에 쓴 뒤 바로 반환하고, flusher 가 1초마다 기록한다.
+ *         (프로세스가 죽어도 남지만, 장비 전원이 꺼지면 마지막 1초가 사라질 수 있다)</li>
+ *     <li>{@code force()} 실패 : 기다리던 쓰레드는 {@link UncheckedIOException}을 받는다. flusher 는 10ms 부터 1초까지
+ *         간격을 늘려가며 다시 시도하고, 성공하면 원래대로 돌아간다.</li>
+ *     <li>시작 : {@link #replay(Visitor)}로 처음부터 읽어서 상태를 만든다. 길이가 0 이거나 CRC 가 틀린 항목(쓰다가 멈춘 꼬리)에서 멈추고,
+ *         그 뒤는 잘라낸다. {@link #compact(Iterable, long)}는 살아있는 회원만 새 파일에 쓰고 원래 파일과 바꾼다.</li>
+ *     <li>잠금 : 생성할 때 {@code <path>.lock} 파일을 배타적으로 잠그고 {@link #close()}까지 놓지 않는다.
+ *         다른 프로세스(예: 실행 중인 서버와 테스트)가 같은 로그를 열면 바로 실패한다. 한쪽이 잘라낸 파일을 다른 쪽이 매핑한 채로 쓰거나
+ *         같은 위치에 번갈아 쓰면 로그가 깨진다. 로그 파일 대신 따로 잠그는 이유는 압축이 로그 파일을 바꿔치기하기 때문이다.</li>
+ * </ul>
+ * 사용 순서 : 생성 -> {@link #replay(Visitor)} -> ({@link #compact(Iterable, long)}) -> {@link #appendPut}/{@link #appendDelete}
+ */
+@Slf4j
+public class MappedUserLog implements AutoCloseable {
+
+    /**
+     * {@link #replay(Visitor)}가 읽은 항목을 순서대로 넘겨준다.
+     */
+    public interface Visitor {
+
+        void put(UserRecord user);
+
+        void delete(long userId);
+    }
+
+    public static final int MAX_USERNAME_BYTES = 1024;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int SKIP = -1;
+    private static final long ASYNC_FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long FORCE_RETRY_MIN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FORCE_RETRY_MAX_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path path;
+    private final int regionSize;
+    private final boolean sync;
+    private final FileChannel lockChannel;
+    private FileChannel channel;
+    private boolean replayed;
+    private long entries;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private volatile long appendPosition;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private long requestedPosition;
+    private volatile long durablePosition;
+    private volatile boolean closed;
+    private long forceFailures;
+    private UncheckedIOException lastForceFailure;
+    private Thread flusher;
+
+    /**
+     * @param regionSize 한 번에 매핑할 크기, 항목 하나보다 커야 한다. (예: 64MB)
+     * @param sync       true 면 {@link #awaitDurable(long)}이 디스크 기록까지 기다린다.
+     */
+    public MappedUserLog(Path path, int regionSize, boolean sync) throws IOException {
+        if (regionSize < HEADER_SIZE + maxPayloadSize()) {
+            throw new IllegalArgumentException("regionSize too small: " + regionSize);
+        }
+        this.path = path;
+        this.regionSize = regionSize;
+        this.sync = sync;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.lockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock(lockChannel, path);
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @throws IllegalStateException 다른 프로세스(또는 이 프로세스의 다른 인스턴스)가 로그를 열어 두었을 때
+     */
+    private static void lock(FileChannel lockChannel, Path path) throws IOException {
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IllegalStateException("user log already in use: " + path.toAbsolutePath());
+        }
+    }
+
+    /**
+     * 로그를 처음부터 읽는다. 온전하지 않은 꼬리는 잘라내고, 그 위치부터 이어 쓸 수 있게 준비한다.
+     *
+     * @return 읽은 항목 수
+     */
+    public long replay(Visitor visitor) throws IOException {
+        if (replayed) {
+            throw new IllegalStateException("already replayed");
+        }
+        long position = 0;
+        long count = 0;
+        long size = channel.size();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            byte[] payload = new byte[maxPayloadSize()];
+            while (position < size) {
+                int remaining = regionRemaining(position);
+                if (remaining < HEADER_SIZE) {
+                    in.skipNBytes(remaining);
+                    position += remaining;
+                    continue;
+                }
+                int length = in.readInt();
+                if (length == SKIP) {
+                    in.skipNBytes(remaining - 4);
+                    position += remaining;
+                    continue;
+                }
+                if (length <= 0 || length > payload.length || length > remaining - HEADER_SIZE) {
+                    break;
+                }
+                int crc = in.readInt();
+                in.readFully(payload, 0, length);
+                if (crc(payload, length) != crc) {
+                    log.warn("user log checksum mismatch at position={}, discarding tail", position);
+                    break;
+                }
+                decode(payload, length, visitor);
+                position += HEADER_SIZE + length;
+                count++;
+            }
+        } catch (EOFException e) {
+            //마지막 항목을 쓰다가 멈췄다. 그 항목의 시작 위치까지만 사용한다.
+            log.warn("user log truncated entry at position={}, discarding tail", position);
+        }
+
+        //잘라내지 않으면 이어 쓴 항목 뒤에 예전 항목이 남아서 다음 시작 때 되살아날 수 있다.
+        if (size > position) {
+            channel.truncate(position);
+        }
+        startAppending(position, count);
+        log.info("user log replayed path={}, entries={}, bytes={}", path, count, position);
+        return count;
+    }
+
+    /**
+     * 살아있는 회원만 새 로그 파일에 쓰고 원래 파일과 바꾼다. {@link #replay(Visitor)} 직후, 쓰기 전에만 호출할 수 있다.
+     * <p>
+     * 맨 앞에 {@code lastUserId}의 DELETE 항목을 쓴다. 가장 최근에 만든 회원들이 지워졌어도 다음 시작 때
+     * 발급했던 가장 큰 userId 를 알 수 있어야, 지워진 회원의 userId(와 그 Location URI)를 다른 회원에게 다시 주지 않는다.
+     * (그 회원이 살아있으면 뒤의 PUT 이 되살린다)
+     *
+     * @param lastUserId 지금까지 발급한 가장 큰 userId, 없으면 0
+     */
+    public void compact(Iterable<UserRecord> users, long lastUserId) throws IOException {
+        if (!replayed || appendPosition != durablePosition || flusher != null) {
+            throw new IllegalStateException("compact must be called right after replay");
+        }
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        long position = 0;
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE), 1 << 16))) {
+            if (lastUserId > 0) {
+                position = writeEntry(out, position, encodeDelete(lastUserId));
+                count++;
+            }
+            for (UserRecord user : users) {
+                position = writeEntry(out, position, encodePut(user));
+                count++;
+            }
+        }
+        try (FileChannel compactedChannel = FileChannel.open(compacted, StandardOpenOption.WRITE)) {
+            compactedChannel.force(true);
+        }
+
+        long entriesBefore = entries;
+        long sizeBefore = channel.size();
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        regions.clear();
+        startAppending(position, count);
+        log.info("user log compacted entries={} -> {}, bytes={} -> {}", entriesBefore, count, sizeBefore, position);
+    }
+
+    /**
+     * 압축 파일에 항목 하나를 쓴다. 영역 경계를 넘으면 {@link #append(byte[])}와 같이 건너뛰기 표시를 쓴다.
+     *
+     * @return 항목이 끝나는 위치
+     */
+    private long writeEntry(DataOutputStream out, long position, byte[] payload) throws IOException {
+        int entrySize = HEADER_SIZE + payload.length;
+        int remaining = regionRemaining(position);
+        if (remaining < entrySize) {
+            if (remaining >= 4) {
+                out.writeInt(SKIP);
+                out.write(new byte[remaining - 4]);
+            } else {
+                out.write(new byte[remaining]);
+            }
+            position += remaining;
+        }
+        out.writeInt(payload.length);
+        out.writeInt(crc(payload, payload.length));
+        out.write(payload);
+        return position + entrySize;
+    }
+
+    /**
+     * @return 기록된 항목 수 (replay, compact 이후 추가된 항목 포함)
+     */
+    public long entries() {
+        return entries;
+    }
+
+    /**
+     * @return 항목이 끝나는 위치, {@link #awaitDurable(long)}에 넘긴다.
+     */
+    public long appendPut(UserRecord user) {
+        return append(encodePut(user));
+    }
+
+    /**
+     * @return 항목이 끝나는 위치, {@link #awaitDurable(long)}에 넘긴다.
+     */
+    public long appendDelete(long userId) {
+        return append(encodeDelete(userId));
+    }
+
+    /**
+     * {@code position}까지 디스크에 기록될 때까지 기다린다. {@code sync = false}면 바로 반환한다.
+     *
+     * @throws UncheckedIOException 기다리는 동안 {@code force()}가 실패한 경우. 항목은 로그에 남아 있어서
+     *                              다음 {@code force()}나 프로세스 종료 뒤 재시작 때 보일 수 있다.
+     */
+    public void awaitDurable(long position) {
+        if (!sync || durablePosition >= position) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            if (position > requestedPosition) {
+                requestedPosition = position;
+                flushRequested.signal();
+            }
+            long failuresBefore = forceFailures;
+            while (durablePosition < position) {
+                if (closed) {
+                    throw new IllegalStateException("user log closed");
+                }
+                if (forceFailures != failuresBefore) {
+                    throw new UncheckedIOException("user log force failed", lastForceFailure.getCause());
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushLock.lock();
+        try {
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            flushLock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            force(appendPosition);
+            channel.close();
+        } finally {
+            //잠금은 채널을 닫으면 풀린다.
+            lockChannel.close();
+        }
+    }
+
+    private void startAppending(long position, long count) {
+        replayed = true;
+        entries = count;
+        appendPosition = position;
+        durablePosition = position;
+        requestedPosition = position;
+    }
+
+    private long append(byte[] payload) {
+        int crc = crc(payload, payload.length);
+        int entrySize = HEADER_SIZE + payload.length;
+        appendLock.lock();
+        try {
+            if (!replayed || closed) {
+                throw new IllegalStateException(closed ? "user log closed" : "user log not replayed");
+            }
+            if (flusher == null) {
+                flusher = Thread.ofPlatform().name("user-log-flusher").daemon().start(this::flushLoop);
+            }
+            long position = appendPosition;
+            int remaining = regionRemaining(position);
+            if (remaining < entrySize) {
+                if (remaining >= 4) {
+                    region(position).putInt(regionOffset(position), SKIP);
+                }
+                position += remaining;
+            }
+            MappedByteBuffer region = region(position);
+            int offset = regionOffset(position);
+            region.putInt(offset, payload.length);
+            region.putInt(offset + 4, crc);
+            region.put(offset + HEADER_SIZE, payload);
+            entries++;
+            //volatile 쓰기 : flusher 가 이 위치를 읽으면 위에서 쓴 내용도 보인다.
+            appendPosition = position + entrySize;
+            return appendPosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        long retryNanos = FORCE_RETRY_MIN_NANOS;
+        while (true) {
+            long target;
+            flushLock.lock();
+            try {
+                long deadline = System.nanoTime() + ASYNC_FLUSH_INTERVAL_NANOS;
+                while (!closed && requestedPosition <= durablePosition) {
+                    long wait = deadline - System.nanoTime();
+                    if (wait <= 0) {
+                        break;
+                    }
+                    try {
+                        flushRequested.awaitNanos(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (closed) {
+                    flushed.signalAll();
+                    return;
+                }
+                //요청된 위치가 아니라 지금까지 쓴 위치 전체를 기록한다. (그 사이 들어온 쓰기도 같이)
+                target = appendPosition;
+            } finally {
+                flushLock.unlock();
+            }
+
+            if (target > durablePosition) {
+                try {
+                    force(target);
+                } catch (UncheckedIOException e) {
+                    if (!backOff(e, retryNanos)) {
+                        return;
+                    }
+                    retryNanos = Math.min(retryNanos * 2, FORCE_RETRY_MAX_NANOS);
+                    continue;
+                }
+                retryNanos = FORCE_RETRY_MIN_NANOS;
+            }
+
+            flushLock.lock();
+            try {
+                if (target > durablePosition) {
+                    durablePosition = target;
+                }
+                flushed.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * {@code force()} 실패를 기록하고 기다리던 쓰레드를 깨운 뒤(예외를 던지게), {@code retryNanos} 동안 다시 시도하지 않는다.
+     * 그 사이 들어온 기록 요청은 다음 시도에 묶인다.
+     *
+     * @return 인터럽트되면 false
+     */
+    private boolean backOff(UncheckedIOException failure, long retryNanos) {
+        flushLock.lock();
+        try {
+            forceFailures++;
+            lastForceFailure = failure;
+            flushed.signalAll();
+            log.error("user log force failed, failures={}, retry in {}ms",
+                    forceFailures, TimeUnit.NANOSECONDS.toMillis(retryNanos), failure);
+            long deadline = System.nanoTime() + retryNanos;
+            long wait;
+            while (!closed && (wait = deadline - System.nanoTime()) > 0) {
+                flushRequested.awaitNanos(wait);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * {@code durablePosition}부터 {@code target}까지 매핑된 영역을 디스크에 기록한다.
+     * 끝까지 기록한 영역은 목록에서 빼서 매핑이 해제될 수 있게 한다.
+     */
+    private void force(long target) {
+        long from = durablePosition;
+        if (target <= from) {
+            return;
+        }
+        int firstRegion = (int) (from / regionSize);
+        int lastRegion = (int) ((target - 1) / regionSize);
+        List<MappedByteBuffer> buffers = new ArrayList<>(lastRegion - firstRegion + 1);
+        appendLock.lock();
+        try {
+            for (int i = firstRegion; i <= lastRegion; i++) {
+                buffers.add(regions.get(i));
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        for (int i = firstRegion; i <= lastRegion; i++) {
+            int start = i == firstRegion ? regionOffset(from) : 0;
+            int end = i == lastRegion ? regionOffset(target - 1) + 1 : regionSize;
+            buffers.get(i - firstRegion).force(start, end - start);
+        }
+        //target 보다 앞에서 끝나는 영역은 다시 쓰지도, 다시 기록하지도 않는다.
+        int fullyForced = (int) (target / regionSize);
+        appendLock.lock();
+        try {
+            for (int i = firstRegion; i < fullyForced; i++) {
+                regions.set(i, null);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * {@code appendLock} 안에서 호출한다.
+     */
+    private MappedByteBuffer region(long position) {
+        int index = (int) (position / regionSize);
+        while (regions.size() <= index) {
+            regions.add(null);
+        }
+        MappedByteBuffer region = regions.get(index);
+        if (region == null) {
+            try {
+                //파일보다 큰 위치를 매핑하면 파일이 늘어난다. (0 으로 채워짐)
+                region = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * regionSize, regionSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            regions.set(index, region);
+        }
+        return region;
+    }
+
+    private int regionOffset(long position) {
+        return (int) (position % regionSize);
+    }
+
+    private int regionRemaining(long position) {
+        return regionSize - regionOffset(position);
+    }
+
+    private static byte[] encodePut(UserRecord user) {
+        byte[] username = user.username().getBytes(StandardCharsets.UTF_8);
+        if (username.length > MAX_USERNAME_BYTES) {
+            throw new IllegalArgumentException("username longer than " + MAX_USERNAME_BYTES + " bytes");
+        }
+        ByteBuffer payload = ByteBuffer.allocate(1 + 8 + 4 + 4 + username.length);
+        payload.put(PUT).putLong(user.userId()).putInt(user.age()).putInt(username.length).put(username);
+        return payload.array();
+    }
+
+    private static byte[] encodeDelete(long userId) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + 8);
+        payload.put(DELETE).putLong(userId);
+        return payload.array();
+    }
+
+    private static void decode(byte[] payload, int length, Visitor visitor) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(payload, 0, length);
+        byte type = buffer.get();
+        long userId = buffer.getLong();
+        if (type == DELETE) {
+            visitor.delete(userId);
+        } else if (type == PUT) {
+            int age = buffer.getInt();
+            int usernameLength = buffer.getInt();
+            if (usernameLength < 0 || usernameLength > buffer.remaining()) {
+                throw new IOException("corrupt user log entry");
+            }
+            String username = new String(payload, buffer.position(), usernameLength, StandardCharsets.UTF_8);
+            visitor.put(new UserRecord(userId, username, age));
+        } else {
+            throw new IOException("unknown user log entry type=" + type);
+        }
+    }
+
+    private static int crc(byte[] payload, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static int maxPayloadSize() {
+        return 1 + 8 + 4 + 4 + MAX_USERNAME_BYTES;
+    }
+}
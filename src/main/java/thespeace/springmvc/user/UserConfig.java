@@ -0,0 +1,56 @@
+package thespeace.springmvc.user;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * <h2>회원 저장소 등록</h2>
+ * <ul>
+ *     <li>{@code thespeace.user.log.path} : 변경 로그 파일 위치. 한 프로세스만 열 수 있다. (이미 열려 있으면 시작 실패)</li>
+ *     <li>{@code thespeace.user.log.region-size} : 한 번에 매핑할 크기(바이트)</li>
+ *     <li>{@code thespeace.user.log.sync} : true 면 변경 요청이 디스크 기록(그룹 커밋)까지 기다린다.</li>
+ *     <li>{@code thespeace.user.log.compact-min-entries} : 시작할 때 압축을 고려할 최소 로그 항목 수</li>
+ *     <li>{@code thespeace.user.write-behind.enabled} : 변경을 모아서 묶음으로 기록한다. ({@link UserWriteBehind})</li>
+ *     <li>{@code thespeace.user.write-behind.ack} : {@code ACK_ON_FLUSH}(기록 후 응답) 또는 {@code ACK_ON_ENQUEUE}(대기열에 넣고 바로 응답)</li>
+ *     <li>{@code thespeace.user.write-behind.batch-size}, {@code max-delay-millis} : 묶음을 기록하는 회원 수, 최대 대기 시간</li>
+ *     <li>{@code thespeace.user.write-behind.max-pending} : 대기열에 둘 수 있는 최대 회원 수</li>
+ *     <li>{@code thespeace.user.write-behind.ack-timeout-millis} : {@code ACK_ON_FLUSH}에서 묶음 기록을 기다리는 최대 시간</li>
+ * </ul>
+ * 애플리케이션이 종료되면 저장소, 지연 기록, 로그 순서로 닫힌다. {@link UserWriteBehind#close()}가 대기 중인 변경을 로그에 쓰고,
+ * {@link MappedUserLog#close()}가 남은 변경을 기록하고 파일을 닫는다.
+ */
+@Configuration
+public class UserConfig {
+
+    @Bean
+    public MappedUserLog mappedUserLog(@Value("${thespeace.user.log.path:./data/users.log}") Path path,
+                                       @Value("${thespeace.user.log.region-size:67108864}") int regionSize,
+                                       @Value("${thespeace.user.log.sync:true}") boolean sync) throws IOException {
+        return new MappedUserLog(path, regionSize, sync);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "thespeace.user.write-behind.enabled", havingValue = "true", matchIfMissing = true)
+    public UserWriteBehind userWriteBehind(MappedUserLog mappedUserLog,
+                                           @Value("${thespeace.user.write-behind.ack:ACK_ON_FLUSH}") UserWriteBehind.AckMode ackMode,
+                                           @Value("${thespeace.user.write-behind.batch-size:1024}") int batchSize,
+                                           @Value("${thespeace.user.write-behind.max-pending:65536}") int maxPending,
+                                           @Value("${thespeace.user.write-behind.max-delay-millis:0}") long maxDelayMillis,
+                                           @Value("${thespeace.user.write-behind.ack-timeout-millis:5000}") long ackTimeoutMillis) {
+        return new UserWriteBehind(mappedUserLog, ackMode, batchSize, maxPending, maxDelayMillis, ackTimeoutMillis);
+    }
+
+    @Bean
+    public UserRepository userRepository(MappedUserLog mappedUserLog,
+                                         ObjectProvider<UserWriteBehind> userWriteBehind,
+                                         @Value("${thespeace.user.log.compact-min-entries:100000}") long compactMinEntries)
+            throws IOException {
+        return new UserRepository(mappedUserLog, userWriteBehind.getIfAvailable(), compactMinEntries);
+    }
+}
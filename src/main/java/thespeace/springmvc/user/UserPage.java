@@ -0,0 +1,14 @@
+package thespeace.springmvc.user;
+
+import java.util.List;
+
+/**
+ * <h2>회원 목록 한 페이지 (커서 페이지네이션)</h2>
+ * 다음 페이지는 {@code ?cursor={nextCursor}}로 요청한다. 커서는 마지막 회원의 위치(목록은 userId, 나이 조회는 {@link AgeIndex} 키)이므로,
+ * 페이지 사이에 회원이 추가, 삭제되어도 건너뛰거나 중복되는 회원이 없다. (offset 방식과 다른 점)
+ *
+ * @param users      조회 순서(목록은 userId, 나이 조회는 age, userId)
+ * @param nextCursor 다음 페이지 커서, 마지막 페이지면 null
+ */
+public record UserPage(List<UserRecord> users, Long nextCursor) {
+}
@@ -0,0 +1,12 @@
+package thespeace.springmvc.user;
+
+/**
+ * <h2>회원</h2>
+ * {@code HelloData}(username, age)에 식별자를 더한 불변 객체. 저장소와 로그에는 이 값이 그대로 들어간다.
+ *
+ * @param userId   저장소가 발급하는 식별자 (1부터 증가)
+ * @param username 회원 이름
+ * @param age      나이
+ */
+public record UserRecord(long userId, String username, int age) {
+}
@@ -0,0 +1,259 @@
+package thespeace.springmvc.user;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h2>회원 저장소 (메모리 + 변경 로그)</h2>
+ * 회원은 {@link ConcurrentSkipListMap}(userId 순서)에 두고, 모든 변경은 {@link MappedUserLog}에 먼저 기록한다.
+ * <ul>
+ *     <li>조회 : 락 없이 맵에서 바로 읽는다.</li>
+ *     <li>변경 : userId 별 스트라이프 락 안에서 로그 추가와 맵 변경을 같이 한다. 같은 회원의 변경은 로그 순서와 맵 순서가 같고,
+ *         다른 회원의 변경은 서로 기다리지 않는다.</li>
+ *     <li>디스크 기록 대기({@link MappedUserLog#awaitDurable(long)})는 락 밖에서 한다. 여러 요청이 {@code force()} 한 번에 묶인다.</li>
+ *     <li>{@link UserWriteBehind}를 주면 로그에 바로 쓰지 않고 대기열에 넣는다. 같은 회원의 변경은 합쳐지고, 응답 시점은
+ *         {@link UserWriteBehind.AckMode}를 따른다.</li>
+ *     <li>변경은 디스크에 기록되기 전에도 다른 요청의 조회에 보일 수 있다. (응답은 기록된 뒤에 나간다, {@code ACK_ON_ENQUEUE} 제외)</li>
+ *     <li>나이 : {@link AgeIndex}를 같은 스트라이프 락 안에서 맵과 함께 바꾼다. 나이 범위 조회는 인덱스에서 userId 를 찾은 뒤 맵에서 읽는다.</li>
+ *     <li>시작 : 로그를 다시 읽어서 맵을 만들고, 지워지거나 덮어쓴 항목이 많으면 로그를 압축한다. 나이 인덱스는 맵에서 한 번에 만든다.</li>
+ * </ul>
+ * 락은 {@code synchronized} 대신 {@link ReentrantLock}을 쓴다. (가상 쓰레드가 캐리어 쓰레드를 붙잡지 않도록)
+ */
+@Slf4j
+public class UserRepository {
+
+    private static final int STRIPES = 64;
+    private static final int AGE_SCAN_BATCH = 1024;
+
+    private final ConcurrentSkipListMap<Long, UserRecord> users = new ConcurrentSkipListMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final AtomicLong sequence = new AtomicLong();
+    private final AgeIndex ageIndex = new AgeIndex();
+    private final MappedUserLog userLog;
+    private final UserWriteBehind writeBehind;
+
+    public UserRepository(MappedUserLog userLog, long compactMinEntries) throws IOException {
+        this(userLog, null, compactMinEntries);
+    }
+
+    /**
+     * @param writeBehind       null 이면 변경마다 로그에 바로 쓴다.
+     * @param compactMinEntries 로그 항목이 이 수 이상이고 살아있는 회원의 2배를 넘으면 시작할 때 압축한다.
+     */
+    public UserRepository(MappedUserLog userLog, UserWriteBehind writeBehind, long compactMinEntries) throws IOException {
+        this.userLog = userLog;
+        this.writeBehind = writeBehind;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        long entries = userLog.replay(new MappedUserLog.Visitor() {
+            @Override
+            public void put(UserRecord user) {
+                users.put(user.userId(), user);
+                sequence.accumulateAndGet(user.userId(), Math::max);
+            }
+
+            @Override
+            public void delete(long userId) {
+                users.remove(userId);
+                sequence.accumulateAndGet(userId, Math::max);
+            }
+        });
+        if (entries >= compactMinEntries && entries > 2L * users.size()) {
+            userLog.compact(users.values(), sequence.get());
+        }
+        long[] keys = new long[users.size()];
+        int length = 0;
+        for (UserRecord user : users.values()) {
+            keys[length++] = AgeIndex.key(user.age(), user.userId());
+        }
+        ageIndex.load(keys, length);
+        log.info("user repository loaded users={}, nextUserId={}", users.size(), sequence.get() + 1);
+    }
+
+    public UserRecord create(String username, int age) {
+        UserRecord user = new UserRecord(sequence.incrementAndGet(), username, age);
+        long ageKey = AgeIndex.key(age, user.userId());
+        long position = 0;
+        CompletableFuture<Void> flushed = null;
+        ReentrantLock lock = lock(user.userId());
+        lock.lock();
+        try {
+            if (writeBehind != null) {
+                flushed = writeBehind.put(user);
+            } else {
+                position = userLog.appendPut(user);
+            }
+            users.put(user.userId(), user);
+            ageIndex.add(ageKey);
+        } finally {
+            lock.unlock();
+        }
+        awaitWritten(position, flushed);
+        return user;
+    }
+
+    public Optional<UserRecord> findById(long userId) {
+        return Optional.ofNullable(users.get(userId));
+    }
+
+    /**
+     * {@code afterUserId}보다 큰 회원을 최대 {@code limit}명 조회한다. 맵에서 시작 위치를 바로 찾으므로 앞 페이지 수와 상관없다.
+     *
+     * @param afterUserId 커서, 처음이면 0
+     */
+    public UserPage findPage(long afterUserId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        List<UserRecord> page = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<UserRecord> iterator = iterateAfter(afterUserId);
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        Long nextCursor = iterator.hasNext() ? page.get(page.size() - 1).userId() : null;
+        return new UserPage(page, nextCursor);
+    }
+
+    /**
+     * 나이가 {@code minAge} 이상 {@code maxAge} 이하인 회원을 (age, userId) 순서로 최대 {@code limit}명 조회한다.
+     * 인덱스에서 찾은 뒤 맵에서 읽으므로, 그 사이에 지워졌거나 나이가 바뀐 회원은 건너뛴다.
+     *
+     * @param cursor 이전 페이지의 {@link UserPage#nextCursor()}, 처음이면 null
+     */
+    public UserPage findByAge(int minAge, int maxAge, Long cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        List<UserRecord> page = new ArrayList<>(Math.min(limit, AGE_SCAN_BATCH));
+        long to = AgeIndex.lastKey(maxAge);
+        if (cursor != null && cursor >= to) {
+            return new UserPage(page, null);
+        }
+        long from = cursor != null ? Math.max(cursor + 1, AgeIndex.key(minAge, 0)) : AgeIndex.key(minAge, 0);
+        long[] keys = new long[Math.min(limit + 1, AGE_SCAN_BATCH)];
+        boolean more = false;
+        scan:
+        while (from <= to) {
+            int count = ageIndex.scan(from, to, keys);
+            for (int i = 0; i < count; i++) {
+                UserRecord user = users.get(AgeIndex.userId(keys[i]));
+                if (user == null || user.age() != AgeIndex.age(keys[i])) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    more = true;
+                    break scan;
+                }
+                page.add(user);
+            }
+            if (count < keys.length || keys[count - 1] == to) {
+                break;
+            }
+            from = keys[count - 1] + 1;
+        }
+        UserRecord last = more ? page.get(page.size() - 1) : null;
+        return new UserPage(page, last != null ? AgeIndex.key(last.age(), last.userId()) : null);
+    }
+
+    /**
+     * {@code afterUserId}보다 큰 회원을 userId 순서로 하나씩 꺼낸다. 복사하지 않는다.
+     * 순회하는 동안의 변경은 보일 수도, 안 보일 수도 있다. (weakly consistent)
+     */
+    public Iterator<UserRecord> iterateAfter(long afterUserId) {
+        return Collections.unmodifiableCollection(users.tailMap(afterUserId, false).values()).iterator();
+    }
+
+    /**
+     * @param username null 이면 그대로 둔다.
+     * @param age      null 이면 그대로 둔다.
+     * @return 변경된 회원, 없는 회원이면 빈 값
+     */
+    public Optional<UserRecord> update(long userId, String username, Integer age) {
+        UserRecord updated;
+        long position = 0;
+        CompletableFuture<Void> flushed = null;
+        ReentrantLock lock = lock(userId);
+        lock.lock();
+        try {
+            UserRecord current = users.get(userId);
+            if (current == null) {
+                return Optional.empty();
+            }
+            updated = new UserRecord(userId,
+                    username != null ? username : current.username(),
+                    age != null ? age : current.age());
+            if (writeBehind != null) {
+                flushed = writeBehind.put(updated);
+            } else {
+                position = userLog.appendPut(updated);
+            }
+            users.put(userId, updated);
+            if (updated.age() != current.age()) {
+                ageIndex.remove(AgeIndex.key(current.age(), userId));
+                ageIndex.add(AgeIndex.key(updated.age(), userId));
+            }
+        } finally {
+            lock.unlock();
+        }
+        awaitWritten(position, flushed);
+        return Optional.of(updated);
+    }
+
+    /**
+     * @return 삭제했으면 true, 없는 회원이면 false
+     */
+    public boolean delete(long userId) {
+        long position = 0;
+        CompletableFuture<Void> flushed = null;
+        ReentrantLock lock = lock(userId);
+        lock.lock();
+        try {
+            UserRecord current = users.get(userId);
+            if (current == null) {
+                return false;
+            }
+            if (writeBehind != null) {
+                flushed = writeBehind.delete(userId);
+            } else {
+                position = userLog.appendDelete(userId);
+            }
+            users.remove(userId);
+            ageIndex.remove(AgeIndex.key(current.age(), userId));
+        } finally {
+            lock.unlock();
+        }
+        awaitWritten(position, flushed);
+        return true;
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * 락 밖에서 부른다. 지연 기록이면 묶음 완료를, 아니면 로그 위치까지의 디스크 기록을 기다린다.
+     */
+    private void awaitWritten(long position, CompletableFuture<Void> flushed) {
+        if (flushed != null) {
+            writeBehind.acknowledge(flushed);
+        } else {
+            userLog.awaitDurable(position);
+        }
+    }
+
+    private ReentrantLock lock(long userId) {
+        return locks[(int) (userId ^ (userId >>> 32)) & (STRIPES - 1)];
+    }
+}
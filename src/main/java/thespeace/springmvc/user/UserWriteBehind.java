@@ -0,0 +1,302 @@
+package thespeace.springmvc.user;
+
+import lombok.extern.slf4j.Slf4j;
+import thespeace.springmvc.metrics.MetricsSource;
+import thespeace.springmvc.metrics.MetricsWriter;
+import thespeace.springmvc.metrics.StripedHistogram;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h2>회원 변경 지연 기록 (write-behind)</h2>
+ * 변경을 바로 {@link MappedUserLog}에 쓰지 않고 대기열에 모았다가, 쓰레드 하나가 묶음으로 쓴다.
+ * <ul>
+ *     <li>합치기 : 대기열은 userId 별 마지막 변경 하나만 가진다. 같은 회원을 여러 번 바꾸면 로그에는 마지막 값만 쓴다.
+ *         (PUT 뒤의 DELETE 는 DELETE 하나로)</li>
+ *     <li>묶음 기록 : 대기 중인 회원이 {@code batchSize}명이 되거나, 가장 오래된 변경이 {@code maxDelay}를 넘으면
+ *         대기열을 통째로 꺼내서 로그에 붙이고 {@link MappedUserLog#awaitDurable(long)}을 한 번만 부른다.
+ *         꺼낸 뒤 들어온 변경은 다음 묶음에 들어가므로, 같은 회원의 변경 순서는 유지된다.</li>
+ *     <li>응답 시점({@link AckMode}) : {@code ACK_ON_ENQUEUE}는 대기열에 넣고 바로, {@code ACK_ON_FLUSH}는 자기 변경이 든 묶음이
+ *         기록된 뒤에 반환한다. 묶음마다 {@link CompletableFuture} 하나를 같이 기다린다.</li>
+ *     <li>{@code maxDelay = 0} : 기다리지 않고 flusher 가 비는 대로 기록한다. 앞 묶음을 쓰는 동안 쌓인 변경이 다음 묶음이 된다. (그룹 커밋)
+ *         {@code ACK_ON_FLUSH}에서는 요청이 묶음 기록을 기다리므로, 지연을 주면 동시 요청 수 / maxDelay 가 처리량의 상한이 된다.
+ *         지연은 {@code ACK_ON_ENQUEUE}에서 합쳐지는 변경을 늘릴 때 쓴다.</li>
+ *     <li>대기 중인 회원이 {@code maxPending}명이면 새 회원의 변경은 자리가 날 때까지 기다린다. (이미 대기 중인 회원은 합쳐지므로 기다리지 않는다)</li>
+ *     <li>{@code ACK_ON_FLUSH}는 최대 {@code ackTimeout}만 기다리고, 넘으면 예외를 던진다. (변경은 대기열에 남아서 나중에 기록될 수 있다)</li>
+ *     <li>flusher 쓰레드가 예상하지 못한 오류로 끝나면 대기 중인 변경이 있을 때 새 flusher 를 띄운다.</li>
+ *     <li>지표 : 묶음 크기, 묶음 기록 시간, 변경이 대기열에 들어와서 기록될 때까지의 시간, 합쳐진 변경 수를 {@code /internal/metrics}로 내보낸다.</li>
+ * </ul>
+ * <h2>기록 실패</h2>
+ * 묶음 기록이 실패하면(오류 포함) 그 묶음을 기다리는 요청은 모두 예외를 받고, 다음 묶음은 그대로 기록을 시도한다.
+ * <ul>
+ *     <li>메모리의 회원 정보는 바뀐 상태로 남는다. 되돌리지 않는다. (그 사이 다른 요청이 보고 더 바꿨을 수 있다)</li>
+ *     <li>로그에는 묶음의 앞부분만 붙었을 수 있다. 어느 변경이 남았는지는 다시 시작해서 로그를 읽어야 알 수 있다.</li>
+ *     <li>그래서 실패 뒤에는 메모리와 로그가 다를 수 있다. 같은 회원이 다시 바뀌면 그 변경이 로그에 다시 쓰이면서 맞춰진다.</li>
+ *     <li>{@code ACK_ON_ENQUEUE}에서는 이미 응답한 변경이 사라질 수 있다. (로그만 남긴다)</li>
+ * </ul>
+ * 같은 회원의 변경 순서는 호출하는 쪽({@link UserRepository}의 스트라이프 락)이 지킨다.
+ */
+@Slf4j
+public class UserWriteBehind implements MetricsSource, AutoCloseable {
+
+    public enum AckMode {
+        ACK_ON_ENQUEUE, ACK_ON_FLUSH
+    }
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double[] QUANTILES = {0.5, 0.99};
+
+    private final MappedUserLog userLog;
+    private final AckMode ackMode;
+    private final int batchSize;
+    private final int maxPending;
+    private final long maxDelayNanos;
+    private final long ackTimeoutMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    //userId -> 마지막 변경, null 이면 삭제
+    private Map<Long, UserRecord> pending = new HashMap<>();
+    private CompletableFuture<Void> pendingFlushed = new CompletableFuture<>();
+    private long oldestEnqueuedNanos;
+    private boolean closed;
+    private Thread flusher;
+
+    private final StripedHistogram batchSizes = new StripedHistogram();
+    private final StripedHistogram flushNanos = new StripedHistogram();
+    private final StripedHistogram delayNanos = new StripedHistogram();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private volatile int pendingCount;
+
+    /**
+     * @param ackTimeoutMillis {@code ACK_ON_FLUSH}에서 묶음 기록을 기다리는 최대 시간
+     */
+    public UserWriteBehind(MappedUserLog userLog, AckMode ackMode, int batchSize, int maxPending, long maxDelayMillis,
+                           long ackTimeoutMillis) {
+        if (batchSize <= 0 || maxPending < batchSize || maxDelayMillis < 0 || ackTimeoutMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "invalid write-behind settings batchSize=" + batchSize + ", maxPending=" + maxPending
+                            + ", maxDelayMillis=" + maxDelayMillis + ", ackTimeoutMillis=" + ackTimeoutMillis);
+        }
+        this.userLog = userLog;
+        this.ackMode = ackMode;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.ackTimeoutMillis = ackTimeoutMillis;
+    }
+
+    /**
+     * @return 이 변경이 든 묶음이 기록되면 완료된다. {@link #acknowledge(CompletableFuture)}에 넘긴다.
+     */
+    public CompletableFuture<Void> put(UserRecord user) {
+        return enqueue(user.userId(), user);
+    }
+
+    public CompletableFuture<Void> delete(long userId) {
+        return enqueue(userId, null);
+    }
+
+    /**
+     * {@code ACK_ON_FLUSH}면 묶음이 기록될 때까지 최대 {@code ackTimeout}만큼 기다린다.
+     *
+     * @throws IllegalStateException 기다리는 시간이 지났거나 인터럽트된 경우
+     * @throws RuntimeException      기록이 실패한 경우 그 예외 (RuntimeException 이 아니면 감싸서)
+     */
+    public void acknowledge(CompletableFuture<Void> flushed) {
+        if (ackMode == AckMode.ACK_ON_ENQUEUE) {
+            return;
+        }
+        try {
+            flushed.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("user write-behind flush failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("user write-behind flush not acknowledged within " + ackTimeoutMillis + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for user write-behind flush", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            flushNeeded.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        writer.counter("thespeace_user_write_behind_enqueued_total", "User mutations queued for write-behind.",
+                enqueued.sum());
+        writer.counter("thespeace_user_write_behind_coalesced_total",
+                "User mutations replaced by a later mutation of the same user before flush.", coalesced.sum());
+        writer.counter("thespeace_user_write_behind_failed_batches_total", "Write-behind batches that failed to flush.",
+                failedBatches.sum());
+        writer.gauge("thespeace_user_write_behind_pending", "Users waiting in the write-behind queue.", pendingCount);
+        summary(writer, "thespeace_user_write_behind_batch_size", "Users written per write-behind batch.",
+                batchSizes.snapshot(), 1);
+        summary(writer, "thespeace_user_write_behind_flush_seconds", "Time to append and force one batch.",
+                flushNanos.snapshot(), NANOS_PER_SECOND);
+        summary(writer, "thespeace_user_write_behind_delay_seconds",
+                "Time from the oldest mutation of a batch being queued to the batch being durable.",
+                delayNanos.snapshot(), NANOS_PER_SECOND);
+    }
+
+    private static void summary(MetricsWriter writer, String name, String help, StripedHistogram.Snapshot snapshot,
+                                double scale) {
+        writer.type(name, "summary", help);
+        for (double q : QUANTILES) {
+            writer.sample(name, snapshot.valueAt(q) / scale, "quantile", Double.toString(q));
+        }
+        writer.sample(name + "_sum", snapshot.sum() / scale)
+                .sample(name + "_count", snapshot.count());
+    }
+
+    private CompletableFuture<Void> enqueue(long userId, UserRecord user) {
+        lock.lock();
+        try {
+            while (!closed && pending.size() >= maxPending && !pending.containsKey(userId)) {
+                notFull.awaitUninterruptibly();
+            }
+            if (closed) {
+                throw new IllegalStateException("user write-behind closed");
+            }
+            if (flusher == null) {
+                startFlusher();
+            }
+            if (pending.isEmpty()) {
+                oldestEnqueuedNanos = System.nanoTime();
+                flushNeeded.signal(); //flusher 가 maxDelay 타이머를 시작하도록
+            }
+            int before = pending.size();
+            pending.put(userId, user);
+            if (pending.size() == before) {
+                coalesced.increment();
+            } else if (pending.size() == batchSize) {
+                flushNeeded.signal();
+            }
+            pendingCount = pending.size();
+            enqueued.increment();
+            return pendingFlushed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //lock 안에서 부른다.
+    private void startFlusher() {
+        flusher = Thread.ofPlatform().name("user-write-behind").daemon().start(this::flushLoop);
+    }
+
+    private void flushLoop() {
+        try {
+            flushBatches();
+        } catch (Throwable e) {
+            log.error("user write-behind flusher died", e);
+            lock.lock();
+            try {
+                if (closed) {
+                    pendingFlushed.completeExceptionally(new IllegalStateException("user write-behind closed", e));
+                } else if (!pending.isEmpty()) {
+                    startFlusher();
+                } else {
+                    flusher = null; //다음 변경이 새 flusher 를 띄운다.
+                }
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private void flushBatches() {
+        while (true) {
+            Map<Long, UserRecord> batch;
+            CompletableFuture<Void> flushed;
+            long oldest;
+            lock.lock();
+            try {
+                while (!closed) {
+                    if (pending.isEmpty()) {
+                        flushNeeded.awaitUninterruptibly();
+                        continue;
+                    }
+                    long wait = oldestEnqueuedNanos + maxDelayNanos - System.nanoTime();
+                    if (pending.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    try {
+                        flushNeeded.awaitNanos(wait);
+                    } catch (InterruptedException e) {
+                        //flusher 는 close()로만 끝낸다. 대기 중인 변경을 버리지 않도록 계속 돈다.
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                flushed = pendingFlushed;
+                oldest = oldestEnqueuedNanos;
+                pending = new HashMap<>();
+                pendingFlushed = new CompletableFuture<>();
+                pendingCount = 0;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            write(batch, flushed, oldest);
+        }
+    }
+
+    private void write(Map<Long, UserRecord> batch, CompletableFuture<Void> flushed, long oldestEnqueuedNanos) {
+        long start = System.nanoTime();
+        try {
+            long position = 0;
+            for (Map.Entry<Long, UserRecord> entry : batch.entrySet()) {
+                UserRecord user = entry.getValue();
+                position = user != null ? userLog.appendPut(user) : userLog.appendDelete(entry.getKey());
+            }
+            userLog.awaitDurable(position);
+        } catch (Throwable e) {
+            //Error 도 여기서 끝낸다. 묶음을 기다리는 요청이 완료되지 않은 채 남지 않도록 먼저 완료한다.
+            flushed.completeExceptionally(e);
+            failedBatches.increment();
+            log.error("user write-behind flush failed, users={}", batch.size(), e);
+            return;
+        }
+        long end = System.nanoTime();
+        flushed.complete(null);
+        batchSizes.record(batch.size());
+        flushNanos.record(end - start);
+        delayNanos.record(end - oldestEnqueuedNanos);
+    }
+}
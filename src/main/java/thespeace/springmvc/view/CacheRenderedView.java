@@ -0,0 +1,21 @@
+package thespeace.springmvc.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <h2>렌더링 결과 캐시 사용</h2>
+ * 핸들러 메서드(또는 컨트롤러 클래스)에 붙이면, 렌더링된 뷰를 {@link RenderedViewCache}에 저장해두고
+ * 같은 뷰 이름 + 모델 + 로케일 요청에는 템플릿 엔진을 실행하지 않고 저장된 바이트를 그대로 응답한다.
+ * <ul>
+ *     <li>렌더링 결과가 모델과 로케일에만 의존하는 핸들러에만 붙인다.
+ *         (템플릿에서 세션, 요청 파라미터, 현재 시간 등을 직접 읽으면 안 된다)</li>
+ *     <li>모델에 단순 타입(문자열, 숫자, enum 등)이 아닌 값이 있으면 캐시하지 않고 매번 렌더링한다.</li>
+ * </ul>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheRenderedView {
+}
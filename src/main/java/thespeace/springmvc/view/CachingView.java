@@ -0,0 +1,103 @@
+package thespeace.springmvc.view;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <h2>렌더링 결과를 캐시하는 뷰</h2>
+ * 논리 뷰 이름만 들고 있다가 {@link #render} 시점에 캐시를 먼저 확인한다.
+ * <ul>
+ *     <li>적중 : 뷰 리졸버와 템플릿 엔진을 모두 건너뛰고 저장된 바이트를 응답한다.</li>
+ *     <li>미스 : 뷰 리졸버로 실제 뷰를 찾아 {@link ContentCachingResponseWrapper}에 렌더링하고,
+ *         200 OK 응답이면 저장한 뒤 클라이언트에 보낸다.</li>
+ * </ul>
+ */
+class CachingView implements View {
+
+    private final String viewName;
+    private final ObjectProvider<ViewResolver> viewResolvers;
+    private final RenderedViewCache cache;
+
+    CachingView(String viewName, ObjectProvider<ViewResolver> viewResolvers, RenderedViewCache cache) {
+        this.viewName = viewName;
+        this.viewResolvers = viewResolvers;
+        this.cache = cache;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        Locale locale = RequestContextUtils.getLocale(request);
+        Map<String, Object> keyModel = keyModel(model);
+        if (keyModel == null) {
+            cache.recordBypass();
+            resolveView(locale).render(model, request, response);
+            return;
+        }
+
+        RenderedViewCache.Key key = new RenderedViewCache.Key(viewName, keyModel, locale);
+        RenderedViewCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            if (entry.contentType() != null) {
+                response.setContentType(entry.contentType());
+            }
+            response.setContentLength(entry.body().length);
+            response.getOutputStream().write(entry.body());
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        resolveView(locale).render(model, request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpServletResponse.SC_OK) {
+            cache.put(key, new RenderedViewCache.Entry(responseWrapper.getContentAsByteArray(), responseWrapper.getContentType()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * @return 단순 타입 값만 담긴 모델 복사본, 캐시 키로 쓸 수 없는 값이 있으면 null
+     */
+    private static Map<String, Object> keyModel(Map<String, ?> model) {
+        if (model == null || model.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Object> keyModel = new HashMap<>(model.size() * 2);
+        for (Map.Entry<String, ?> attribute : model.entrySet()) {
+            if (attribute.getKey().startsWith(BindingResult.MODEL_KEY_PREFIX)) {
+                continue;
+            }
+            Object value = attribute.getValue();
+            if (value != null && !BeanUtils.isSimpleValueType(value.getClass())) {
+                return null;
+            }
+            keyModel.put(attribute.getKey(), value);
+        }
+        return keyModel;
+    }
+
+    /**
+     * DispatcherServlet 과 같은 순서로 뷰 리졸버를 호출한다.
+     */
+    private View resolveView(Locale locale) throws Exception {
+        Iterator<ViewResolver> iterator = viewResolvers.orderedStream().iterator();
+        while (iterator.hasNext()) {
+            View view = iterator.next().resolveViewName(viewName, locale);
+            if (view != null) {
+                return view;
+            }
+        }
+        throw new ServletException("Could not resolve view with name '" + viewName + "'");
+    }
+}
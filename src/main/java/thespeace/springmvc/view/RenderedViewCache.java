@@ -0,0 +1,113 @@
+package thespeace.springmvc.view;
+
+import thespeace.springmvc.metrics.MetricsSource;
+import thespeace.springmvc.metrics.MetricsWriter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>렌더링된 뷰 캐시</h2>
+ * 뷰 이름 + 모델 속성 + 로케일을 키로, 인코딩이 끝난 응답 바이트와 Content-Type 을 보관한다.
+ * <ul>
+ *     <li>전체 크기 제한 : 저장된 본문 바이트 합이 {@code maxBytes}를 넘으면 가장 오래 사용하지 않은 항목부터 버린다. (LRU)</li>
+ *     <li>항목 크기 제한 : {@code maxEntryBytes}보다 큰 응답은 저장하지 않는다.</li>
+ *     <li>적중/미스/캐시 제외/제거 횟수는 {@link LongAdder}로 세고, {@code /internal/metrics}로 내보낸다.</li>
+ * </ul>
+ * 조회도 LRU 순서를 바꾸므로 모든 접근을 하나의 락으로 보호한다. 락 안에서는 맵 조작만 하고 렌더링은 하지 않는다.
+ */
+public class RenderedViewCache implements MetricsSource {
+
+    /**
+     * @param model 단순 타입 값만 담긴 복사본
+     */
+    public record Key(String viewName, Map<String, Object> model, Locale locale) {
+    }
+
+    public record Entry(byte[] body, String contentType) {
+    }
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RenderedViewCache(long maxBytes, int maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public Entry get(Key key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    public void put(Key key, Entry entry) {
+        int size = entry.body().length;
+        if (size > maxEntryBytes || size > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                currentBytes -= previous.body().length;
+            }
+            currentBytes += size;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                currentBytes -= eldest.next().body().length;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * 모델에 캐시 키로 쓸 수 없는 값이 있어서 캐시를 건너뛴 경우
+     */
+    public void recordBypass() {
+        bypasses.increment();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            currentBytes = 0;
+        }
+    }
+
+    @Override
+    public void collect(MetricsWriter writer) {
+        int size;
+        long bytes;
+        synchronized (entries) {
+            size = entries.size();
+            bytes = currentBytes;
+        }
+        writer.type("thespeace_view_cache_requests_total", "counter", "Rendered view cache lookups by result.")
+                .sample("thespeace_view_cache_requests_total", hits.sum(), "result", "hit")
+                .sample("thespeace_view_cache_requests_total", misses.sum(), "result", "miss")
+                .sample("thespeace_view_cache_requests_total", bypasses.sum(), "result", "bypass");
+        writer.counter("thespeace_view_cache_evictions_total", "Rendered view cache entries evicted by size limit.",
+                evictions.sum());
+        writer.gauge("thespeace_view_cache_entries", "Rendered view cache entries.", size);
+        writer.gauge("thespeace_view_cache_bytes", "Rendered view cache body bytes.", bytes);
+        writer.gauge("thespeace_view_cache_max_bytes", "Rendered view cache body byte limit.", maxBytes);
+    }
+}
@@ -0,0 +1,52 @@
+package thespeace.springmvc.view;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.view.UrlBasedViewResolver;
+
+/**
+ * <h2>렌더링 캐시 적용 인터셉터</h2>
+ * {@link CacheRenderedView}가 붙은 핸들러가 논리 뷰 이름을 반환하면, 뷰를 렌더링하기 전({@code postHandle})에
+ * {@link CachingView}로 바꿔 끼운다.
+ * <ul>
+ *     <li>{@code redirect:}, {@code forward:} 뷰 이름은 그대로 둔다.</li>
+ *     <li>{@code void} 반환 핸들러의 기본 뷰 이름(요청 URL)은 postHandle 이전에 정해지므로 함께 처리된다.</li>
+ * </ul>
+ */
+public class RenderedViewCacheInterceptor implements HandlerInterceptor {
+
+    private final RenderedViewCache cache;
+    private final ObjectProvider<ViewResolver> viewResolvers;
+
+    public RenderedViewCacheInterceptor(RenderedViewCache cache, ObjectProvider<ViewResolver> viewResolvers) {
+        this.cache = cache;
+        this.viewResolvers = viewResolvers;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || !modelAndView.isReference()
+                || !(handler instanceof HandlerMethod handlerMethod) || !isCacheable(handlerMethod)) {
+            return;
+        }
+        String viewName = modelAndView.getViewName();
+        if (viewName == null
+                || viewName.startsWith(UrlBasedViewResolver.REDIRECT_URL_PREFIX)
+                || viewName.startsWith(UrlBasedViewResolver.FORWARD_URL_PREFIX)) {
+            return;
+        }
+        modelAndView.setView(new CachingView(viewName, viewResolvers, cache));
+    }
+
+    private static boolean isCacheable(HandlerMethod handlerMethod) {
+        return handlerMethod.hasMethodAnnotation(CacheRenderedView.class)
+                || AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), CacheRenderedView.class);
+    }
+}
@@ -0,0 +1,40 @@
+package thespeace.springmvc.view;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * <h2>렌더링 결과 캐시 등록</h2>
+ * {@link RenderedViewCache} 빈과 {@link RenderedViewCacheInterceptor}를 등록한다.
+ * 캐시는 {@link CacheRenderedView}가 붙은 핸들러에만 적용된다.
+ */
+@Configuration
+public class ViewCacheConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ViewResolver> viewResolvers;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+
+    public ViewCacheConfig(ObjectProvider<ViewResolver> viewResolvers,
+                           @Value("${thespeace.view-cache.max-bytes:4194304}") long maxBytes,
+                           @Value("${thespeace.view-cache.max-entry-bytes:65536}") int maxEntryBytes) {
+        this.viewResolvers = viewResolvers;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    @Bean
+    public RenderedViewCache renderedViewCache() {
+        return new RenderedViewCache(maxBytes, maxEntryBytes);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RenderedViewCacheInterceptor(renderedViewCache(), viewResolvers));
+    }
+}
@@ -0,0 +1,23 @@
+package thespeace.springmvc.view.compiled;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * <h2>빌드 시점에 컴파일된 템플릿</h2>
+ * {@code compileTemplates} 빌드 작업이 {@code templates/**}{@code /*.html}마다 구현 클래스를 생성하고
+ * {@code META-INF/services}에 등록한다. 직접 구현하지 않는다.
+ */
+public interface CompiledTemplate {
+
+    /**
+     * @return 논리 뷰 이름 (예: {@code response/hello})
+     */
+    String viewName();
+
+    /**
+     * 모델 값으로 HTML 을 만들어 UTF-8 로 쓴다.
+     */
+    void render(Map<String, ?> model, OutputStream out) throws IOException;
+}
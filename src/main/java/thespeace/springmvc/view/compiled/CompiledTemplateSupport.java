@@ -0,0 +1,59 @@
+package thespeace.springmvc.view.compiled;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h2>생성된 템플릿 클래스가 사용하는 보조 메서드</h2>
+ */
+public final class CompiledTemplateSupport {
+
+    private CompiledTemplateSupport() {
+    }
+
+    public static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 타임리프 {@code th:text}와 같은 규칙으로 이스케이프한다. ({@code & < > " '})
+     * null 이면 아무것도 쓰지 않는다.
+     */
+    public static void writeEscaped(OutputStream out, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        int i = 0;
+        while (i < text.length() && replacement(text.charAt(i)) == null) {
+            i++;
+        }
+        if (i == text.length()) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = replacement(c);
+            if (replacement != null) {
+                escaped.append(replacement);
+            } else {
+                escaped.append(c);
+            }
+        }
+        out.write(escaped.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String replacement(char c) {
+        return switch (c) {
+            case '&' -> "&amp;";
+            case '<' -> "&lt;";
+            case '>' -> "&gt;";
+            case '"' -> "&quot;";
+            case '\'' -> "&#39;";
+            default -> null;
+        };
+    }
+}
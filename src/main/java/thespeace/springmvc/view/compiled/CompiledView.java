@@ -0,0 +1,34 @@
+package thespeace.springmvc.view.compiled;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.View;
+
+import java.util.Map;
+
+/**
+ * <h2>컴파일된 템플릿 뷰</h2>
+ * 템플릿 파싱, 표현식 해석 없이 {@link CompiledTemplate}이 응답 스트림에 바로 쓴다.
+ */
+class CompiledView implements View {
+
+    static final String CONTENT_TYPE = MediaType.TEXT_HTML_VALUE + ";charset=UTF-8";
+
+    private final CompiledTemplate template;
+
+    CompiledView(CompiledTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        response.setContentType(CONTENT_TYPE);
+        template.render(model != null ? model : Map.of(), response.getOutputStream());
+    }
+}
@@ -0,0 +1,21 @@
+package thespeace.springmvc.view.compiled;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * <h2>컴파일된 템플릿 사용 설정</h2>
+ * {@link CompiledViewResolver}를 {@code ThymeleafViewResolver}(스프링 부트 기본 order = LOWEST_PRECEDENCE - 5)보다
+ * 앞에 등록한다. {@code ContentNegotiatingViewResolver}도 이 순서대로 후보 뷰를 고르므로 컴파일된 뷰가 먼저 선택된다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "thespeace.view.compiled.enabled", havingValue = "true")
+public class CompiledViewConfig {
+
+    @Bean
+    public CompiledViewResolver compiledViewResolver() {
+        return new CompiledViewResolver(getClass().getClassLoader(), Ordered.LOWEST_PRECEDENCE - 10);
+    }
+}
@@ -0,0 +1,45 @@
+package thespeace.springmvc.view.compiled;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * <h2>컴파일된 템플릿 뷰 리졸버</h2>
+ * 빌드 시점에 컴파일된 템플릿이 있으면 {@link CompiledView}를 반환하고, 없으면 null 을 반환해서
+ * 다음 뷰 리졸버({@code ThymeleafViewResolver})가 처리하게 한다.
+ * <ul>
+ *     <li>지원하지 않는 구문이 있는 템플릿은 컴파일되지 않았으므로 자연스럽게 타임리프로 넘어간다.</li>
+ *     <li>컴파일된 템플릿은 로케일별 메시지({@code #{...}})를 쓰지 않으므로 로케일과 상관없이 같은 뷰를 반환한다.</li>
+ * </ul>
+ */
+@Slf4j
+public class CompiledViewResolver implements ViewResolver, Ordered {
+
+    private final Map<String, View> views = new HashMap<>();
+    private final int order;
+
+    public CompiledViewResolver(ClassLoader classLoader, int order) {
+        this.order = order;
+        for (CompiledTemplate template : ServiceLoader.load(CompiledTemplate.class, classLoader)) {
+            views.put(template.viewName(), new CompiledView(template));
+            log.debug("compiled template viewName={}, template={}", template.viewName(), template.getClass().getName());
+        }
+    }
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) {
+        return views.get(viewName);
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
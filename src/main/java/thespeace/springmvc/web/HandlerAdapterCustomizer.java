@@ -0,0 +1,43 @@
+package thespeace.springmvc.web;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+
+import java.util.List;
+
+/**
+ * <h2>RequestMappingHandlerAdapter 의 ArgumentResolver, ReturnValueHandler 목록 변경</h2>
+ * {@code WebMvcConfigurer#addArgumentResolvers}, {@code addReturnValueHandlers}로 추가한 것은 기본 목록의 <b>뒤에</b>
+ * 붙기 때문에, {@code @ResponseBody}, {@code @ModelAttribute} 같은 기본 처리보다 먼저 실행될 수 없다.
+ * 이 인터페이스를 구현한 빈은 어댑터 초기화가 끝난 뒤 완성된 목록을 받아서, 앞에 끼워 넣거나 감싼 목록을 반환한다.
+ * <ul>
+ *     <li>여러 구현이 있으면 {@code @Order} 순서대로 적용된다. (앞의 결과가 다음 구현의 입력)</li>
+ *     <li>적용 : {@link HandlerAdapterCustomizerPostProcessor}</li>
+ * </ul>
+ * <h2>적용 단계</h2>
+ * 구현은 하는 일에 맞는 단계의 순서 값을 {@code @Order}로 붙인다.
+ * <ol>
+ *     <li>{@link #PREPEND_ORDER} : 새 리졸버/처리기를 목록 앞에 끼워 넣는다.
+ *         끼워 넣는 구현끼리는 서로 다른 파라미터(반환) 타입을 처리하므로 순서가 상관없다. 겹치면 이 값에 더해서 순서를 정한다.</li>
+ *     <li>{@link #WRAP_DEFAULTS_ORDER} : 기본 처리기를 타입으로 찾아서 감싼다. 다른 구현이 감싸기 전이어야 타입으로 찾을 수 있다.</li>
+ *     <li>{@link #WRAP_ALL_ORDER} : 목록 전체를 감싼다. 마지막에 적용되어 앞 단계에서 끼워 넣거나 감싼 것까지 감싼다.
+ *         (예: 요청 단계 시간 측정은 ArgumentResolver 를, 요청 합치기는 ReturnValueHandler 를 감싼다)</li>
+ * </ol>
+ */
+public interface HandlerAdapterCustomizer {
+
+    int PREPEND_ORDER = 0;
+
+    int WRAP_DEFAULTS_ORDER = 1000;
+
+    int WRAP_ALL_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    default List<HandlerMethodArgumentResolver> customizeArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        return resolvers;
+    }
+
+    default List<HandlerMethodReturnValueHandler> customizeReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+        return handlers;
+    }
+}
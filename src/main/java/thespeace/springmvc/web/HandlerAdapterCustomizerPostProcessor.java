@@ -0,0 +1,49 @@
+package thespeace.springmvc.web;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <h2>{@link HandlerAdapterCustomizer} 적용</h2>
+ * {@link RequestMappingHandlerAdapter#afterPropertiesSet()}이 기본 ArgumentResolver, ReturnValueHandler 목록을 만든 다음
+ * 등록된 {@link HandlerAdapterCustomizer}를 순서대로 적용해서 목록을 교체한다.
+ * 순서는 {@link HandlerAdapterCustomizer}의 적용 단계(끼워 넣기 -> 기본 처리기 감싸기 -> 전체 감싸기)를 따른다.
+ */
+@Component
+public class HandlerAdapterCustomizerPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<HandlerAdapterCustomizer> customizers;
+
+    public HandlerAdapterCustomizerPostProcessor(ObjectProvider<HandlerAdapterCustomizer> customizers) {
+        this.customizers = customizers;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof RequestMappingHandlerAdapter adapter)) {
+            return bean;
+        }
+        List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>(adapter.getArgumentResolvers());
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+        Iterator<HandlerAdapterCustomizer> iterator = customizers.orderedStream().iterator();
+        if (!iterator.hasNext()) {
+            return bean;
+        }
+        while (iterator.hasNext()) {
+            HandlerAdapterCustomizer customizer = iterator.next();
+            resolvers = customizer.customizeArgumentResolvers(resolvers);
+            handlers = customizer.customizeReturnValueHandlers(handlers);
+        }
+        adapter.setArgumentResolvers(resolvers);
+        adapter.setReturnValueHandlers(handlers);
+        return bean;
+    }
+}
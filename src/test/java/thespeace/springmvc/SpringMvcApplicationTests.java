@@ -1,11 +1,25 @@
 package thespeace.springmvc;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class SpringMvcApplicationTests {
 
+	//실행 중인 서버의 ./data 회원 로그를 건드리지 않도록 임시 디렉토리에 만든다.
+	@TempDir
+	static Path dataDir;
+
+	@DynamicPropertySource
+	static void userLogPath(DynamicPropertyRegistry registry) {
+		registry.add("thespeace.user.log.path", () -> dataDir.resolve("users.log").toString());
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,111 @@
+package thespeace.springmvc.basic.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonRecordStreamWriterTest {
+
+    public record Item(long itemId, String name) {
+    }
+
+    static class TrackingOutputStream extends ByteArrayOutputStream {
+
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        String text() {
+            return toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesArrayWithoutClosingStream() throws Exception {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        long count = writer(JsonRecordStreamWriter.Format.ARRAY).write(items(3, Integer.MAX_VALUE), out);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(out.text()).isEqualTo("[{\"itemId\":0,\"name\":\"item0\"},{\"itemId\":1,\"name\":\"item1\"},"
+                + "{\"itemId\":2,\"name\":\"item2\"}]");
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void writesNdjson() throws Exception {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        writer(JsonRecordStreamWriter.Format.NDJSON).write(items(2, Integer.MAX_VALUE), out);
+
+        assertThat(out.text()).isEqualTo("{\"itemId\":0,\"name\":\"item0\"}\n{\"itemId\":1,\"name\":\"item1\"}\n");
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void failureLeavesArrayOpen() {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        assertThatThrownBy(() -> writer(JsonRecordStreamWriter.Format.ARRAY).write(items(10, 5), out))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("iteration failed");
+
+        //flushEvery=2 : 마지막 flush(4번째 레코드) 이후의 버퍼와 닫는 괄호는 나가지 않는다.
+        assertThat(out.text()).startsWith("[{\"itemId\":0,").endsWith("\"item3\"}").doesNotContain("]");
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void failureBeforeFirstRecordWritesNothing() {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        assertThatThrownBy(() -> writer(JsonRecordStreamWriter.Format.ARRAY).write(items(10, 0), out))
+                .isInstanceOf(IllegalStateException.class);
+
+        //아무것도 나가지 않았으므로 응답이 커밋되지 않고 오류 응답을 보낼 수 있다.
+        assertThat(out.size()).isZero();
+    }
+
+    private JsonRecordStreamWriter<Item> writer(JsonRecordStreamWriter.Format format) {
+        return new JsonRecordStreamWriter<>(objectMapper, Item.class, format, 2);
+    }
+
+    /**
+     * @param failAt 이 순번의 레코드를 꺼낼 때 예외를 던진다.
+     */
+    private static Iterator<Item> items(int count, int failAt) {
+        return new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public Item next() {
+                if (next >= count) {
+                    throw new NoSuchElementException();
+                }
+                if (next == failAt) {
+                    throw new IllegalStateException("iteration failed");
+                }
+                Item item = new Item(next, "item" + next);
+                next++;
+                return item;
+            }
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package thespeace.springmvc.coalesce;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import thespeace.springmvc.web.HandlerAdapterCustomizerPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class RequestCoalescingTest {
+
+    private static final int FOLLOWERS = 4;
+
+    @Configuration
+    @EnableWebMvc
+    static class WebConfig {
+    }
+
+    public record Item(long itemId, int invocation) {
+    }
+
+    /**
+     * 첫 번째 호출(leader)만 {@code release}까지 멈춘다. 그동안 같은 요청을 보내면 follower 가 된다.
+     */
+    @RestController
+    static class ItemController {
+
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @CoalesceRequests
+        @GetMapping("/items/{itemId}")
+        public Item item(@PathVariable long itemId) throws InterruptedException {
+            return new Item(itemId, invoke());
+        }
+
+        @CoalesceRequests
+        @GetMapping("/traced/{itemId}")
+        public ResponseEntity<Item> traced(@PathVariable long itemId) throws InterruptedException {
+            int invocation = invoke();
+            return ResponseEntity.ok().header("X-Invocation", Integer.toString(invocation)).body(new Item(itemId, invocation));
+        }
+
+        @CoalesceRequests
+        @GetMapping("/failing/{itemId}")
+        public Item failing(@PathVariable long itemId) throws InterruptedException {
+            int invocation = invoke();
+            if (invocation == 1) {
+                throw new IllegalStateException("leader failed");
+            }
+            return new Item(itemId, invocation);
+        }
+
+        @CoalesceRequests(timeoutMillis = 50)
+        @GetMapping("/slow/{itemId}")
+        public Item slow(@PathVariable long itemId) throws InterruptedException {
+            return new Item(itemId, invoke());
+        }
+
+        private int invoke() throws InterruptedException {
+            int invocation = invocations.incrementAndGet();
+            if (invocation == 1) {
+                entered.countDown();
+                release.await();
+            }
+            return invocation;
+        }
+    }
+
+    private AnnotationConfigWebApplicationContext context;
+    private MockMvc mockMvc;
+    private ItemController controller;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources()
+                .addFirst(new MapPropertySource("test", Map.of("thespeace.coalesce.enabled", "true")));
+        context.register(WebConfig.class, ItemController.class, CoalesceConfig.class,
+                HandlerAdapterCustomizerPostProcessor.class);
+        context.refresh();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        controller = context.getBean(ItemController.class);
+        coalescer = context.getBean(RequestCoalescer.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.release.countDown();
+        context.close();
+    }
+
+    @Test
+    void followersShareLeaderResponse() throws Exception {
+        List<Result> results = coalesce("/items/1", true);
+
+        assertThat(controller.invocations).hasValue(1);
+        for (Result result : results) {
+            assertThat(result.response.getStatus()).isEqualTo(200);
+            assertThat(result.response.getContentType()).isEqualTo("application/json");
+            assertThat(result.response.getContentAsString()).isEqualTo("{\"itemId\":1,\"invocation\":1}");
+        }
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void responseWithAddedHeaderIsNotShared() throws Exception {
+        List<Result> results = coalesce("/traced/1", true);
+
+        assertThat(controller.invocations).hasValue(1 + FOLLOWERS);
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.response.getStatus()).isEqualTo(200);
+            assertThat(result.response.getHeader("X-Invocation"))
+                    .isEqualTo(result.response.getContentAsString().replaceAll(".*\"invocation\":(\\d+).*", "$1"));
+        });
+        assertThat(results.stream().map(result -> result.response.getHeader("X-Invocation")).distinct()).hasSize(1 + FOLLOWERS);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void followersRunHandlerWhenLeaderFails() throws Exception {
+        List<Result> results = coalesce("/failing/1", true);
+
+        assertThat(controller.invocations).hasValue(1 + FOLLOWERS);
+        assertThat(results.get(0).failure).hasRootCauseMessage("leader failed");
+        for (Result follower : results.subList(1, results.size())) {
+            assertThat(follower.failure).isNull();
+            assertThat(follower.response.getStatus()).isEqualTo(200);
+        }
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void followersRunHandlerAfterTimeout() throws Exception {
+        List<Result> results = coalesce("/slow/1", false);
+
+        assertThat(controller.invocations).hasValue(1 + FOLLOWERS);
+        for (Result result : results) {
+            assertThat(result.failure).isNull();
+            assertThat(result.response.getStatus()).isEqualTo(200);
+        }
+        //follower 는 leader 보다 먼저 끝났다. (leader 는 follower 가 모두 끝난 뒤에 풀어준다)
+        assertThat(results.get(0).response.getContentAsString()).contains("\"invocation\":1");
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void differentPathVariablesAreNotCoalesced() throws Exception {
+        controller.release.countDown();
+        mockMvc.perform(get("/items/1").accept("application/json"));
+        mockMvc.perform(get("/items/2").accept("application/json"));
+
+        assertThat(controller.invocations).hasValue(2);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    private static class Result {
+        MockHttpServletResponse response;
+        Throwable failure;
+    }
+
+    /**
+     * leader 요청이 핸들러에 들어간 뒤 같은 요청을 {@link #FOLLOWERS}개 보낸다.
+     *
+     * @param releaseWhenWaiting true 면 follower 가 모두 leader 를 기다릴 때 leader 를 풀어준다.
+     *                           false 면 follower 가 모두 끝난 뒤에 풀어준다.
+     * @return leader 결과가 첫 번째
+     */
+    private List<Result> coalesce(String path, boolean releaseWhenWaiting) throws Exception {
+        List<Result> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        threads.add(perform(path, results));
+        assertThat(controller.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            threads.add(perform(path, results));
+        }
+        List<Thread> followers = threads.subList(1, threads.size());
+
+        if (releaseWhenWaiting) {
+            awaitTimedWaiting(followers);
+        } else {
+            for (Thread follower : followers) {
+                follower.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+        controller.release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertThat(thread.isAlive()).isFalse();
+        }
+        return results;
+    }
+
+    private Thread perform(String path, List<Result> results) {
+        Result result = new Result();
+        results.add(result);
+        return Thread.ofPlatform().start(() -> {
+            try {
+                result.response = mockMvc.perform(get(path).accept("application/json")).andReturn().getResponse();
+            } catch (Throwable e) {
+                result.failure = e;
+            }
+        });
+    }
+
+    //follower 는 leader 의 결과를 시간 제한을 두고 기다린다. (CompletableFuture.get(timeout))
+    private static void awaitTimedWaiting(List<Thread> followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!followers.stream().allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
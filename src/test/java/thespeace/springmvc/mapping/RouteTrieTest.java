@@ -0,0 +1,59 @@
+package thespeace.springmvc.mapping;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTrieTest {
+
+    static class Handlers {
+        public String user(String userId) {
+            return userId;
+        }
+    }
+
+    private final HandlerMethod handlerMethod = handlerMethod();
+
+    @Test
+    void conditionalMappingWithMoreVariablesThanPlainMappingsIsDeferred() {
+        RouteTrie trie = new RouteTrie();
+        add(trie, "/users/{userId}");
+        trie.addConditional(pattern("/users/{userId}/orders/{orderId}/items/{itemId}"));
+
+        assertThat(trie.match("/users/1/orders/2/items/3", RequestMethod.GET)).isNull();
+    }
+
+    @Test
+    void plainMappingCapturesVariables() {
+        RouteTrie trie = new RouteTrie();
+        add(trie, "/users/{userId}/orders/{orderId}");
+        trie.addConditional(pattern("/users/{userId}"));
+
+        RouteTrie.Match match = trie.match("/users/userA/orders/100", RequestMethod.GET);
+
+        assertThat(match).isNotNull();
+        assertThat(match.uriVariables()).containsEntry("userId", "userA").containsEntry("orderId", "100");
+        assertThat(trie.match("/users/userA", RequestMethod.GET)).isNull();
+    }
+
+    private void add(RouteTrie trie, String path) {
+        PathPattern pattern = pattern(path);
+        trie.add(pattern, RouteTrie.segments(pattern), new RequestMethod[0], handlerMethod);
+    }
+
+    private static PathPattern pattern(String path) {
+        return PathPatternParser.defaultInstance.parse(path);
+    }
+
+    private static HandlerMethod handlerMethod() {
+        try {
+            return new HandlerMethod(new Handlers(), Handlers.class.getMethod("user", String.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package thespeace.springmvc.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgeIndexTest {
+
+    private static final long MAX_USER_ID = 0xFFFF_FFFFL;
+
+    @Test
+    void keyOrderIsAgeThenUserId() {
+        assertThat(AgeIndex.key(-1, MAX_USER_ID)).isLessThan(AgeIndex.key(0, 0));
+        assertThat(AgeIndex.key(Integer.MIN_VALUE, 0)).isEqualTo(Long.MIN_VALUE);
+        assertThat(AgeIndex.lastKey(Integer.MAX_VALUE)).isEqualTo(Long.MAX_VALUE);
+        assertThat(AgeIndex.age(AgeIndex.key(-7, MAX_USER_ID))).isEqualTo(-7);
+        assertThat(AgeIndex.userId(AgeIndex.key(-7, MAX_USER_ID))).isEqualTo(MAX_USER_ID);
+    }
+
+    @Test
+    void randomChangesMatchTreeSet() {
+        Random random = new Random(23);
+        AgeIndex index = new AgeIndex();
+        TreeSet<Long> expected = new TreeSet<>();
+
+        //늘렸다가(청크 나누기) 거의 비울 때까지 줄인다(청크 합치기, 빼기). 두 번 반복
+        for (int round = 0; round < 2; round++) {
+            change(random, index, expected, 40_000, 0.8);
+            assertThat(expected.size()).isGreaterThan(10 * AgeIndex.CHUNK_SIZE);
+            change(random, index, expected, 60_000, 0.2);
+        }
+        while (!expected.isEmpty()) {
+            long key = expected.pollFirst();
+            assertThat(index.remove(key)).isTrue();
+        }
+        assertMatches(random, index, expected);
+    }
+
+    @Test
+    void loadThenRandomChangesMatchTreeSet() {
+        Random random = new Random(29);
+        TreeSet<Long> expected = new TreeSet<>();
+        while (expected.size() < 5 * AgeIndex.CHUNK_SIZE + 17) {
+            expected.add(randomKey(random));
+        }
+        long[] keys = new long[expected.size() + 10];
+        int length = 0;
+        for (long key : expected.descendingSet()) {
+            keys[length++] = key;
+        }
+        AgeIndex index = new AgeIndex();
+        index.load(keys, length);
+        assertMatches(random, index, expected);
+
+        change(random, index, expected, 20_000, 0.5);
+        change(random, index, expected, 20_000, 0.1);
+        assertMatches(random, index, expected);
+    }
+
+    /**
+     * {@code ops}번 추가 또는 삭제한다. 1000번마다 조회 결과를 비교한다.
+     */
+    private static void change(Random random, AgeIndex index, TreeSet<Long> expected, int ops, double addRatio) {
+        for (int i = 0; i < ops; i++) {
+            if (random.nextDouble() < addRatio || expected.isEmpty()) {
+                long key = randomKey(random);
+                assertThat(index.add(key)).isEqualTo(expected.add(key));
+            } else if (random.nextBoolean()) {
+                //있는 키 지우기
+                Long key = expected.ceiling(randomKey(random));
+                if (key == null) {
+                    key = expected.first();
+                }
+                expected.remove(key);
+                assertThat(index.remove(key)).isTrue();
+            } else {
+                long key = randomKey(random);
+                assertThat(index.remove(key)).isEqualTo(expected.remove(key));
+            }
+            if (i % 1000 == 0) {
+                assertMatches(random, index, expected);
+            }
+        }
+    }
+
+    private static void assertMatches(Random random, AgeIndex index, TreeSet<Long> expected) {
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(scanAll(index, Long.MIN_VALUE, AgeIndex.lastKey(Integer.MAX_VALUE), 1 + random.nextInt(3000)))
+                .isEqualTo(List.copyOf(expected));
+        for (int i = 0; i < 20; i++) {
+            int minAge = randomAge(random);
+            int maxAge = randomAge(random);
+            if (minAge > maxAge) {
+                int age = minAge;
+                minAge = maxAge;
+                maxAge = age;
+            }
+            long from = AgeIndex.key(minAge, 0);
+            long to = AgeIndex.lastKey(maxAge);
+            assertThat(scanAll(index, from, to, 1 + random.nextInt(300)))
+                    .isEqualTo(List.copyOf(expected.subSet(from, true, to, true)));
+        }
+        long from = randomKey(random);
+        long to = randomKey(random);
+        NavigableSet<Long> range = from <= to ? expected.subSet(from, true, to, true) : new TreeSet<>();
+        assertThat(scanAll(index, from, to, 64)).isEqualTo(List.copyOf(range));
+    }
+
+    /**
+     * {@code pageSize}개씩 나눠서 읽는다. (다음 페이지는 마지막 키 + 1 부터)
+     */
+    private static List<Long> scanAll(AgeIndex index, long fromKey, long toKey, int pageSize) {
+        List<Long> keys = new ArrayList<>();
+        long[] out = new long[pageSize];
+        while (true) {
+            int count = index.scan(fromKey, toKey, out);
+            for (int i = 0; i < count; i++) {
+                keys.add(out[i]);
+            }
+            if (count < out.length || out[count - 1] == toKey) {
+                return keys;
+            }
+            fromKey = out[count - 1] + 1;
+        }
+    }
+
+    /**
+     * 나이는 좁은 범위(한 나이에 키가 많이 몰려서 청크가 나뉘도록)와 int 양 끝, userId 는 전체 범위와 양 끝
+     */
+    private static long randomKey(Random random) {
+        long userId = switch (random.nextInt(10)) {
+            case 0 -> random.nextInt(4);
+            case 1 -> MAX_USER_ID - random.nextInt(4);
+            default -> random.nextLong(MAX_USER_ID + 1);
+        };
+        return AgeIndex.key(randomAge(random), userId);
+    }
+
+    private static int randomAge(Random random) {
+        return switch (random.nextInt(20)) {
+            case 0 -> Integer.MIN_VALUE + random.nextInt(2);
+            case 1 -> Integer.MAX_VALUE - random.nextInt(2);
+            default -> random.nextInt(-5, 6);
+        };
+    }
+}
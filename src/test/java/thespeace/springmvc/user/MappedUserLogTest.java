@@ -0,0 +1,285 @@
+package thespeace.springmvc.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedUserLogTest {
+
+    private static final int REGION_SIZE = 2048;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayStopsAtTornTail() throws IOException {
+        Path path = dir.resolve("users.log");
+        long secondEnd;
+        try (MappedUserLog log = open(path)) {
+            log.replay(new Replayed());
+            log.appendPut(new UserRecord(1, "userA", 10));
+            secondEnd = log.appendPut(new UserRecord(2, "userB", 20));
+            log.appendPut(new UserRecord(3, "userC", 30));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(secondEnd + 5);
+        }
+
+        assertContinuesAfterTail(path, secondEnd);
+    }
+
+    @Test
+    void replayStopsAtCorruptEntry() throws IOException {
+        Path path = dir.resolve("users.log");
+        long secondEnd;
+        try (MappedUserLog log = open(path)) {
+            log.replay(new Replayed());
+            log.appendPut(new UserRecord(1, "userA", 10));
+            secondEnd = log.appendPut(new UserRecord(2, "userB", 20));
+            log.appendPut(new UserRecord(3, "userC", 30));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            //세 번째 항목의 userId 한 바이트를 바꾼다. (CRC 불일치)
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), secondEnd + 8 + 1 + 7);
+        }
+
+        assertContinuesAfterTail(path, secondEnd);
+    }
+
+    /**
+     * 꼬리를 버린 뒤 이어 쓴 항목이 다음 시작 때 예전 꼬리 없이 읽혀야 한다.
+     */
+    private void assertContinuesAfterTail(Path path, long tailPosition) throws IOException {
+        try (MappedUserLog log = open(path)) {
+            Replayed replayed = new Replayed();
+            assertThat(log.replay(replayed)).isEqualTo(2);
+            assertThat(replayed.users).containsOnlyKeys(1L, 2L);
+            assertThat(log.appendDelete(1)).isEqualTo(tailPosition + 8 + 9);
+        }
+        try (MappedUserLog log = open(path)) {
+            Replayed replayed = new Replayed();
+            assertThat(log.replay(replayed)).isEqualTo(3);
+            assertThat(replayed.users).containsOnlyKeys(2L);
+            assertThat(replayed.lastUserId).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void secondOpenFailsUntilFirstIsClosed() throws IOException {
+        Path path = dir.resolve("users.log");
+        try (MappedUserLog log = open(path)) {
+            log.replay(new Replayed());
+            log.appendPut(new UserRecord(1, "userA", 10));
+
+            assertThatThrownBy(() -> open(path))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("already in use");
+        }
+
+        try (MappedUserLog log = open(path)) {
+            Replayed replayed = new Replayed();
+            assertThat(log.replay(replayed)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void entriesSkipToNextRegionWhenTheyDoNotFit() throws IOException {
+        Path path = dir.resolve("users.log");
+        //PUT 항목 크기 = 8(헤더) + 17 + 이름 길이
+        int[] usernameLengths = {
+                1000, 993,  //1025 + 1018 : 영역 끝에 5바이트 남음 (건너뛰기 표시 O)
+                1000, 996,  //1025 + 1021 : 2바이트 남음 (건너뛰기 표시를 쓸 공간 X)
+                1000, 1000, //1025 + 1025 : 두 번째 항목은 다음 영역으로
+                0
+        };
+        Map<Long, UserRecord> expected = new HashMap<>();
+        try (MappedUserLog log = open(path)) {
+            log.replay(new Replayed());
+            long position = 0;
+            for (int i = 0; i < usernameLengths.length; i++) {
+                UserRecord user = new UserRecord(i + 1, "a".repeat(usernameLengths[i]), i);
+                position = log.appendPut(user);
+                expected.put(user.userId(), user);
+            }
+            assertThat(position).isEqualTo(3L * REGION_SIZE + 1025 + 25);
+        }
+
+        try (MappedUserLog log = open(path)) {
+            Replayed replayed = new Replayed();
+            assertThat(log.replay(replayed)).isEqualTo(usernameLengths.length);
+            assertThat(replayed.users).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void randomEntriesAcrossRegionsReplayInOrder() throws IOException {
+        Path path = dir.resolve("users.log");
+        Random random = new Random(21);
+        Map<Long, UserRecord> expected = new HashMap<>();
+        try (MappedUserLog log = open(path)) {
+            log.replay(new Replayed());
+            for (int i = 0; i < 5000; i++) {
+                long userId = 1 + random.nextInt(200);
+                if (random.nextInt(4) == 0) {
+                    log.appendDelete(userId);
+                    expected.remove(userId);
+                } else {
+                    UserRecord user = new UserRecord(userId, "a".repeat(random.nextInt(MappedUserLog.MAX_USERNAME_BYTES + 1)), i);
+                    log.appendPut(user);
+                    expected.put(userId, user);
+                }
+            }
+        }
+
+        try (MappedUserLog log = open(path)) {
+            Replayed replayed = new Replayed();
+            assertThat(log.replay(replayed)).isEqualTo(5000);
+            assertThat(replayed.users).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void compactThenAppendThenReplay() throws IOException {
+        Path path = dir.resolve("users.log");
+        try (MappedUserLog log = open(path)) {
+            log.replay(new Replayed());
+            for (long userId = 1; userId <= 10; userId++) {
+                log.appendPut(new UserRecord(userId, "a".repeat(600), (int) userId));
+            }
+            for (long userId = 6; userId <= 10; userId++) {
+                log.appendDelete(userId);
+            }
+            log.appendDelete(2);
+        }
+
+        try (MappedUserLog log = open(path)) {
+            Replayed replayed = new Replayed();
+            assertThat(log.replay(replayed)).isEqualTo(16);
+            log.compact(replayed.users.values(), replayed.lastUserId);
+            //DELETE(10) + 살아있는 회원 4명
+            assertThat(log.entries()).isEqualTo(5);
+            log.appendPut(new UserRecord(11, "userK", 11));
+            log.appendDelete(3);
+        }
+
+        try (MappedUserLog log = open(path)) {
+            Replayed replayed = new Replayed();
+            assertThat(log.replay(replayed)).isEqualTo(7);
+            assertThat(replayed.users).containsOnlyKeys(1L, 4L, 5L, 11L);
+            assertThat(replayed.users.get(4L)).isEqualTo(new UserRecord(4, "a".repeat(600), 4));
+            assertThat(replayed.lastUserId).isEqualTo(11);
+        }
+    }
+
+    @Test
+    void compactKeepsHighestUserIdWhenNewestUsersWereDeleted() throws IOException {
+        Path path = dir.resolve("users.log");
+        try (MappedUserLog log = open(path)) {
+            UserRepository repository = new UserRepository(log, 0);
+            for (int i = 1; i <= 5; i++) {
+                repository.create("user" + i, 20 + i);
+            }
+            repository.delete(4);
+            repository.delete(5);
+        }
+        //다시 읽으면서 압축 (항목 7개 > 회원 3명 * 2)
+        try (MappedUserLog log = open(path)) {
+            new UserRepository(log, 0);
+            assertThat(log.entries()).isEqualTo(4);
+        }
+
+        try (MappedUserLog log = open(path)) {
+            UserRepository repository = new UserRepository(log, 0);
+            assertThat(repository.size()).isEqualTo(3);
+            assertThat(repository.create("user6", 26).userId()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void concurrentChangesReplayToInMemoryState() throws Exception {
+        Path path = dir.resolve("users.log");
+        Map<Long, UserRecord> inMemory = new HashMap<>();
+        try (MappedUserLog log = new MappedUserLog(path, 64 * 1024, true)) {
+            UserRepository repository = new UserRepository(log, 0);
+            int threads = 8;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < 2000; i++) {
+                            long userId = 1 + random.nextInt(100);
+                            switch (random.nextInt(3)) {
+                                case 0 -> repository.create("user" + i, random.nextInt(100));
+                                case 1 -> repository.update(userId, "renamed" + i, random.nextInt(100));
+                                default -> repository.delete(userId);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            Iterator<UserRecord> iterator = repository.iterateAfter(0);
+            while (iterator.hasNext()) {
+                UserRecord user = iterator.next();
+                inMemory.put(user.userId(), user);
+            }
+        }
+
+        try (MappedUserLog log = new MappedUserLog(path, 64 * 1024, true)) {
+            Replayed replayed = new Replayed();
+            log.replay(replayed);
+            assertThat(replayed.users).isEqualTo(inMemory);
+        }
+    }
+
+    private static MappedUserLog open(Path path) throws IOException {
+        return new MappedUserLog(path, REGION_SIZE, true);
+    }
+
+    private static class Replayed implements MappedUserLog.Visitor {
+
+        final Map<Long, UserRecord> users = new HashMap<>();
+        long lastUserId;
+
+        @Override
+        public void put(UserRecord user) {
+            users.put(user.userId(), user);
+            lastUserId = Math.max(lastUserId, user.userId());
+        }
+
+        @Override
+        public void delete(long userId) {
+            users.remove(userId);
+            lastUserId = Math.max(lastUserId, userId);
+        }
+    }
+}
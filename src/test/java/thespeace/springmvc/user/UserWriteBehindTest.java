@@ -0,0 +1,154 @@
+package thespeace.springmvc.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * 지정한 횟수만큼 {@code appendPut}에서 오류를 던지고, {@code awaitDurable}을 막을 수 있는 로그
+     */
+    static class FaultyUserLog extends MappedUserLog {
+
+        volatile Throwable appendFailure;
+        volatile CountDownLatch durableGate = new CountDownLatch(0);
+
+        FaultyUserLog(Path path) throws IOException {
+            super(path, 64 * 1024, true);
+        }
+
+        @Override
+        public long appendPut(UserRecord user) {
+            Throwable failure = appendFailure;
+            if (failure != null) {
+                appendFailure = null;
+                if (failure instanceof Error error) {
+                    throw error;
+                }
+                throw (RuntimeException) failure;
+            }
+            return super.appendPut(user);
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+            try {
+                durableGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.awaitDurable(position);
+        }
+    }
+
+    @Test
+    void errorDuringFlushFailsBatchAndFlusherKeepsRunning() throws IOException {
+        try (FaultyUserLog userLog = new FaultyUserLog(dir.resolve("users.log"))) {
+            userLog.replay(new Replayed());
+            try (UserWriteBehind writeBehind = writeBehind(userLog, 1000)) {
+                userLog.appendFailure = new OutOfMemoryError("test");
+                CompletableFuture<Void> failed = writeBehind.put(new UserRecord(1, "userA", 10));
+
+                assertThatThrownBy(() -> writeBehind.acknowledge(failed))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasCauseInstanceOf(OutOfMemoryError.class);
+
+                CompletableFuture<Void> flushed = writeBehind.put(new UserRecord(2, "userB", 20));
+                writeBehind.acknowledge(flushed);
+                assertThat(flushed).isCompleted();
+            }
+        }
+    }
+
+    @Test
+    void runtimeExceptionDuringFlushIsRethrown() throws IOException {
+        try (FaultyUserLog userLog = new FaultyUserLog(dir.resolve("users.log"))) {
+            userLog.replay(new Replayed());
+            try (UserWriteBehind writeBehind = writeBehind(userLog, 1000)) {
+                userLog.appendFailure = new IllegalArgumentException("test");
+                CompletableFuture<Void> failed = writeBehind.put(new UserRecord(1, "userA", 10));
+
+                assertThatThrownBy(() -> writeBehind.acknowledge(failed))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("test");
+            }
+        }
+    }
+
+    @Test
+    void acknowledgeGivesUpAfterTimeout() throws IOException {
+        try (FaultyUserLog userLog = new FaultyUserLog(dir.resolve("users.log"))) {
+            userLog.replay(new Replayed());
+            userLog.durableGate = new CountDownLatch(1);
+            try (UserWriteBehind writeBehind = writeBehind(userLog, 50)) {
+                CompletableFuture<Void> flushed = writeBehind.put(new UserRecord(1, "userA", 10));
+
+                assertThatThrownBy(() -> writeBehind.acknowledge(flushed))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("50ms");
+
+                userLog.durableGate.countDown();
+                flushed.join();
+            }
+        }
+    }
+
+    @Test
+    void coalescedChangesReplayToLastValue() throws IOException {
+        Path path = dir.resolve("users.log");
+        Map<Long, UserRecord> expected = new HashMap<>();
+        try (MappedUserLog userLog = new MappedUserLog(path, 64 * 1024, true)) {
+            userLog.replay(new Replayed());
+            UserWriteBehind writeBehind = new UserWriteBehind(userLog, UserWriteBehind.AckMode.ACK_ON_ENQUEUE,
+                    16, 64, 10_000, 1000);
+            for (int i = 0; i < 100; i++) {
+                long userId = 1 + i % 10;
+                UserRecord user = new UserRecord(userId, "user" + i, i);
+                writeBehind.put(user);
+                expected.put(userId, user);
+            }
+            writeBehind.delete(3);
+            expected.remove(3L);
+            //close()가 대기 중인 변경을 기록한다.
+            writeBehind.close();
+        }
+
+        try (MappedUserLog userLog = new MappedUserLog(path, 64 * 1024, true)) {
+            Replayed replayed = new Replayed();
+            userLog.replay(replayed);
+            assertThat(replayed.users).isEqualTo(expected);
+        }
+    }
+
+    private static UserWriteBehind writeBehind(MappedUserLog userLog, long ackTimeoutMillis) {
+        return new UserWriteBehind(userLog, UserWriteBehind.AckMode.ACK_ON_FLUSH, 1024, 65536, 0, ackTimeoutMillis);
+    }
+
+    private static class Replayed implements MappedUserLog.Visitor {
+
+        final Map<Long, UserRecord> users = new HashMap<>();
+
+        @Override
+        public void put(UserRecord user) {
+            users.put(user.userId(), user);
+        }
+
+        @Override
+        public void delete(long userId) {
+            users.remove(userId);
+        }
+    }
+}